@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 journal 디렉터리 복사/삭제
+ */
+final class JournalFiles {
+
+    private JournalFiles() {
+    }
+
+    static void copy(Path from, Path to) throws IOException {
+        for (Path path : list(from)) {
+            Files.copy(path, to.resolve(path.getFileName()));
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        for (Path path : list(directory)) {
+            Files.deleteIfExists(path);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted(Comparator.naturalOrder()).toList();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * journal 쓰기 처리량
+ * - 충전 1건 = 메모리 잔액 반영 + 이력과 잔액을 담은 record 1개
+ * - fsync 방식별로 비교한다. GROUP 은 스레드 수가 많을수록 fsync 1회에 묶이는 기록이 늘어난다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PointJournalBenchmark {
+
+    private static final long USERS = 10_000;
+
+    @Param({"ALWAYS", "GROUP", "ASYNC"})
+    public JournalFsyncMode fsync;
+
+    private Path directory;
+    private PointJournal pointJournal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-journal-bench");
+        pointJournal = new PointJournal(new PointJournalProperties(
+                directory.toString(), DataSize.ofMegabytes(64), fsync, Duration.ofMillis(2), 1_000_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pointJournal.close();
+        JournalFiles.delete(directory);
+    }
+
+    @Benchmark
+    public PointHistory charge() {
+        long id = ThreadLocalRandom.current().nextLong(USERS) + 1;
+        pointJournal.appendBalance(id, 100L);
+        return pointJournal.appendHistory(id, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * journal 복구 시간
+ * - records : 충전 건수 (건당 이력과 잔액을 담은 record 1개)
+ * - snapshotRatio : 전체 중 snapshot 에 포함된 비율 (0 = journal 만으로 복구, 0.9 = 마지막 10% 만 재적용)
+ * - 매 측정마다 준비해 둔 디렉터리를 복사해서 연다. (복구 후 종료 시 snapshot 을 쓰지 않도록 닫지 않는다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class PointJournalRecoveryBenchmark {
+
+    private static final long USERS = 10_000;
+
+    @Param({"100000", "1000000"})
+    public int records;
+
+    @Param({"0.0", "0.9"})
+    public double snapshotRatio;
+
+    private Path template;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        template = Files.createTempDirectory("point-journal-template");
+        PointJournal pointJournal = open(template);
+        int snapshotAt = (int) (records * snapshotRatio);
+        for (int i = 1; i <= records; i++) {
+            long id = i % USERS + 1;
+            pointJournal.appendBalance(id, i);
+            pointJournal.appendHistory(id, i, TransactionType.CHARGE, i);
+            if (i == snapshotAt) {
+                pointJournal.snapshot();
+            }
+        }
+        // close 하면 종료 snapshot 이 남으므로 닫지 않고 기록만 끝낸다.
+    }
+
+    @Setup(Level.Iteration)
+    public void copy() throws IOException {
+        directory = Files.createTempDirectory("point-journal-recovery");
+        JournalFiles.copy(template, directory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() throws IOException {
+        JournalFiles.delete(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        JournalFiles.delete(template);
+    }
+
+    @Benchmark
+    public long recover() {
+        return open(directory).recoveryMillis();
+    }
+
+    private static PointJournal open(Path directory) {
+        return new PointJournal(new PointJournalProperties(
+                directory.toString(), DataSize.ofMegabytes(64), JournalFsyncMode.ASYNC, Duration.ofMillis(100), 0));
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * snapshot 파일로 시작하는 시간 (파일 열기 + checksum 확인 + 잔액/이력 저장소 채우기)
+ * - users / histories : snapshot 에 담긴 사용자 수 / 이력 수 (사용자마다 histories / users 건씩)
+ * - 10M 사용자 + 100M 이력은 복원된 PointHistory 만으로 수 GB 이므로 큰 heap 으로 fork 한다.
+ * - 같은 상태를 UserPointTable / PointHistoryTable 에 insert 로 넣으면 행마다 수백 ms 가 걸린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms24g", "-Xmx24g"})
+public class PointSnapshotLoadBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int users;
+
+    @Param({"10000000", "100000000"})
+    public int histories;
+
+    private Path path;
+    private PackedUserPointRepository balances;
+    private MemoryPointHistoryRepository pointHistories;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        path = Files.createTempFile("point-snapshot", ".snap");
+        PackedUserPointRepository source = new PackedUserPointRepository(users);
+        MemoryPointHistoryRepository sourceHistories = new MemoryPointHistoryRepository();
+        int perUser = Math.max(1, histories / users);
+        long historyId = 0;
+        for (long id = 1; id <= users; id++) {
+            source.update(id, id * perUser, id);
+            PointHistory[] entries = new PointHistory[perUser];
+            for (int i = 0; i < perUser; i++) {
+                entries[i] = new PointHistory(++historyId, id, id, TransactionType.CHARGE, id + i);
+            }
+            sourceHistories.restore(id, entries);
+        }
+        PointSnapshotFile.write(path, source, sourceHistories);
+        // 원본은 여기서 버리므로 측정 중 heap 에는 복원한 상태만 남는다.
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        balances = null;
+        pointHistories = null;
+        System.gc();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public long load() throws IOException {
+        try (PointSnapshotFile file = PointSnapshotFile.open(path)) {
+            balances = new PackedUserPointRepository(file.userCount());
+            pointHistories = new MemoryPointHistoryRepository();
+            file.loadInto(balances, pointHistories);
+            return pointHistories.lastHistoryId();
+        }
+    }
+}
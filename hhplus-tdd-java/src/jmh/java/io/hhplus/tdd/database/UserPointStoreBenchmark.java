@@ -0,0 +1,122 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 잔액 저장소 메모리 사용량 / GC 비교 : HashMap<Long, UserPoint> (UserPointTable 과 같은 구조) vs PackedUserPointRepository
+ * - 준비 단계에서 users 명을 채운 뒤 전체 GC 후 사용 중인 힙 크기로 사용자당 byte 를 출력한다.
+ * - fullGc : 저장소가 살아 있는 상태에서 System.gc() 1회에 걸리는 시간 (GC 가 따라가야 할 객체 수에 비례)
+ * - update / select : 단일 스레드 갱신/조회 비용. -prof gc 로 실행하면 연산당 할당량을 함께 볼 수 있다.
+ * - footprint 와 fullGc 는 JDK 버전과 GC 종류에 따라 크게 달라지므로, 준비 단계 출력에 JVM 버전과 GC 이름을 함께 남긴다.
+ *   수치를 인용할 때는 빌드 툴체인(Java 21)에서 측정한 값만 쓴다.
+ * ./gradlew jmh -PjmhIncludes=UserPointStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class UserPointStoreBenchmark {
+
+    public enum Store {
+        HASH_MAP,
+        PACKED
+    }
+
+    @Param({"HASH_MAP", "PACKED"})
+    public Store store;
+
+    @Param({"1000000", "10000000"})
+    public int users;
+
+    private Map<Long, UserPoint> hashMap;
+    private PackedUserPointRepository packed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeapAfterGc();
+        if (store == Store.HASH_MAP) {
+            hashMap = new HashMap<>();
+            for (long id = 1; id <= users; id++) {
+                hashMap.put(id, new UserPoint(id, id, id));
+            }
+        } else {
+            packed = new PackedUserPointRepository(users);
+            for (long id = 1; id <= users; id++) {
+                packed.update(id, id, id);
+            }
+        }
+        long footprint = usedHeapAfterGc() - before;
+        System.out.printf("%n[%s] users=%d footprint=%,d bytes (%.1f bytes/user) gcPause=%dms (java %s, gc %s)%n",
+                store, users, footprint, (double) footprint / users, fullGcMillis(), Runtime.version(), gcNames());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long fullGc() {
+        return fullGcMillis();
+    }
+
+    @Benchmark
+    public Object update() {
+        long id = ThreadLocalRandom.current().nextLong(users) + 1;
+        if (store == Store.HASH_MAP) {
+            return hashMap.put(id, new UserPoint(id, id + 1, System.currentTimeMillis()));
+        }
+        packed.update(id, id + 1, System.currentTimeMillis());
+        return packed;
+    }
+
+    @Benchmark
+    public long select() {
+        long id = ThreadLocalRandom.current().nextLong(users) + 1;
+        if (store == Store.HASH_MAP) {
+            return hashMap.get(id).point();
+        }
+        return packed.point(id);
+    }
+
+    private static long fullGcMillis() {
+        long before = gcMillis();
+        System.gc();
+        return gcMillis() - before;
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static String gcNames() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.lock.UserLockMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 경로 벤치마크
+ * - 스레드 수는 기본 4개이며 -PjmhThreads 로 바꿀 수 있다.
+ * - users : 요청이 분산되는 사용자 수
+ * - skew : 사용자 분포의 쏠림 정도 (0 = 균등, 1 이상 = 소수 사용자에게 집중)
+ * - latency : THROTTLED 는 실제 테이블, NONE 은 지연 없는 테이블 (락/캐시 비용만 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class PointServiceBenchmark {
+
+    private static final long CHARGE_AMOUNT = 100L;
+    private static final long USE_AMOUNT = 10L;
+    private static final long SEED_AMOUNT = 1_000_000L;
+
+    @Param({"1", "100", "10000"})
+    public int users;
+
+    @Param({"0.0", "1.2"})
+    public double skew;
+
+    @Param({"NONE", "THROTTLED"})
+    public TableLatency latency;
+
+    @Param({"LOCK"})
+    public PointWriteMode writeMode;
+
+    @Param({"PER_USER"})
+    public UserLockMode lockMode;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private SkewedUserIds userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(latency, writeMode, lockMode);
+        pointService = fixture.pointService();
+        userIds = new SkewedUserIds(users, skew);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint chargePoints() {
+        return pointService.chargePoints(userIds.next(), CHARGE_AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint usePoints() {
+        long id = userIds.next();
+        try {
+            return pointService.usePoints(id, USE_AMOUNT);
+        } catch (CustomException e) {
+            // 처음 사용되는 사용자는 잔액이 없으므로 충전해 둔다. (워밍업 구간에서 채워진다)
+            return pointService.chargePoints(id, SEED_AMOUNT);
+        }
+    }
+
+    @Benchmark
+    public UserPoint getPointByUser() {
+        return pointService.getPointByUser(userIds.next());
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistoriesByUser() {
+        return pointService.getPointHistoriesByUser(userIds.next());
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.InstantPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryRepository;
+import io.hhplus.tdd.database.TableUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserLockMode;
+import io.hhplus.tdd.lock.UserLockProperties;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * 스프링 컨텍스트 없이 벤치마크용 PointService 를 조립한다.
+ */
+public class PointServiceFixture {
+
+    final UserPointTable userPointTable;
+    final PointHistoryTable pointHistoryTable;
+    final PointHistoryRepository pointHistoryRepository;
+    final UserPointCache userPointCache;
+    final PointHistoryOutbox pointHistoryOutbox;
+    final UserLockRegistry userLockRegistry;
+    final PointMetrics pointMetrics;
+    final PointService pointService;
+
+    public PointServiceFixture(TableLatency latency, PointWriteMode writeMode, UserLockMode lockMode) {
+        this.userPointTable = latency == TableLatency.NONE ? new InstantUserPointTable() : new UserPointTable();
+        this.pointHistoryTable = latency == TableLatency.NONE ? new InstantPointHistoryTable() : new PointHistoryTable();
+        this.pointMetrics = new PointMetrics(new SimpleMeterRegistry(), new PointMetricsProperties(false));  // 지표 기록 비용은 제외
+        this.pointHistoryRepository = new TablePointHistoryRepository(pointHistoryTable, pointMetrics);
+        this.userPointCache = new UserPointCache(new PointCacheProperties(true, 100_000));
+        PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(new PointSummaryProperties(24, 30, 100_000), pointHistoryRepository);
+        this.pointHistoryOutbox = new PointHistoryOutbox(pointHistoryRepository, pointSummaryAggregator, new PointOutboxProperties(false, 1, 5, Duration.ofMillis(50)));
+        this.userLockRegistry = UserLockRegistry.create(new UserLockProperties(lockMode, 1024));
+        PointWriteProperties pointWriteProperties = new PointWriteProperties(writeMode, new PointWriteProperties.Optimistic(10, 50));
+        PointLotLedger pointLotLedger = new PointLotLedger(new PointExpirationProperties(false, Duration.ofDays(365), Duration.ofSeconds(1), 64), pointWriteProperties);
+        UserPointRepository userPointRepository = new TableUserPointRepository(userPointTable);
+        UserPointSnapshots userPointSnapshots = new UserPointSnapshots(new PointCacheProperties(true, 100_000));
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(false, 0, Duration.ZERO));  // 거절 없이 처리량만 측정
+        this.pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                new PointCommandCombiner(userPointRepository, pointHistoryOutbox, userPointCache, userLockRegistry, pointMetrics, userPointSnapshots, pointLotLedger, pointAdmission),
+                pointWriteProperties,
+                userPointCache,
+                pointHistoryOutbox,
+                userLockRegistry,
+                pointMetrics,
+                new OptimisticPointWriter(userPointRepository, new VersionedUserPointStore(new PointCacheProperties(true, 100_000)), pointHistoryOutbox, pointWriteProperties, pointMetrics),
+                pointSummaryAggregator,
+                pointAdmission,
+                userPointSnapshots,
+                pointLotLedger
+        );
+    }
+
+    public PointService pointService() {
+        return pointService;
+    }
+
+    public void shutdown() {
+        pointHistoryOutbox.shutdown();
+    }
+}
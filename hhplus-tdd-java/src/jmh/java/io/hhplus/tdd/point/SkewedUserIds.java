@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 사용자 ID 를 zipf 분포로 뽑는다.
+ * - skew 가 0 이면 균등 분포, 클수록 앞쪽(1번) 사용자에게 요청이 몰린다.
+ */
+public class SkewedUserIds {
+
+    private final double[] cumulative;
+
+    public SkewedUserIds(int users, double skew) {
+        this.cumulative = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public long next() {
+        double random = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulative, random);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1) + 1L;  // 사용자 ID 는 1부터 시작
+    }
+
+    public int users() {
+        return cumulative.length;
+    }
+}
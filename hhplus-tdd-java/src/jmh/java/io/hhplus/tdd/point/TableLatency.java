@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 벤치마크에서 사용할 테이블 종류
+ * - THROTTLED : 실제 UserPointTable / PointHistoryTable (최대 200~300ms 지연)
+ * - NONE : 지연 없는 테이블 (락/캐시/객체 생성 비용만 측정)
+ */
+public enum TableLatency {
+    THROTTLED, NONE
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.lock.UserLockMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 간 포인트 이체 처리량
+ * - 양방향 이체가 섞이도록 보내는 사용자와 받는 사용자를 매번 따로 뽑는다. (users=2 면 모든 요청이 같은 두 락을 반대 방향으로 다툰다)
+ * - transferPoints : 두 락을 순서대로 잡고 한 번에 반영
+ * - useThenCharge : 이체 API 가 없을 때의 방식. 사용 후 충전, 락 두 번과 왕복 두 번
+ * - STRIPED 는 서로 다른 사용자가 같은 락을 쓰는 경우(lockOrder 가 같은 경우)까지 포함한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class TransferBenchmark {
+
+    private static final long INITIAL_POINT = 1000000L;
+    private static final long TRANSFER_AMOUNT = 1L;
+
+    @Param({"LOCK", "GROUP_COMMIT"})
+    public PointWriteMode writeMode;
+
+    @Param({"PER_USER", "STRIPED"})
+    public UserLockMode lockMode;
+
+    @Param({"2", "16", "1000"})
+    public int users;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private SkewedUserIds userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(TableLatency.NONE, writeMode, lockMode);
+        pointService = fixture.pointService();
+        userIds = new SkewedUserIds(users, 0.0);
+        for (long id = 1; id <= users; id++) {
+            pointService.chargePoints(id, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public PointTransfer transferPoints() {
+        long fromId = userIds.next();
+        long toId = receiverOf(fromId);
+        try {
+            return pointService.transferPoints(fromId, toId, TRANSFER_AMOUNT);
+        } catch (CustomException e) {
+            return null;  // 잔액 부족
+        }
+    }
+
+    @Benchmark
+    public UserPoint useThenCharge() {
+        long fromId = userIds.next();
+        long toId = receiverOf(fromId);
+        try {
+            pointService.usePoints(fromId, TRANSFER_AMOUNT);
+        } catch (CustomException e) {
+            return null;
+        }
+        return pointService.chargePoints(toId, TRANSFER_AMOUNT);
+    }
+
+    private long receiverOf(long fromId) {
+        long toId = userIds.next();
+        return toId != fromId ? toId : fromId % users + 1;
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.lock.UserLockMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시성 제어 방식(LOCK / GROUP_COMMIT / OPTIMISTIC) 비교
+ * - PointServiceIntegrationTest 와 같은 조건: 사용자 3명, 스레드 30개
+ * - users 를 늘리면 사용자당 경합이 적은 경우를 비교할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(30)
+public class WriteModeBenchmark {
+
+    private static final long CHARGE_AMOUNT = 1000L;
+    private static final long USE_AMOUNT = 1000L;
+
+    @Param({"LOCK", "GROUP_COMMIT", "OPTIMISTIC"})
+    public PointWriteMode writeMode;
+
+    @Param({"3", "1000"})
+    public int users;
+
+    @Param({"NONE", "THROTTLED"})
+    public TableLatency latency;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private SkewedUserIds userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(latency, writeMode, UserLockMode.PER_USER);
+        pointService = fixture.pointService();
+        userIds = new SkewedUserIds(users, 0.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint chargePoints() {
+        return pointService.chargePoints(userIds.next(), CHARGE_AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint usePoints() {
+        long id = userIds.next();
+        try {
+            return pointService.usePoints(id, USE_AMOUNT);
+        } catch (CustomException e) {
+            return pointService.chargePoints(id, CHARGE_AMOUNT * 100);
+        }
+    }
+}
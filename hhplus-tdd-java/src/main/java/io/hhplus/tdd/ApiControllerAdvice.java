@@ -9,11 +9,11 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+        return ResponseEntity.status(500).body(ErrorResponse.internalError());
     }
 
     @ExceptionHandler(value  = CustomException.class)
     public ResponseEntity<ErrorResponse> handleException(CustomException e) {
-        return ResponseEntity.status(400).body(ErrorResponse.error(e.getErrorCode()));
+        return ResponseEntity.status(e.getErrorCode().httpStatus()).body(ErrorResponse.error(e.getErrorCode()));
     }
 }
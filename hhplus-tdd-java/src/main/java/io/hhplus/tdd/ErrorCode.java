@@ -11,8 +11,37 @@ public enum ErrorCode {
     USER_NOT_FOUND("USER02", "존재하지 않는 유저"),
     INPUT_POINT_EXCEEDED("POINT01", "충전 가능한 포인트를 초과하였습니다."),
     INVALID_POINT_INPUT("POINT02", "유효하지 않은 포인트 요청"),
-    POINT_INSUFFICIENT("POINT03", "잔액이 부족하여 포인트를 사용할 수 없습니다.");
+    POINT_INSUFFICIENT("POINT03", "잔액이 부족하여 포인트를 사용할 수 없습니다."),
+    CONCURRENT_UPDATE_CONFLICT("POINT04", "동시 요청이 많아 처리하지 못했습니다. 다시 시도해주세요."),
+    INVALID_TRANSACTION_TYPE("POINT05", "지원하지 않는 포인트 요청 유형"),
+    SELF_TRANSFER("POINT06", "자기 자신에게는 포인트를 이체할 수 없습니다."),
+    TRANSFER_NOT_SUPPORTED("POINT07", "현재 쓰기 모드에서는 포인트 이체를 지원하지 않습니다."),
+    INVALID_PAGE_REQUEST("HISTORY01", "유효하지 않은 이력 조회 요청"),
+    INVALID_TIME_RANGE("HISTORY02", "유효하지 않은 이력 조회 기간"),
+    INVALID_IDEMPOTENCY_KEY("IDEMPOTENCY01", "유효하지 않은 Idempotency-Key"),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY02", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    SHARD_UNAVAILABLE("SHARD01", "담당 노드에 연결할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    INVALID_SHARD_NODES("SHARD02", "유효하지 않은 샤드 노드 구성"),
+    CROSS_SHARD_TRANSFER("SHARD03", "서로 다른 노드가 담당하는 유저 간에는 포인트를 이체할 수 없습니다."),
+    SHARD_FORBIDDEN("SHARD04", "인증되지 않은 샤드 요청"),
+    SHARD_OWNER_MISMATCH("SHARD05", "이 노드가 담당하지 않는 유저입니다. 잠시 후 다시 시도해주세요."),
+    BATCH_SIZE_EXCEEDED("BATCH01", "한 번에 처리할 수 있는 요청 수를 초과하였습니다."),
+    INVALID_BATCH_REQUEST("BATCH02", "유효하지 않은 일괄 요청"),
+    USER_REQUEST_OVERLOADED("LOAD01", "해당 유저에게 처리 중인 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    LOCK_WAIT_TIMEOUT("LOAD02", "요청 대기 시간을 초과하였습니다. 잠시 후 다시 시도해주세요.");
 
     private String code;
     private String message;
+
+    /**
+     * 과부하로 거절한 요청은 429, 인증되지 않은 샤드 요청은 403, 담당 노드에서 처리하지 못한 요청은 503, 그 외 요청 오류는 400
+     */
+    public int httpStatus() {
+        return switch (this) {
+            case USER_REQUEST_OVERLOADED, LOCK_WAIT_TIMEOUT -> 429;
+            case SHARD_FORBIDDEN -> 403;
+            case SHARD_UNAVAILABLE, SHARD_OWNER_MISMATCH -> 503;
+            default -> 400;
+        };
+    }
 }
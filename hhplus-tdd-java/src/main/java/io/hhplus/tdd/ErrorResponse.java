@@ -7,4 +7,8 @@ public record ErrorResponse(
     public static ErrorResponse error(ErrorCode errorCode) {
         return new ErrorResponse(errorCode.getCode(), errorCode.getMessage());
     }
+
+    public static ErrorResponse internalError() {
+        return new ErrorResponse("500", "에러가 발생했습니다.");
+    }
 }
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.database;
+
+/**
+ * journal fsync 방식
+ * - ALWAYS : 기록할 때마다 fsync 한 뒤 응답한다.
+ * - GROUP : fsync-interval 동안 쌓인 기록을 한 번에 fsync 하고, 호출자는 fsync 가 끝날 때까지 기다린다.
+ * - ASYNC : fsync-interval 마다 백그라운드에서 fsync 하고, 호출자는 기다리지 않는다. (장애 시 마지막 구간 유실 가능)
+ */
+public enum JournalFsyncMode {
+    ALWAYS,
+    GROUP,
+    ASYNC
+}
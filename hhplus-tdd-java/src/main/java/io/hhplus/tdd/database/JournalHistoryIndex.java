@@ -0,0 +1,192 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * PointJournal 의 사용자별 이력 인덱스
+ * - 힙에는 이력 record 의 위치(segment 번호 << 32 | offset)만 추가된 순서대로 둔다. 이력 내용은 Reader 로 mapped segment 에서 읽는다.
+ * - 같은 사용자의 이력은 id 와 updateMillis 모두 오름차순으로 쌓이므로, 커서와 기간 시작 위치는 record 를 읽어가며 이진 탐색한다.
+ * - 거래 종류별 순번을 따로 두어, 종류를 지정한 조회도 다른 종류의 record 를 읽지 않는다.
+ */
+class JournalHistoryIndex {
+
+    /**
+     * 위치의 record 를 읽는다.
+     */
+    interface Reader {
+
+        PointHistory history(long location);
+
+        long id(long location);
+
+        long updateMillis(long location);
+
+        TransactionType type(long location);
+    }
+
+    private final Reader reader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TypePositions typePositions = new TypePositions();
+    private long[] locations = new long[8];
+    private int size;
+
+    JournalHistoryIndex(Reader reader) {
+        this.reader = reader;
+    }
+
+    void add(long location, TransactionType type) {
+        lock.writeLock().lock();
+        try {
+            if (size == locations.length) {
+                locations = Arrays.copyOf(locations, size * 2);
+            }
+            typePositions.add(type, size);
+            locations[size++] = location;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 같은 사용자의 이력 위치를 순서대로 한 번에 추가한다. (snapshot 복원용, 종류는 record 에서 읽는다)
+     */
+    void addAll(long[] batch) {
+        lock.writeLock().lock();
+        try {
+            if (size + batch.length > locations.length) {
+                locations = Arrays.copyOf(locations, Math.max(locations.length * 2, size + batch.length));
+            }
+            for (long location : batch) {
+                typePositions.add(reader.type(location), size);
+                locations[size++] = location;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 앞에서부터 count 개의 위치 (snapshot 용)
+     */
+    long[] locations(int count) {
+        lock.readLock().lock();
+        try {
+            return Arrays.copyOf(locations, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 추가된 이력의 id (이력이 없으면 0)
+     */
+    long lastId() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? 0L : reader.id(locations[size - 1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> all() {
+        lock.readLock().lock();
+        try {
+            return read(0, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> after(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = upperBound(after);
+            return read(from, (int) Math.min(size, (long) from + limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 이력을 최대 limit 개 조회한다. 시작 위치는 이진 탐색으로 찾고, 기간이 끝나면 멈춘다.
+     * 종류를 지정하면 그 종류의 위치만 따라가므로 다른 종류의 record 는 읽지 않는다.
+     */
+    List<PointHistory> find(PointHistoryQuery query) {
+        lock.readLock().lock();
+        try {
+            int from = Math.max(upperBound(query.after()), lowerBoundMillis(query.from()));
+            TransactionType type = query.type();
+            int end = type == null ? size : typePositions.size(type);
+            List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), size - from));
+            for (int i = type == null ? from : typePositions.lowerBound(type, from); i < end && result.size() < query.limit(); i++) {
+                PointHistory pointHistory = reader.history(locations[type == null ? i : typePositions.get(type, i)]);
+                if (pointHistory.updateMillis() >= query.to()) {
+                    break;
+                }
+                result.add(pointHistory);
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<PointHistory> read(int from, int to) {
+        PointHistory[] result = new PointHistory[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = reader.history(locations[i]);
+        }
+        return List.of(result);
+    }
+
+    /**
+     * id 가 after 보다 큰 첫 번째 위치
+     */
+    private int upperBound(long after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (reader.id(locations[mid]) <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * updateMillis 가 from 이상인 첫 번째 위치
+     */
+    private int lowerBoundMillis(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (reader.updateMillis(locations[mid]) < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
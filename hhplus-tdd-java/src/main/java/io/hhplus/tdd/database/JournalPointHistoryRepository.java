@@ -0,0 +1,48 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * PointJournal 에 이력을 저장한다. (point.store.type=JOURNAL)
+ * - 이력은 그 이력을 반영한 잔액과 같은 record 에 기록된다.
+ * - 조회는 journal 이 메모리에 유지하는 사용자별 이력 위치로 mapped segment 에서 읽는다.
+ */
+@RequiredArgsConstructor
+public class JournalPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointJournal pointJournal;
+    private final PointMetrics pointMetrics;
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = pointMetrics.start();
+        PointHistory pointHistory = pointJournal.appendHistory(userId, amount, type, updateMillis);
+        pointMetrics.tableCall(PointMetrics.TABLE_POINT_HISTORY, "insert", start);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        return pointJournal.histories(userId);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, long after, int limit) {
+        return pointJournal.histories(userId, after, limit);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, PointHistoryQuery query) {
+        return pointJournal.histories(userId, query);
+    }
+
+    @Override
+    public long lastIdByUserId(long userId) {
+        return pointJournal.lastHistoryId(userId);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PointJournal 에 잔액을 저장한다. (point.store.type=JOURNAL)
+ * - 저장한 잔액은 뒤따르는 이력 record 에 함께 기록된다. 이력 없이 바뀐 잔액은 재시작하면 남지 않는다.
+ */
+@RequiredArgsConstructor
+public class JournalUserPointRepository implements UserPointRepository {
+
+    private final PointJournal pointJournal;
+
+    @Override
+    public UserPoint selectById(long id) {
+        return pointJournal.balance(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return pointJournal.appendBalance(id, amount);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이력을 사용자별 인덱스에만 보관한다. (point.store.type=SNAPSHOT)
+ * - PointHistoryTable 을 거치지 않으므로 저장 지연이 없고, id 는 복원된 마지막 id 다음부터 발급한다.
+ * - 재시작 후의 내용은 PointSnapshot 이 마지막으로 쓴 snapshot 파일에서 복원된다.
+ */
+public class MemoryPointHistoryRepository implements PointHistoryRepository {
+
+    private final ConcurrentHashMap<Long, UserHistoryIndex> indexMap = new ConcurrentHashMap<>();  // 사용자 ID별 이력 인덱스
+    private final AtomicLong lastHistoryId = new AtomicLong();
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(lastHistoryId.incrementAndGet(), userId, amount, type, updateMillis);
+        indexMap.computeIfAbsent(userId, key -> new UserHistoryIndex()).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.all();
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, long after, int limit) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.after(after, limit);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, PointHistoryQuery query) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.find(query);
+    }
+
+    @Override
+    public long lastIdByUserId(long userId) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? 0L : index.lastId();
+    }
+
+    public long lastHistoryId() {
+        return lastHistoryId.get();
+    }
+
+    /**
+     * 한 사용자의 이력을 id 오름차순으로 한 번에 복원한다. 이후 발급하는 id 는 복원된 id 보다 크다.
+     */
+    void restore(long userId, PointHistory[] entries) {
+        indexMap.computeIfAbsent(userId, key -> new UserHistoryIndex()).addAll(entries);
+        lastHistoryId.accumulateAndGet(entries[entries.length - 1].id(), Math::max);
+    }
+
+    /**
+     * snapshot 이 기록한 마지막 id. 이력이 남지 않은 id 까지 건너뛰어야 하므로 복원한 이력과 따로 맞춘다.
+     */
+    void restored(long lastId) {
+        lastHistoryId.accumulateAndGet(lastId, Math::max);
+    }
+
+    /**
+     * snapshot 에 담을 사용자별 이력 수. 이후에 추가된 이력은 포함하지 않는다.
+     */
+    List<Cut> cut() {
+        List<Cut> cuts = new ArrayList<>(indexMap.size());
+        indexMap.forEach((userId, index) -> cuts.add(new Cut(index, index.size())));
+        return cuts;
+    }
+
+    record Cut(UserHistoryIndex index, int size) {
+    }
+}
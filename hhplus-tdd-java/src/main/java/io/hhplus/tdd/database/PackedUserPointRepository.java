@@ -0,0 +1,237 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 사용자 ID(long) 를 키로 잔액과 수정 시각을 long 배열 하나에 묶어 보관하는 open addressing 해시 테이블 (point.store.type=PACKED)
+ * - slot i 는 [3i] = id, [3i+1] = point, [3i+2] = updateMillis 이며 선형 탐사로 찾는다.
+ * - id 0 은 빈 slot 표시로 쓰기 때문에 별도 필드에 둔다.
+ * - Long / UserPoint / map node 를 보관하지 않으므로 사용자당 24 ~ 48 byte 이고, GC 가 따라갈 참조가 없다.
+ * - point / update 는 객체를 만들지 않는다. UserPoint 는 selectById / insertOrUpdate 가 돌려줄 때만 만든다.
+ * - 쓰기는 StampedLock 쓰기 락으로 직렬화하고, 읽기는 낙관적 읽기로 처리한다. (쓰기와 겹친 경우에만 읽기 락으로 다시 읽음)
+ */
+public class PackedUserPointRepository implements UserPointRepository {
+
+    private static final int SLOT_WIDTH = 3;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.75;
+    private static final int MAX_CAPACITY = 1 << 29;  // SLOT_WIDTH * capacity 가 배열 최대 길이를 넘지 않도록
+
+    private final StampedLock lock = new StampedLock();
+    private long[] slots;
+    private int size;
+    private int resizeThreshold;
+    private boolean hasZero;   // id 0 저장 여부
+    private long zeroPoint;
+    private long zeroMillis;
+
+    public PackedUserPointRepository(int initialCapacity) {
+        int capacity = capacityFor(initialCapacity);
+        this.slots = new long[capacity * SLOT_WIDTH];
+        this.resizeThreshold = (int) (capacity * MAX_LOAD);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long stamp = lock.tryOptimisticRead();
+        long[] table = slots;
+        int index = indexOf(table, id);
+        boolean found = id == EMPTY ? hasZero : index >= 0;
+        long point = id == EMPTY ? zeroPoint : index >= 0 ? table[index + 1] : 0;
+        long updateMillis = id == EMPTY ? zeroMillis : index >= 0 ? table[index + 2] : 0;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                table = slots;
+                index = indexOf(table, id);
+                found = id == EMPTY ? hasZero : index >= 0;
+                point = id == EMPTY ? zeroPoint : index >= 0 ? table[index + 1] : 0;
+                updateMillis = id == EMPTY ? zeroMillis : index >= 0 ? table[index + 2] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found ? new UserPoint(id, point, updateMillis) : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        update(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 저장된 잔액. 없으면 0 을 돌려준다. (객체를 만들지 않는다)
+     */
+    public long point(long id) {
+        long stamp = lock.tryOptimisticRead();
+        long point = read(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                point = read(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return point;
+    }
+
+    /**
+     * 잔액과 수정 시각을 저장한다. 새 사용자로 용량이 넘칠 때만 배열을 새로 만든다.
+     */
+    public void update(long id, long point, long updateMillis) {
+        long stamp = lock.writeLock();
+        try {
+            if (id == EMPTY) {
+                hasZero = true;
+                zeroPoint = point;
+                zeroMillis = updateMillis;
+                return;
+            }
+
+            int index = slotOf(slots, id);
+            if (slots[index] == EMPTY) {
+                if (size >= resizeThreshold) {
+                    resize();
+                    index = slotOf(slots, id);
+                }
+                slots[index] = id;
+                size++;
+            }
+            slots[index + 1] = point;
+            slots[index + 2] = updateMillis;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size + (hasZero ? 1 : 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 저장된 잔액을 열(column) 단위 배열로 복사한다. 읽기 락 안에서 복사하므로 한 시점의 모습이다. (snapshot 용)
+     */
+    public Columns columns() {
+        long stamp = lock.readLock();
+        try {
+            int count = size + (hasZero ? 1 : 0);
+            Columns columns = new Columns(new long[count], new long[count], new long[count]);
+            int row = 0;
+            if (hasZero) {
+                columns.points()[row] = zeroPoint;
+                columns.updateMillis()[row] = zeroMillis;
+                row++;
+            }
+            for (int index = 0; index < slots.length; index += SLOT_WIDTH) {
+                if (slots[index] != EMPTY) {
+                    columns.ids()[row] = slots[index];
+                    columns.points()[row] = slots[index + 1];
+                    columns.updateMillis()[row] = slots[index + 2];
+                    row++;
+                }
+            }
+            return columns;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long read(long id) {
+        if (id == EMPTY) {
+            return zeroPoint;
+        }
+        long[] table = slots;
+        int index = indexOf(table, id);
+        return index >= 0 ? table[index + 1] : 0;
+    }
+
+    private void resize() {
+        int capacity = slots.length / SLOT_WIDTH;
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("packed user point store is full : " + size);
+        }
+        long[] resized = new long[capacity * 2 * SLOT_WIDTH];
+        for (int from = 0; from < slots.length; from += SLOT_WIDTH) {
+            if (slots[from] != EMPTY) {
+                int to = slotOf(resized, slots[from]);
+                resized[to] = slots[from];
+                resized[to + 1] = slots[from + 1];
+                resized[to + 2] = slots[from + 2];
+            }
+        }
+        slots = resized;
+        resizeThreshold = (int) (capacity * 2 * MAX_LOAD);
+    }
+
+    /**
+     * expectedSize 명을 늘리지 않고 담을 수 있는 2의 거듭제곱 slot 수
+     */
+    private static int capacityFor(int expectedSize) {
+        long required = Math.max(2L, (long) Math.ceil(expectedSize / MAX_LOAD));
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(required - 1) << 1);
+    }
+
+    /**
+     * id 가 저장된 slot 의 시작 위치. 없으면 -1. (낙관적 읽기 중에도 배열 범위를 벗어나지 않고 끝난다)
+     */
+    private static int indexOf(long[] table, long id) {
+        if (id == EMPTY) {
+            return -1;
+        }
+        int mask = table.length / SLOT_WIDTH - 1;
+        int slot = hash(id) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            long key = table[slot * SLOT_WIDTH];
+            if (key == id) {
+                return slot * SLOT_WIDTH;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * id 가 저장된 slot, 없으면 들어갈 빈 slot 의 시작 위치. 쓰기 락 안에서만 호출한다.
+     */
+    private static int slotOf(long[] table, long id) {
+        int mask = table.length / SLOT_WIDTH - 1;
+        int slot = hash(id) & mask;
+        while (table[slot * SLOT_WIDTH] != id && table[slot * SLOT_WIDTH] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot * SLOT_WIDTH;
+    }
+
+    /**
+     * 연속된 ID 가 이웃 slot 에 몰리지 않도록 섞는다. (murmur3 fmix64)
+     */
+    private static int hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * 같은 위치(row)끼리 한 사용자의 id / 잔액 / 수정 시각이다.
+     */
+    public record Columns(long[] ids, long[] points, long[] updateMillis) {
+    }
+}
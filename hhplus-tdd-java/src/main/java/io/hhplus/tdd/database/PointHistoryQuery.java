@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 이력 조회 조건
+ * - after : id 가 after 보다 큰 이력부터 (커서)
+ * - from / to : updateMillis 가 [from, to) 범위인 이력
+ * - type : 거래 종류 (null 이면 전체)
+ * - limit : 최대 개수
+ */
+public record PointHistoryQuery(
+        long after,
+        long from,
+        long to,
+        TransactionType type,
+        int limit
+) {
+
+    public static PointHistoryQuery page(long after, int limit) {
+        return new PointHistoryQuery(after, 0L, Long.MAX_VALUE, null, limit);
+    }
+}
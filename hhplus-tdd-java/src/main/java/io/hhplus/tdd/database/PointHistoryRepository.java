@@ -0,0 +1,34 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 포인트 이력 저장소
+ * - 이력은 사용자별로 추가된 순서(id 오름차순)대로 보관된다.
+ * - 조회 비용은 전체 이력 크기가 아니라 해당 사용자의 이력/페이지 크기에 비례한다.
+ * - 사용자별 이력은 updateMillis 순서로도 쌓이므로 기간 조회도 이진 탐색으로 시작 위치를 찾는다.
+ */
+public interface PointHistoryRepository {
+
+    PointHistory save(long userId, long amount, TransactionType type, long updateMillis);
+
+    List<PointHistory> findAllByUserId(long userId);
+
+    /**
+     * id 가 after 보다 큰 이력을 id 오름차순으로 최대 limit 개 조회한다. (커서 페이지네이션)
+     */
+    List<PointHistory> findAllByUserId(long userId, long after, int limit);
+
+    /**
+     * 조건에 맞는 이력을 id 오름차순으로 최대 limit 개 조회한다. 비용은 O(log n + 기간 안의 이력 수) 이다.
+     */
+    List<PointHistory> findAllByUserId(long userId, PointHistoryQuery query);
+
+    /**
+     * 사용자의 마지막 이력 id (이력이 없으면 0). 이력을 읽지 않고 인덱스에서 바로 돌려준다.
+     */
+    long lastIdByUserId(long userId);
+}
@@ -0,0 +1,657 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 잔액/이력 append-only journal (point.store.type=JOURNAL)
+ * - 충전/사용 이력 1건과 그 이력을 반영한 잔액을 하나의 고정 크기 binary record 로 memory-mapped segment 파일에 이어 쓴다.
+ *   잔액과 이력이 한 crc 안에 있으므로 복구된 잔액은 항상 복구된 이력과 맞는다.
+ * - record : kind(1) + payload + crc32c(4). segment 의 남은 공간은 0 으로 채워져 있어 kind 0 을 만나면 끝이다.
+ * - 이력이 없는 잔액 저장(appendBalance)은 record 를 쓰지 않고 메모리에만 둔다. 뒤따르는 이력이 그 잔액을 기록하며,
+ *   이력 없이 바뀐 잔액은 재시작하면 마지막 이력 기준 잔액으로 돌아간다.
+ * - 힙에는 사용자별 잔액과 이력 record 위치(long)만 둔다. 이력 내용은 mapped segment 에서 읽으므로 segment 는 지우지 않는다.
+ * - snapshot 은 특정 위치까지의 잔액과 이력 위치를 담는다. 새 snapshot 을 쓰면 이전 snapshot 만 지운다.
+ * - 시작 시 최신 snapshot 을 읽고 그 이후의 journal 만 다시 적용한다. crc 가 맞지 않는 record 부터는 버린다.
+ * - fsync 는 point-journal-sync 스레드가, snapshot 은 point-journal-snapshot 스레드가 쓴다.
+ *   snapshot 파일을 쓰는 동안에도 GROUP 모드의 fsync 는 멈추지 않는다.
+ * - 복구하는 것은 잔액과 이력뿐이다. 기간별 집계(PointSummaryAggregator)는 조회할 때 복구된 이력에서 다시 만들지만,
+ *   유효기간 lot(PointLotLedger)은 메모리에만 있으므로 재시작 이전 충전분은 만료 대상에 들어가지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "type", havingValue = "JOURNAL")
+public class PointJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+
+    private static final byte KIND_END = 0;
+    private static final byte KIND_ENTRY = 3;  // id, userId, amount, type, updateMillis, 반영 후 잔액
+    private static final int ENTRY_RECORD_SIZE = 1 + Long.BYTES * 5 + 1 + Integer.BYTES;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x50504E54;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalFsyncMode fsyncMode;
+    private final long fsyncIntervalNanos;
+    private final long snapshotEvery;
+
+    private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();  // 사용자 ID별 마지막 이력 기준 잔액 (record 에 있는 값)
+    private final ConcurrentHashMap<Long, UserPoint> pendingBalances = new ConcurrentHashMap<>();  // 아직 이력이 기록하지 않은 잔액
+    private final ConcurrentHashMap<Long, JournalHistoryIndex> histories = new ConcurrentHashMap<>();  // 사용자 ID별 이력 위치
+    private final ConcurrentHashMap<Long, ByteBuffer> segmentBuffers = new ConcurrentHashMap<>();  // segment 번호별 mapped buffer (읽기용)
+    private final JournalHistoryIndex.Reader reader = new SegmentReader();
+    private final ReentrantLock lock = new ReentrantLock();  // 기록, 상태 변경, snapshot 시점 확보는 이 락 안에서만
+    private final Condition synced = lock.newCondition();
+    private final CRC32C crc = new CRC32C();
+    private final long recoveryMillis;
+    private final Thread syncer;
+    private final Thread snapshotter;
+    private final ReentrantLock snapshotLock = new ReentrantLock();  // snapshot 파일은 한 번에 하나만 쓴다.
+
+    private Segment segment;          // 현재 기록 중인 segment
+    private long writtenPosition;     // 기록된 끝 위치 (segment 번호 << 32 | offset)
+    private long syncedPosition;      // fsync 까지 끝난 위치
+    private long lastHistoryId;
+    private long recordsSinceSnapshot;
+    private boolean tornTail;         // 복구 중 손상된 record 를 만났는지
+    private volatile boolean running = true;
+
+    public PointJournal(PointJournalProperties properties) {
+        this.directory = Path.of(properties.directory());
+        this.segmentSize = Math.toIntExact(properties.segmentSize().toBytes());
+        this.fsyncMode = properties.fsync();
+        this.fsyncIntervalNanos = properties.fsyncInterval().toNanos();
+        this.snapshotEvery = properties.snapshotEvery();
+
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long position = replay(loadSnapshot());
+            openForAppend(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("point journal recovery failed: " + directory, e);
+        }
+        this.recoveryMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("point journal recovered in {}ms : users={}, lastHistoryId={}, replayed={}",
+                recoveryMillis, balances.size(), lastHistoryId, recordsSinceSnapshot);
+
+        this.syncer = new Thread(this::runSyncer, "point-journal-sync");
+        syncer.setDaemon(true);
+        this.snapshotter = new Thread(this::runSnapshotter, "point-journal-snapshot");
+        snapshotter.setDaemon(true);
+        syncer.start();
+        snapshotter.start();
+    }
+
+    public UserPoint balance(long id) {
+        UserPoint pending = pendingBalances.get(id);
+        if (pending != null) {
+            return pending;
+        }
+        return balances.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    public List<PointHistory> histories(long userId) {
+        JournalHistoryIndex index = histories.get(userId);
+        return index == null ? List.of() : index.all();
+    }
+
+    public List<PointHistory> histories(long userId, long after, int limit) {
+        JournalHistoryIndex index = histories.get(userId);
+        return index == null ? List.of() : index.after(after, limit);
+    }
+
+    public List<PointHistory> histories(long userId, PointHistoryQuery query) {
+        JournalHistoryIndex index = histories.get(userId);
+        return index == null ? List.of() : index.find(query);
+    }
+
+    public long lastHistoryId(long userId) {
+        JournalHistoryIndex index = histories.get(userId);
+        return index == null ? 0L : index.lastId();
+    }
+
+    /**
+     * 잔액을 메모리에만 반영한다. 디스크에는 이 잔액을 만든 이력이 appendHistory 로 기록될 때 함께 쓰인다.
+     */
+    public UserPoint appendBalance(long id, long point) {
+        lock.lock();
+        try {
+            UserPoint userPoint = new UserPoint(id, point, System.currentTimeMillis());
+            UserPoint durable = balances.get(id);
+            if (durable != null ? durable.point() == point : point == 0L) {
+                pendingBalances.remove(id);
+            } else {
+                pendingBalances.put(id, userPoint);
+            }
+            return userPoint;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이력과 그 이력을 반영한 잔액(마지막 이력 기준 잔액 ± amount)을 record 하나로 기록한다.
+     * 메모리의 잔액이 이 잔액과 같아지면 이력이 모두 따라잡은 것이므로 메모리에만 있던 잔액을 지운다.
+     */
+    public PointHistory appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(lastHistoryId + 1, userId, amount, type, updateMillis);
+            UserPoint durable = balances.get(userId);
+            long point = (durable == null ? 0L : durable.point()) + (type.isCredit() ? amount : -amount);
+            ByteBuffer buffer = reserve(ENTRY_RECORD_SIZE);
+            int start = buffer.position();
+            buffer.put(KIND_ENTRY)
+                    .putLong(pointHistory.id())
+                    .putLong(userId)
+                    .putLong(amount)
+                    .put((byte) type.ordinal())
+                    .putLong(updateMillis)
+                    .putLong(point);
+            seal(buffer, start);
+            lastHistoryId = pointHistory.id();
+            histories.computeIfAbsent(userId, key -> new JournalHistoryIndex(reader)).add(position(segment.index(), start), type);
+            UserPoint pending = pendingBalances.get(userId);
+            if (pending != null && pending.point() == point) {
+                balances.put(userId, pending);
+                pendingBalances.remove(userId);
+            } else {
+                balances.put(userId, new UserPoint(userId, point, updateMillis));
+            }
+            awaitDurable(start);
+            return pointHistory;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long recoveryMillis() {
+        return recoveryMillis;
+    }
+
+    /**
+     * 현재까지의 잔액과 이력 위치로 snapshot 을 쓰고, 이전 snapshot 을 지운다.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            takeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void takeSnapshot() {
+        long position;
+        long lastId;
+        List<UserPoint> balanceCut;
+        List<HistoryCut> historyCut = new ArrayList<>();
+        lock.lock();
+        try {
+            if (recordsSinceSnapshot == 0) {
+                return;
+            }
+            position = writtenPosition;
+            lastId = lastHistoryId;
+            balanceCut = new ArrayList<>(balances.values());
+            histories.forEach((userId, index) -> historyCut.add(new HistoryCut(userId, index, index.size())));
+            recordsSinceSnapshot = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        // snapshot 이 가리키는 record 가 디스크에 있어야 하므로 먼저 fsync 한다.
+        // 실패해도 이전 snapshot 은 남아 있으므로 이전 snapshot 과 journal 로 복구할 수 있다.
+        sync();
+        try {
+            writeSnapshot(position, lastId, balanceCut, historyCut);
+            deleteBefore(position);
+        } catch (IOException e) {
+            log.error("point journal snapshot failed at position {}", position, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        LockSupport.unpark(syncer);
+        LockSupport.unpark(snapshotter);
+        try {
+            syncer.join();
+            snapshotter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+        snapshot();
+        lock.lock();
+        try {
+            segment.channel().close();
+        } catch (IOException e) {
+            log.warn("point journal close failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer reserve(int size) {
+        if (segment.buffer().remaining() < size) {
+            rotate();
+        }
+        return segment.buffer();
+    }
+
+    private void seal(ByteBuffer buffer, int start) {
+        crc.reset();
+        crc.update(buffer.duplicate().limit(buffer.position()).position(start));
+        buffer.putInt((int) crc.getValue());
+        writtenPosition = position(segment.index(), buffer.position());
+        recordsSinceSnapshot++;
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출된다. fsync 방식에 따라 방금 기록한 record 가 디스크에 반영될 때까지 기다린다.
+     */
+    private void awaitDurable(int start) {
+        long position = writtenPosition;
+        switch (fsyncMode) {
+            case ALWAYS -> {
+                segment.buffer().force(start, offset(position) - start);
+                syncedPosition = position;
+            }
+            case GROUP -> {
+                while (syncedPosition < position) {
+                    synced.awaitUninterruptibly();
+                }
+            }
+            case ASYNC -> {
+            }
+        }
+    }
+
+    /**
+     * 현재 segment 를 닫고 다음 segment 를 연다. 닫는 segment 는 전부 fsync 한다.
+     */
+    private void rotate() {
+        Segment previous = segment;
+        try {
+            previous.buffer().force();
+            previous.channel().close();  // mapping 은 닫아도 남으므로 이력 조회는 계속 읽는다.
+            syncedPosition = Math.max(syncedPosition, position(previous.index(), previous.buffer().position()));
+            synced.signalAll();
+            segment = openSegment(previous.index() + 1, segmentSize);
+            writtenPosition = position(segment.index(), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("point journal segment rotation failed", e);
+        }
+    }
+
+    private void runSyncer() {
+        while (running) {
+            LockSupport.parkNanos(fsyncIntervalNanos);
+            sync();
+            if (snapshotEvery > 0 && recordsSinceSnapshot() >= snapshotEvery) {
+                LockSupport.unpark(snapshotter);  // 쓰는 건 snapshot 스레드에 맡기고 바로 다음 fsync 로 돌아간다.
+            }
+        }
+    }
+
+    private void runSnapshotter() {
+        while (running) {
+            LockSupport.park(this);
+            if (running && snapshotEvery > 0 && recordsSinceSnapshot() >= snapshotEvery) {
+                snapshot();
+            }
+        }
+    }
+
+    /**
+     * 아직 fsync 하지 않은 구간을 락 밖에서 fsync 하고, 기다리는 호출자를 깨운다.
+     */
+    private void sync() {
+        Segment target;
+        long position;
+        int from;
+        lock.lock();
+        try {
+            position = writtenPosition;
+            if (position <= syncedPosition) {
+                return;
+            }
+            target = segment;
+            from = segmentIndex(syncedPosition) == target.index() ? offset(syncedPosition) : 0;
+        } finally {
+            lock.unlock();
+        }
+
+        target.buffer().force(from, offset(position) - from);
+
+        lock.lock();
+        try {
+            syncedPosition = Math.max(syncedPosition, position);
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long recordsSinceSnapshot() {
+        lock.lock();
+        try {
+            return recordsSinceSnapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가장 최근의 온전한 snapshot 을 읽어 상태를 채우고, journal 을 다시 적용할 위치를 돌려준다.
+     */
+    private long loadSnapshot() throws IOException {
+        for (Path path : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, Comparator.reverseOrder())) {
+            try {
+                long position = readSnapshot(path);
+                log.info("point journal snapshot loaded : {}", path.getFileName());
+                return position;
+            } catch (IOException e) {
+                log.warn("point journal snapshot skipped : {} ({})", path.getFileName(), e.getMessage());
+                balances.clear();
+                histories.clear();
+                segmentBuffers.clear();
+                lastHistoryId = 0;
+            }
+        }
+        return 0;
+    }
+
+    private long readSnapshot(Path path) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("unknown snapshot format");
+            }
+            long position = in.readLong();
+            lastHistoryId = in.readLong();
+            int balanceCount = in.readInt();
+            for (int i = 0; i < balanceCount; i++) {
+                UserPoint userPoint = new UserPoint(in.readLong(), in.readLong(), in.readLong());
+                balances.put(userPoint.id(), userPoint);
+            }
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                long userId = in.readLong();
+                long[] locations = new long[in.readInt()];
+                for (int j = 0; j < locations.length; j++) {
+                    locations[j] = in.readLong();
+                }
+                histories.computeIfAbsent(userId, key -> new JournalHistoryIndex(reader)).addAll(locations);
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("snapshot checksum mismatch");
+            }
+            return position;
+        }
+    }
+
+    private void writeSnapshot(long position, long lastId, List<UserPoint> balanceCut, List<HistoryCut> historyCut) throws IOException {
+        Path target = directory.resolve(snapshotName(position));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32C());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(position);
+            out.writeLong(lastId);
+            out.writeInt(balanceCut.size());
+            for (UserPoint userPoint : balanceCut) {
+                out.writeLong(userPoint.id());
+                out.writeLong(userPoint.point());
+                out.writeLong(userPoint.updateMillis());
+            }
+            out.writeInt(historyCut.size());
+            for (HistoryCut cut : historyCut) {
+                out.writeLong(cut.userId());
+                out.writeInt(cut.size());
+                for (long location : cut.index().locations(cut.size())) {
+                    out.writeLong(location);
+                }
+            }
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 이전 snapshot 을 지운다. segment 는 이력 저장소이므로 지우지 않는다.
+     */
+    private void deleteBefore(long position) throws IOException {
+        for (Path path : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, Comparator.naturalOrder())) {
+            if (numberOf(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < position) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * position 이후의 record 를 순서대로 적용하고, 마지막으로 온전한 record 의 끝 위치를 돌려준다.
+     */
+    private long replay(long position) throws IOException {
+        long end = position;
+        for (Path path : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX, Comparator.naturalOrder())) {
+            long index = numberOf(path, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (index < segmentIndex(position)) {
+                continue;
+            }
+            ByteBuffer buffer = segmentBuffer(index);
+            int offset = index == segmentIndex(position) ? offset(position) : 0;
+            int stop = replaySegment(index, buffer, offset);
+            if (stop < 0) {
+                end = position(index, -stop - 1);
+                tornTail = true;
+                log.warn("point journal truncated at segment {} offset {} (torn or corrupt record)", index, -stop - 1);
+                break;
+            }
+            end = position(index, stop);
+        }
+        return end;
+    }
+
+    /**
+     * segment 하나를 적용한다. 정상 종료면 끝 offset, 손상된 record 를 만나면 -(offset + 1) 을 돌려준다.
+     */
+    private int replaySegment(long index, ByteBuffer buffer, int offset) {
+        CRC32C check = new CRC32C();
+        int position = offset;
+        while (position < buffer.limit()) {
+            byte kind = buffer.get(position);
+            if (kind == KIND_END) {
+                return position;
+            }
+            int size = ENTRY_RECORD_SIZE;
+            if (kind != KIND_ENTRY || position + size > buffer.limit()) {
+                return -position - 1;
+            }
+            check.reset();
+            check.update(buffer.duplicate().limit(position + size - Integer.BYTES).position(position));
+            if ((int) check.getValue() != buffer.getInt(position + size - Integer.BYTES)) {
+                return -position - 1;
+            }
+
+            long userId = buffer.getLong(position + 9);
+            balances.put(userId, new UserPoint(userId, buffer.getLong(position + 34), buffer.getLong(position + 26)));
+            histories.computeIfAbsent(userId, key -> new JournalHistoryIndex(reader))
+                    .add(position(index, position), TRANSACTION_TYPES[buffer.get(position + 25)]);
+            lastHistoryId = Math.max(lastHistoryId, buffer.getLong(position + 1));
+            recordsSinceSnapshot++;
+            position += size;
+        }
+        return position;
+    }
+
+    /**
+     * 복구가 끝난 위치부터 이어 쓸 segment 를 연다. 그 뒤에 남은 손상된 부분과 segment 는 지운다.
+     */
+    private void openForAppend(long position) throws IOException {
+        long index = segmentIndex(position);
+        Path path = directory.resolve(segmentName(index));
+        if (Files.exists(path)) {
+            segment = openSegment(index, Math.max(segmentSize, Math.toIntExact(Files.size(path))));
+            MappedByteBuffer buffer = segment.buffer();
+            buffer.position(offset(position));
+            if (tornTail) {
+                // 손상된 record 가 남아 있으면 다음 복구 때 새 record 뒤에서 잘못 읽히지 않도록 0 으로 지운다.
+                byte[] zeros = new byte[64 * 1024];
+                for (int i = offset(position); i < buffer.limit(); i += zeros.length) {
+                    buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.limit() - i));
+                }
+                buffer.force();
+            }
+        } else {
+            segment = openSegment(offset(position) == 0 ? index : index + 1, segmentSize);
+        }
+        for (Path later : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX, Comparator.naturalOrder())) {
+            long laterIndex = numberOf(later, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (laterIndex > segment.index()) {
+                segmentBuffers.remove(laterIndex);
+                Files.deleteIfExists(later);
+            }
+        }
+        writtenPosition = position(segment.index(), segment.buffer().position());
+        syncedPosition = writtenPosition;
+    }
+
+    private Segment openSegment(long index, int size) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(segmentName(index)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentBuffers.put(index, buffer.duplicate());  // 읽기는 절대 위치로만 하므로 기록 위치와 섞이지 않는다.
+        return new Segment(index, channel, buffer);
+    }
+
+    /**
+     * 이력을 읽을 segment 의 mapped buffer. 기록 중이 아닌 segment 는 처음 읽을 때 읽기 전용으로 map 한다.
+     */
+    private ByteBuffer segmentBuffer(long index) {
+        return segmentBuffers.computeIfAbsent(index, key -> {
+            try (FileChannel channel = FileChannel.open(directory.resolve(segmentName(key)), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("point journal segment map failed: " + key, e);
+            }
+        });
+    }
+
+    private List<Path> listFiles(String prefix, String suffix, Comparator<Long> order) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted(Comparator.comparing(path -> numberOf(path, prefix, suffix), order))
+                    .toList();
+        }
+    }
+
+    private static long numberOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static String segmentName(long index) {
+        return SEGMENT_PREFIX + String.format("%020d", index) + SEGMENT_SUFFIX;
+    }
+
+    private static String snapshotName(long position) {
+        return SNAPSHOT_PREFIX + String.format("%020d", position) + SNAPSHOT_SUFFIX;
+    }
+
+    private static long position(long segmentIndex, int offset) {
+        return segmentIndex << 32 | offset;
+    }
+
+    private static long segmentIndex(long position) {
+        return position >>> 32;
+    }
+
+    private static int offset(long position) {
+        return (int) position;
+    }
+
+    private record Segment(long index, FileChannel channel, MappedByteBuffer buffer) {
+    }
+
+    private record HistoryCut(long userId, JournalHistoryIndex index, int size) {
+    }
+
+    /**
+     * 이력 위치의 record 를 mapped segment 에서 읽는다.
+     */
+    private final class SegmentReader implements JournalHistoryIndex.Reader {
+
+        @Override
+        public PointHistory history(long location) {
+            ByteBuffer buffer = segmentBuffer(segmentIndex(location));
+            int offset = offset(location);
+            return new PointHistory(buffer.getLong(offset + 1), buffer.getLong(offset + 9), buffer.getLong(offset + 17),
+                    TRANSACTION_TYPES[buffer.get(offset + 25)], buffer.getLong(offset + 26));
+        }
+
+        @Override
+        public long id(long location) {
+            return segmentBuffer(segmentIndex(location)).getLong(offset(location) + 1);
+        }
+
+        @Override
+        public long updateMillis(long location) {
+            return segmentBuffer(segmentIndex(location)).getLong(offset(location) + 26);
+        }
+
+        @Override
+        public TransactionType type(long location) {
+            return TRANSACTION_TYPES[segmentBuffer(segmentIndex(location)).get(offset(location) + 25)];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 잔액/이력 journal 설정 (point.store.type=JOURNAL 일 때 사용)
+ * - directory : segment / snapshot 파일을 둘 디렉터리
+ * - segmentSize : memory-mapped segment 파일 하나의 크기 (최대 2GB)
+ * - fsync : fsync 방식 (ALWAYS / GROUP / ASYNC)
+ * - fsyncInterval : GROUP 에서 fsync 를 모으는 시간, ASYNC 에서 fsync 주기
+ * - snapshotEvery : 마지막 snapshot 이후 이 수만큼 기록이 쌓이면 snapshot 을 쓰고 이전 snapshot 을 지운다. (0 이면 종료 시에만)
+ */
+@ConfigurationProperties(prefix = "point.journal")
+public record PointJournalProperties(
+        @DefaultValue("data/journal") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("GROUP") JournalFsyncMode fsync,
+        @DefaultValue("2ms") Duration fsyncInterval,
+        @DefaultValue("1000000") long snapshotEvery
+) {
+}
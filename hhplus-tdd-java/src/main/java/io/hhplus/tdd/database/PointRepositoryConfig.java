@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointRepositoryConfig {
+
+    @Bean
+    public UserPointRepository userPointRepository(PointStoreProperties properties,
+                                                   UserPointTable userPointTable,
+                                                   ObjectProvider<PointJournal> pointJournal,
+                                                   ObjectProvider<PointSnapshot> pointSnapshot) {
+        return switch (properties.type()) {
+            case TABLE -> new TableUserPointRepository(userPointTable);
+            case JOURNAL -> new JournalUserPointRepository(pointJournal.getObject());
+            case PACKED -> new PackedUserPointRepository(properties.initialCapacity());
+            case SNAPSHOT -> pointSnapshot.getObject().userPointRepository();
+        };
+    }
+
+    @Bean
+    public PointHistoryRepository pointHistoryRepository(PointStoreProperties properties,
+                                                         PointHistoryTable pointHistoryTable,
+                                                         ObjectProvider<PointJournal> pointJournal,
+                                                         ObjectProvider<PointSnapshot> pointSnapshot,
+                                                         PointMetrics pointMetrics) {
+        return switch (properties.type()) {
+            case JOURNAL -> new JournalPointHistoryRepository(pointJournal.getObject(), pointMetrics);
+            case SNAPSHOT -> pointSnapshot.getObject().pointHistoryRepository();
+            case TABLE, PACKED -> new TablePointHistoryRepository(pointHistoryTable, pointMetrics);
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.database;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * snapshot 파일로 시작/종료하는 잔액/이력 저장소 (point.store.type=SNAPSHOT)
+ * - 시작 시 snapshot 파일을 memory-mapped 로 열어 열 단위로 PackedUserPointRepository / MemoryPointHistoryRepository 에 바로 넣는다.
+ *   UserPointTable / PointHistoryTable 의 insert 를 행마다 거치지 않으므로 지연 없이 파일 크기에 비례해 끝난다.
+ * - 파일이 손상되었거나 형식이 다르면 빈 상태로 시작하지 않고 실패한다. (종료 시 빈 상태로 덮어쓰지 않도록)
+ * - 종료 시(exportOnShutdown) 현재 상태를 다시 파일로 쓴다. 그 사이의 쓰기는 journal 과 달리 장애 시 유실된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "type", havingValue = "SNAPSHOT")
+public class PointSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshot.class);
+
+    private final Path path;
+    private final boolean exportOnShutdown;
+    private final PackedUserPointRepository userPointRepository;
+    private final MemoryPointHistoryRepository pointHistoryRepository = new MemoryPointHistoryRepository();
+    private final long loadMillis;
+
+    public PointSnapshot(PointSnapshotProperties properties, PointStoreProperties storeProperties) {
+        this.path = Path.of(properties.path());
+        this.exportOnShutdown = properties.exportOnShutdown();
+
+        long start = System.nanoTime();
+        if (!Files.exists(path)) {
+            this.userPointRepository = new PackedUserPointRepository(storeProperties.initialCapacity());
+            this.loadMillis = 0;
+            log.info("point snapshot not found, starting empty : {}", path);
+            return;
+        }
+        try (PointSnapshotFile file = PointSnapshotFile.open(path)) {
+            this.userPointRepository = new PackedUserPointRepository(Math.max(storeProperties.initialCapacity(), file.userCount()));
+            file.loadInto(userPointRepository, pointHistoryRepository);
+            this.loadMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("point snapshot loaded in {}ms : users={}, histories={}, lastHistoryId={}",
+                    loadMillis, file.userCount(), file.historyCount(), file.lastHistoryId());
+        } catch (IOException e) {
+            throw new UncheckedIOException("point snapshot load failed: " + path, e);
+        }
+    }
+
+    public PackedUserPointRepository userPointRepository() {
+        return userPointRepository;
+    }
+
+    public MemoryPointHistoryRepository pointHistoryRepository() {
+        return pointHistoryRepository;
+    }
+
+    public long loadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * 현재 잔액/이력 전체를 snapshot 파일로 쓴다.
+     */
+    public void export() {
+        long start = System.nanoTime();
+        try {
+            PointSnapshotFile.write(path, userPointRepository, pointHistoryRepository);
+            log.info("point snapshot exported in {}ms : {}", (System.nanoTime() - start) / 1_000_000, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("point snapshot export failed: " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!exportOnShutdown) {
+            return;
+        }
+        try {
+            export();
+        } catch (UncheckedIOException e) {
+            log.error("point snapshot export on shutdown failed", e);
+        }
+    }
+}
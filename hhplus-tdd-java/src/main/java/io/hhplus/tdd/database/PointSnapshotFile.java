@@ -0,0 +1,238 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액/이력 전체를 담는 binary snapshot 파일 (point.store.type=SNAPSHOT)
+ * - header(32) : magic(4) + version(4) + 사용자 수(8) + 이력 수(8) + 마지막 이력 id(8)
+ * - 이어서 열(column) 단위 배열 : 사용자 id / 잔액 / 수정 시각, 이력 id / 사용자 id / 금액 / 시각 (long), 이력 종류 (byte)
+ * - 끝의 crc32c(4) 는 그 앞 전체에 대한 값이다. byte order 는 little endian 이다.
+ * - 이력은 사용자별로 모아 id 오름차순으로 쓰므로, 읽을 때 사용자 단위로 한 번에 인덱스에 넣는다.
+ * - 열 하나를 memory-mapped 구간 하나로 읽고 쓰므로 사용자/이력은 각각 최대 MAX_ROWS 행이다.
+ */
+public final class PointSnapshotFile implements AutoCloseable {
+
+    public static final long MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+
+    private static final int MAGIC = 0x50505346;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int USER_COLUMNS = 3;
+    private static final int HISTORY_COLUMNS = 4;
+    private static final long CHECKSUM_CHUNK = 1L << 30;
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    private final FileChannel channel;
+    private final int userCount;
+    private final int historyCount;
+    private final long lastHistoryId;
+
+    private PointSnapshotFile(FileChannel channel, int userCount, int historyCount, long lastHistoryId) {
+        this.channel = channel;
+        this.userCount = userCount;
+        this.historyCount = historyCount;
+        this.lastHistoryId = lastHistoryId;
+    }
+
+    /**
+     * 파일을 열어 header, 크기, checksum 을 확인한다. 하나라도 맞지 않으면 IOException 이다.
+     */
+    public static PointSnapshotFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE + Integer.BYTES) {
+                throw new IOException("snapshot too small");
+            }
+            ByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("unknown snapshot format");
+            }
+            long userCount = header.getLong(8);
+            long historyCount = header.getLong(16);
+            if (userCount < 0 || userCount > MAX_ROWS || historyCount < 0 || historyCount > MAX_ROWS) {
+                throw new IOException("invalid snapshot row count");
+            }
+            PointSnapshotFile file = new PointSnapshotFile(channel, (int) userCount, (int) historyCount, header.getLong(24));
+            if (channel.size() != file.checksumOffset() + Integer.BYTES) {
+                throw new IOException("snapshot size mismatch");
+            }
+            ByteBuffer stored = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(stored, file.checksumOffset());
+            if (stored.getInt(0) != checksum(channel, file.checksumOffset())) {
+                throw new IOException("snapshot checksum mismatch");
+            }
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 잔액/이력 전체를 path 에 쓴다. 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로, 도중에 실패해도 이전 파일은 그대로다.
+     * - 쓰는 동안 들어온 쓰기는 잔액과 이력 중 한쪽에만 담길 수 있으므로 쓰기가 멈춘 시점(종료 시)에 호출한다.
+     */
+    public static void write(Path path, PackedUserPointRepository balances, MemoryPointHistoryRepository histories) throws IOException {
+        PackedUserPointRepository.Columns users = balances.columns();
+        List<MemoryPointHistoryRepository.Cut> cuts = histories.cut();
+        long lastHistoryId = histories.lastHistoryId();
+        long historyCount = cuts.stream().mapToLong(MemoryPointHistoryRepository.Cut::size).sum();
+        if (historyCount > MAX_ROWS) {
+            throw new IOException("too many histories for one snapshot : " + historyCount);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        PointSnapshotFile file = new PointSnapshotFile(null, users.ids().length, (int) historyCount, lastHistoryId);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<MappedByteBuffer> mapped = new ArrayList<>();
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(file.userCount).putLong(file.historyCount).putLong(lastHistoryId);
+            mapped.add(header);
+
+            long[][] userColumns = {users.ids(), users.points(), users.updateMillis()};
+            for (int column = 0; column < USER_COLUMNS; column++) {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE, file.userColumn(column), (long) file.userCount * Long.BYTES);
+                buffer.asLongBuffer().put(userColumns[column]);
+                mapped.add(buffer);
+            }
+
+            LongBuffer[] historyColumns = new LongBuffer[HISTORY_COLUMNS];
+            for (int column = 0; column < HISTORY_COLUMNS; column++) {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE, file.historyColumn(column), (long) file.historyCount * Long.BYTES);
+                historyColumns[column] = buffer.asLongBuffer();
+                mapped.add(buffer);
+            }
+            MappedByteBuffer types = map(channel, FileChannel.MapMode.READ_WRITE, file.typeColumn(), file.historyCount);
+            mapped.add(types);
+            for (MemoryPointHistoryRepository.Cut cut : cuts) {
+                List<PointHistory> entries = cut.index().all();
+                for (int i = 0; i < cut.size(); i++) {
+                    PointHistory pointHistory = entries.get(i);
+                    historyColumns[0].put(pointHistory.id());
+                    historyColumns[1].put(pointHistory.userId());
+                    historyColumns[2].put(pointHistory.amount());
+                    historyColumns[3].put(pointHistory.updateMillis());
+                    types.put((byte) pointHistory.type().ordinal());
+                }
+            }
+
+            for (MappedByteBuffer buffer : mapped) {
+                buffer.force();
+            }
+            ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(0, checksum(channel, file.checksumOffset()));
+            channel.write(checksum, file.checksumOffset());
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public int historyCount() {
+        return historyCount;
+    }
+
+    public long lastHistoryId() {
+        return lastHistoryId;
+    }
+
+    /**
+     * 열을 그대로 읽어 저장소에 넣는다. 저장소의 쓰기 경로(테이블 지연, 사용자 락)를 거치지 않는다.
+     */
+    public void loadInto(PackedUserPointRepository balances, MemoryPointHistoryRepository histories) throws IOException {
+        LongBuffer ids = longColumn(userColumn(0), userCount);
+        LongBuffer points = longColumn(userColumn(1), userCount);
+        LongBuffer updateMillis = longColumn(userColumn(2), userCount);
+        for (int row = 0; row < userCount; row++) {
+            balances.update(ids.get(row), points.get(row), updateMillis.get(row));
+        }
+
+        LongBuffer historyIds = longColumn(historyColumn(0), historyCount);
+        LongBuffer userIds = longColumn(historyColumn(1), historyCount);
+        LongBuffer amounts = longColumn(historyColumn(2), historyCount);
+        LongBuffer historyMillis = longColumn(historyColumn(3), historyCount);
+        ByteBuffer types = map(channel, FileChannel.MapMode.READ_ONLY, typeColumn(), historyCount);
+        int from = 0;
+        for (int row = 1; row <= historyCount; row++) {
+            if (row < historyCount && userIds.get(row) == userIds.get(from)) {
+                continue;
+            }
+            // 같은 사용자의 이력이 끝나면 한 번에 넣는다.
+            PointHistory[] entries = new PointHistory[row - from];
+            for (int i = from; i < row; i++) {
+                int type = types.get(i);
+                if (type < 0 || type >= TRANSACTION_TYPES.length) {
+                    throw new IOException("unknown transaction type in snapshot : " + type);
+                }
+                entries[i - from] = new PointHistory(historyIds.get(i), userIds.get(i), amounts.get(i), TRANSACTION_TYPES[type], historyMillis.get(i));
+            }
+            histories.restore(userIds.get(from), entries);
+            from = row;
+        }
+        histories.restored(lastHistoryId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long userColumn(int column) {
+        return HEADER_SIZE + (long) column * userCount * Long.BYTES;
+    }
+
+    private long historyColumn(int column) {
+        return userColumn(USER_COLUMNS) + (long) column * historyCount * Long.BYTES;
+    }
+
+    private long typeColumn() {
+        return historyColumn(HISTORY_COLUMNS);
+    }
+
+    private long checksumOffset() {
+        return typeColumn() + historyCount;
+    }
+
+    private LongBuffer longColumn(long offset, int rows) throws IOException {
+        return map(channel, FileChannel.MapMode.READ_ONLY, offset, (long) rows * Long.BYTES).asLongBuffer();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long offset, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * [0, end) 구간의 crc32c. 2GB 를 넘는 파일도 읽을 수 있도록 1GB 씩 나누어 매핑한다.
+     */
+    private static int checksum(FileChannel channel, long end) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long position = 0; position < end; position += CHECKSUM_CHUNK) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_CHUNK, end - position)));
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * snapshot 파일 설정 (point.store.type=SNAPSHOT 일 때 사용)
+ * - path : 시작 시 읽고 종료 시 쓸 snapshot 파일 (없으면 빈 상태로 시작)
+ * - exportOnShutdown : 종료 시 현재 잔액/이력을 path 에 다시 쓸지 여부
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record PointSnapshotProperties(
+        @DefaultValue("data/point.snap") String path,
+        @DefaultValue("true") boolean exportOnShutdown
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 저장소 설정
+ * - type : 잔액/이력 저장소 종류 (TABLE / JOURNAL / PACKED / SNAPSHOT)
+ * - initialCapacity : PACKED / SNAPSHOT 저장소가 처음 확보할 사용자 수 (넘으면 두 배씩 늘린다)
+ */
+@ConfigurationProperties(prefix = "point.store")
+public record PointStoreProperties(
+        @DefaultValue("TABLE") PointStoreType type,
+        @DefaultValue("1048576") int initialCapacity
+) {
+}
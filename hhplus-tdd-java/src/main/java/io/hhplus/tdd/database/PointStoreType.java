@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 잔액/이력 저장소 종류
+ * - TABLE : UserPointTable / PointHistoryTable (메모리, 재시작 시 유실)
+ * - JOURNAL : PointJournal (memory-mapped append-only 파일, 재시작 시 복구)
+ * - PACKED : 잔액은 PackedUserPointRepository (primitive 배열 해시 테이블), 이력은 PointHistoryTable
+ * - SNAPSHOT : 잔액은 PackedUserPointRepository, 이력은 MemoryPointHistoryRepository. 시작 시 snapshot 파일에서 한 번에 읽고 종료 시 다시 쓴다.
+ */
+public enum PointStoreType {
+    TABLE,
+    JOURNAL,
+    PACKED,
+    SNAPSHOT
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PointHistoryTable 에 이력을 저장하면서 사용자별 인덱스를 함께 유지한다.
+ * - PointHistoryTable.selectAllByUserId 는 전체 이력을 훑기 때문에 조회는 인덱스로만 처리한다.
+ * - 모든 이력은 PointService 를 거쳐 저장되므로 인덱스와 테이블의 내용은 같다.
+ * - point.store.type=JOURNAL 이면 JournalPointHistoryRepository 가 대신 사용된다.
+ */
+@RequiredArgsConstructor
+public class TablePointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, UserHistoryIndex> indexMap = new ConcurrentHashMap<>();  // 사용자 ID별 이력 인덱스
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = pointMetrics.start();
+        PointHistory pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        pointMetrics.tableCall(PointMetrics.TABLE_POINT_HISTORY, "insert", start);
+        indexMap.computeIfAbsent(userId, key -> new UserHistoryIndex()).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.all();
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, long after, int limit) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.after(after, limit);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId, PointHistoryQuery query) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? List.of() : index.find(query);
+    }
+
+    @Override
+    public long lastIdByUserId(long userId) {
+        UserHistoryIndex index = indexMap.get(userId);
+        return index == null ? 0L : index.lastId();
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * UserPointTable 에 잔액을 저장한다. (point.store.type=TABLE, 기본값)
+ */
+@RequiredArgsConstructor
+public class TableUserPointRepository implements UserPointRepository {
+
+    private final UserPointTable userPointTable;
+
+    @Override
+    public UserPoint selectById(long id) {
+        return userPointTable.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return userPointTable.insertOrUpdate(id, amount);
+    }
+}
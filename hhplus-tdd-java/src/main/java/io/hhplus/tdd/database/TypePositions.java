@@ -0,0 +1,55 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * 이력 인덱스 안에서 거래 종류별 위치(추가된 순번)를 오름차순으로 보관한다.
+ * - 종류를 지정한 조회는 이 배열에서 시작 위치를 이진 탐색하고 그 종류의 이력만 읽는다. (O(log n + k))
+ * - 동기화는 이 객체를 가진 인덱스의 락에 맡긴다.
+ */
+final class TypePositions {
+
+    private static final int TYPE_COUNT = TransactionType.values().length;
+
+    private final int[][] positions = new int[TYPE_COUNT][];
+    private final int[] sizes = new int[TYPE_COUNT];
+
+    void add(TransactionType type, int position) {
+        int ordinal = type.ordinal();
+        int[] array = positions[ordinal];
+        if (array == null) {
+            array = positions[ordinal] = new int[4];
+        } else if (sizes[ordinal] == array.length) {
+            array = positions[ordinal] = Arrays.copyOf(array, array.length * 2);
+        }
+        array[sizes[ordinal]++] = position;
+    }
+
+    int size(TransactionType type) {
+        return sizes[type.ordinal()];
+    }
+
+    int get(TransactionType type, int index) {
+        return positions[type.ordinal()][index];
+    }
+
+    /**
+     * 위치가 position 이상인 첫 번째 순번
+     */
+    int lowerBound(TransactionType type, int position) {
+        int[] array = positions[type.ordinal()];
+        int low = 0;
+        int high = sizes[type.ordinal()];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 한 사용자의 이력을 추가된 순서대로 보관하는 인덱스
+ * - 같은 사용자의 이력은 사용자 락 안에서 추가되므로 id 와 updateMillis 모두 오름차순으로 쌓인다.
+ * - 커서(id) 위치와 기간 시작(updateMillis) 위치는 이진 탐색으로 찾는다.
+ * - 거래 종류별 위치를 따로 두어, 종류를 지정한 조회도 다른 종류의 이력을 훑지 않는다.
+ */
+class UserHistoryIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TypePositions typePositions = new TypePositions();
+    private PointHistory[] entries = new PointHistory[8];
+    private int size;
+
+    void add(PointHistory pointHistory) {
+        lock.writeLock().lock();
+        try {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            typePositions.add(pointHistory.type(), size);
+            entries[size++] = pointHistory;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 같은 사용자의 이력을 순서대로 한 번에 추가한다. (snapshot 복원용)
+     */
+    void addAll(PointHistory[] batch) {
+        lock.writeLock().lock();
+        try {
+            if (size + batch.length > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + batch.length));
+            }
+            for (PointHistory pointHistory : batch) {
+                typePositions.add(pointHistory.type(), size);
+                entries[size++] = pointHistory;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 추가된 이력의 id (이력이 없으면 0)
+     */
+    long lastId() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? 0L : entries[size - 1].id();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> all() {
+        lock.readLock().lock();
+        try {
+            return List.of(Arrays.copyOf(entries, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> after(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = upperBound(after);
+            int to = (int) Math.min(size, (long) from + limit);
+            return List.of(Arrays.copyOfRange(entries, from, to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 이력을 최대 limit 개 조회한다. 시작 위치는 이진 탐색으로 찾고, 기간이 끝나면 멈춘다.
+     * 종류를 지정하면 그 종류의 위치만 따라가므로 다른 종류의 이력은 읽지 않는다.
+     */
+    List<PointHistory> find(PointHistoryQuery query) {
+        lock.readLock().lock();
+        try {
+            int from = Math.max(upperBound(query.after()), lowerBoundMillis(query.from()));
+            TransactionType type = query.type();
+            int end = type == null ? size : typePositions.size(type);
+            List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), size - from));
+            for (int i = type == null ? from : typePositions.lowerBound(type, from); i < end && result.size() < query.limit(); i++) {
+                PointHistory pointHistory = entries[type == null ? i : typePositions.get(type, i)];
+                if (pointHistory.updateMillis() >= query.to()) {
+                    break;
+                }
+                result.add(pointHistory);
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * id 가 after 보다 큰 첫 번째 위치
+     */
+    private int upperBound(long after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].id() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * updateMillis 가 from 이상인 첫 번째 위치
+     */
+    private int lowerBoundMillis(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].updateMillis() < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 잔액 저장소
+ * - selectById 는 저장된 잔액이 없으면 UserPoint.empty(id) 를 돌려준다. (UserPointTable 과 동일)
+ * - 같은 사용자에 대한 저장 순서는 호출하는 쪽(사용자 락 / 버전 비교)이 보장한다.
+ */
+public interface UserPointRepository {
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+}
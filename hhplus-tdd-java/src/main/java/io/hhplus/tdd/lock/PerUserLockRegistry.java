@@ -0,0 +1,192 @@
+package io.hhplus.tdd.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 락을 참조 카운트로 관리한다.
+ * - 락을 기다리거나 잡고 있는 스레드가 있는 동안에만 보관하고, 마지막 스레드가 unlock 하면 제거한다.
+ * - 보관 중인 락 개수는 동시에 처리 중인 사용자 수를 넘지 않는다.
+ * - 사용자 ID 해시로 나눈 TABLES 개의 long 키 open addressing 테이블에 보관한다.
+ *   찾고 참조 카운트를 바꾸는 동안 그 테이블만 잠그며, 처음 쓰는 사용자의 락을 만들 때 말고는 boxing 이나 객체 생성이 없다.
+ */
+public class PerUserLockRegistry implements UserLockRegistry {
+
+    private static final int TABLES = 64;  // 2의 거듭제곱
+
+    private final Table[] tables = new Table[TABLES];
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    public PerUserLockRegistry() {
+        for (int i = 0; i < TABLES; i++) {
+            tables[i] = new Table();
+        }
+    }
+
+    @Override
+    public UserLock lock(long id) {
+        Entry entry = retain(id);
+        acquisitions.increment();
+        if (!entry.tryLock()) {
+            contended.increment();
+            entry.lock();
+        }
+        return entry;
+    }
+
+    @Override
+    public UserLock tryLock(long id, long timeoutNanos) {
+        Entry entry = retain(id);
+        acquisitions.increment();
+        if (entry.tryLock()) {
+            return entry;
+        }
+        contended.increment();
+        try {
+            if (entry.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return entry;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        release(entry);  // 획득하지 못한 경우에도 참조 카운트는 돌려놓는다.
+        return null;
+    }
+
+    @Override
+    public UserLockStats stats() {
+        int size = 0;
+        for (Table table : tables) {
+            synchronized (table) {
+                size += table.size;
+            }
+        }
+        return new UserLockStats(UserLockMode.PER_USER, size, acquisitions.sum(), contended.sum());
+    }
+
+    private Entry retain(long id) {
+        // 참조 카운트는 테이블을 잠근 상태에서만 바꾸므로 같은 사용자에 대해 원자적으로 처리된다.
+        Table table = tables[(int) (hash(id) >>> 58)];
+        synchronized (table) {
+            Entry entry = table.get(id);
+            if (entry == null) {
+                entry = new Entry(id);
+                table.put(entry);
+            }
+            entry.references++;
+            return entry;
+        }
+    }
+
+    private void release(Entry entry) {
+        Table table = tables[(int) (hash(entry.id) >>> 58)];
+        synchronized (table) {
+            if (--entry.references == 0) {
+                table.remove(entry.id);
+            }
+        }
+    }
+
+    private static long hash(long id) {
+        return id * 0x9E3779B97F4A7C15L;  // 상위 6bit 는 테이블, 하위 bit 는 테이블 안의 위치
+    }
+
+    private class Entry extends ReentrantLock implements UserLock {
+
+        private final long id;
+        private int references;  // 테이블 락으로 보호
+
+        private Entry(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            release(this);
+        }
+    }
+
+    /**
+     * 사용자 ID → 락 (linear probing). 호출자가 이 객체로 동기화한다.
+     * - 제거할 때는 뒤의 항목을 당겨 빈칸을 메우므로(backward shift) 삭제 표시가 남지 않는다.
+     * - 크기는 줄이지 않는다. 가장 많이 몰렸을 때의 동시 사용자 수만큼만 커진다.
+     */
+    private static final class Table {
+
+        private long[] keys = new long[16];
+        private Entry[] values = new Entry[16];
+        private int size;
+
+        private Entry get(long id) {
+            int mask = keys.length - 1;
+            for (int i = slot(id, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == id) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 없는 사용자만 넣는다.
+         */
+        private void put(Entry entry) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            insert(entry.id, entry);
+            size++;
+        }
+
+        private void remove(long id) {
+            int mask = keys.length - 1;
+            int gap = slot(id, mask);
+            while (values[gap] != null && keys[gap] != id) {
+                gap = (gap + 1) & mask;
+            }
+            if (values[gap] == null) {
+                return;
+            }
+            for (int i = (gap + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+                int home = slot(keys[i], mask);
+                if (((i - home) & mask) >= ((i - gap) & mask)) {  // 빈칸이 원래 자리와 현재 자리 사이에 있으면 당긴다.
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            values[gap] = null;
+            size--;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Entry[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Entry[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void insert(long id, Entry entry) {
+            int mask = keys.length - 1;
+            int i = slot(id, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = id;
+            values[i] = entry;
+        }
+
+        private static int slot(long id, int mask) {
+            long hash = hash(id);
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
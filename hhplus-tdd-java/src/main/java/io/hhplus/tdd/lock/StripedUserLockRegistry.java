@@ -0,0 +1,75 @@
+package io.hhplus.tdd.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정된 개수의 락을 사용자 ID 해시로 나누어 사용한다. (lock striping)
+ * - 사용자 수와 관계없이 메모리가 고정되고, 락을 찾을 때 객체 생성이나 boxing 이 없다.
+ * - 서로 다른 사용자가 같은 락을 공유할 수 있으므로 stripes 는 동시 사용자 수보다 충분히 크게 잡는다.
+ */
+public class StripedUserLockRegistry implements UserLockRegistry {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    public StripedUserLockRegistry(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;  // 2의 거듭제곱으로 올림
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public UserLock lock(long id) {
+        Stripe stripe = stripes[indexOf(id)];
+        acquisitions.increment();
+        if (!stripe.tryLock()) {
+            contended.increment();
+            stripe.lock();
+        }
+        return stripe;
+    }
+
+    @Override
+    public UserLock tryLock(long id, long timeoutNanos) {
+        Stripe stripe = stripes[indexOf(id)];
+        acquisitions.increment();
+        if (stripe.tryLock()) {
+            return stripe;
+        }
+        contended.increment();
+        try {
+            return stripe.tryLock(timeoutNanos, TimeUnit.NANOSECONDS) ? stripe : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 서로 다른 사용자가 같은 락을 쓸 수 있으므로 사용자 ID 가 아니라 락 위치 순서로 잡는다.
+     */
+    @Override
+    public long lockOrder(long id) {
+        return indexOf(id);
+    }
+
+    @Override
+    public UserLockStats stats() {
+        return new UserLockStats(UserLockMode.STRIPED, stripes.length, acquisitions.sum(), contended.sum());
+    }
+
+    int indexOf(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;  // 연속된 ID 가 인접한 락에 몰리지 않도록 섞는다.
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static class Stripe extends ReentrantLock implements UserLock {
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * UserLockRegistry 에서 획득한 사용자 락
+ * - 획득한 스레드가 finally 블록에서 unlock 해야 한다.
+ */
+public interface UserLock {
+
+    void unlock();
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.lock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserLockConfig {
+
+    @Bean
+    public UserLockRegistry userLockRegistry(UserLockProperties properties) {
+        return UserLockRegistry.create(properties);
+    }
+}
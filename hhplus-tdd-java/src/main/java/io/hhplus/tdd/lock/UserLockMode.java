@@ -0,0 +1,10 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 사용자 락 관리 방식
+ * - STRIPED : 고정된 개수의 락을 사용자 ID 해시로 나누어 사용 (메모리 고정, 다른 사용자와 락을 공유할 수 있음)
+ * - PER_USER : 사용자별 락을 만들고, 사용하는 스레드가 없어지면 제거 (사용자 간 간섭 없음)
+ */
+public enum UserLockMode {
+    STRIPED, PER_USER
+}
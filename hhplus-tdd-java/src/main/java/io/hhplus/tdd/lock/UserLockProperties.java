@@ -0,0 +1,16 @@
+package io.hhplus.tdd.lock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자 락 설정
+ * - mode : 락 관리 방식 (STRIPED / PER_USER)
+ * - stripes : STRIPED 모드의 락 개수 (2의 거듭제곱으로 올림)
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record UserLockProperties(
+        @DefaultValue("PER_USER") UserLockMode mode,
+        @DefaultValue("1024") int stripes
+) {
+}
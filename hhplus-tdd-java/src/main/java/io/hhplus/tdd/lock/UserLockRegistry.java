@@ -0,0 +1,36 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 사용자 ID별 락 저장소
+ * - 같은 사용자에 대한 요청은 항상 같은 락으로 직렬화된다.
+ */
+public interface UserLockRegistry {
+
+    /**
+     * 사용자 락을 획득할 때까지 기다린다.
+     */
+    UserLock lock(long id);
+
+    /**
+     * 최대 timeoutNanos 동안 사용자 락 획득을 기다린다.
+     * 시간 안에 획득하지 못했거나 기다리는 중 인터럽트되면 null 을 돌려준다. (인터럽트 상태는 유지)
+     */
+    UserLock tryLock(long id, long timeoutNanos);
+
+    /**
+     * 두 사용자의 락을 함께 잡을 때의 획득 순서. 모든 요청이 작은 값부터 잡으면 서로 기다리며 멈추지 않는다.
+     * 같은 값이면 같은 락이다.
+     */
+    default long lockOrder(long id) {
+        return id;
+    }
+
+    UserLockStats stats();
+
+    static UserLockRegistry create(UserLockProperties properties) {
+        return switch (properties.mode()) {
+            case STRIPED -> new StripedUserLockRegistry(properties.stripes());
+            case PER_USER -> new PerUserLockRegistry();
+        };
+    }
+}
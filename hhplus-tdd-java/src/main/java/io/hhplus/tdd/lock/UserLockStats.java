@@ -0,0 +1,15 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 사용자 락 통계
+ * - size : 현재 보관 중인 락 개수
+ * - acquisitions : 락 획득 횟수
+ * - contended : 다른 스레드가 잡고 있어 대기한 횟수
+ */
+public record UserLockStats(
+        UserLockMode mode,
+        int size,
+        long acquisitions,
+        long contended
+) {
+}
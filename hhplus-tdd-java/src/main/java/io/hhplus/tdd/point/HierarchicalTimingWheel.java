@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계층형 타이밍 휠
+ * - 0단계는 bucket 하나가 tick 하나이고, 한 단계 올라갈 때마다 bucket 하나가 아래 단계 한 바퀴(wheelSize tick)를 덮는다.
+ * - 추가는 마감까지 남은 tick 수로 단계와 bucket 을 바로 정하므로 O(1) 이다.
+ * - advance 는 지나간 tick 의 0단계 bucket 만 꺼낸다. 위 단계 bucket 은 그 구간이 시작될 때 아래 단계로 다시 나눈다. (cascade)
+ * - 따라서 비용은 지나간 tick 수와 꺼낸 항목 수에 비례하고, 휠에 들어 있는 전체 항목 수와는 관계없다.
+ * - 마감 시각보다 일찍 꺼내지 않는다. (늦어도 tick 하나 이내)
+ * - 추가와 advance 는 내부 락으로 직렬화한다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;       // 한 단계의 bucket 수 = 2^bits
+    private final int mask;
+    private final int maxLevels;  // 마감까지 남은 tick 수가 2^(bits * maxLevels) 미만이어야 한다.
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();  // 위 단계는 필요할 때 만든다.
+    private final List<Entry<T>> overdue = new ArrayList<>();         // 이미 마감이 지난 항목 (다음 advance 에서 꺼낸다)
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(2, wheelSize) - 1));  // 2의 거듭제곱으로 올림
+        this.mask = (1 << bits) - 1;
+        this.maxLevels = (Long.SIZE - 1) / bits;
+        this.currentTick = startMillis / this.tickMillis;
+        levels.add(newLevel());
+    }
+
+    /**
+     * deadlineMillis 이후의 advance 에서 꺼내지도록 item 을 넣는다.
+     */
+    public void add(long deadlineMillis, T item) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);  // 올림 : 마감 전에 꺼내지 않는다.
+        lock.lock();
+        try {
+            place(new Entry<>(deadlineTick, item));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * nowMillis 까지 시계를 돌리고, 마감이 지난 항목을 tick 순서대로 꺼낸다.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            drainOverdue(expired);
+            while (currentTick < targetTick) {
+                currentTick++;
+                // 위 단계부터 이번 tick 에 시작하는 구간의 bucket 을 아래로 나눈다.
+                for (int level = levels.size() - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                        cascade(level);
+                    }
+                }
+                List<Entry<T>> bucket = take(0, (int) (currentTick & mask));
+                if (bucket != null) {
+                    bucket.forEach(entry -> expired.add(entry.item()));
+                }
+                drainOverdue(expired);
+            }
+            size -= expired.size();
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+
+        int level = 0;
+        while (level < maxLevels - 1 && (delta >>> (bits * (level + 1))) != 0) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            levels.add(newLevel());
+        }
+        int index = (int) ((entry.deadlineTick() >>> (bits * level)) & mask);
+        List<Entry<T>>[] buckets = levels.get(level);
+        if (buckets[index] == null) {
+            buckets[index] = new ArrayList<>();
+        }
+        buckets[index].add(entry);
+    }
+
+    private void cascade(int level) {
+        List<Entry<T>> bucket = take(level, (int) ((currentTick >>> (bits * level)) & mask));
+        if (bucket != null) {
+            bucket.forEach(this::place);
+        }
+    }
+
+    private List<Entry<T>> take(int level, int index) {
+        List<Entry<T>>[] buckets = levels.get(level);
+        List<Entry<T>> bucket = buckets[index];
+        buckets[index] = null;
+        return bucket;
+    }
+
+    private void drainOverdue(List<T> expired) {
+        overdue.forEach(entry -> expired.add(entry.item()));
+        overdue.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry<T>>[] newLevel() {
+        return new List[mask + 1];
+    }
+
+    private record Entry<T>(
+            long deadlineTick,
+            T item
+    ) {
+    }
+}
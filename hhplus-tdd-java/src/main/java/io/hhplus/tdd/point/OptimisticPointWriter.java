@@ -0,0 +1,167 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.VersionedUserPointStore.PendingWrite;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 락 없이 충전/사용을 반영한다. (OPTIMISTIC 모드)
+ * - 잔액을 읽어 새 잔액을 계산한 뒤, 읽은 버전이 그대로일 때만 compare-and-set 으로 반영한다.
+ * - 다른 요청이 먼저 반영해 충돌하면 잠시 기다렸다가(지수 backoff) 다시 읽어서 재시도한다.
+ * - 반영된 쓰기는 사용자별 저장 대기열에 버전 순서로 쌓이고, 대기열을 비우는 스레드 하나가 테이블 저장과 이력 추가를 한다.
+ *   한 번에 꺼낸 쓰기는 잔액을 마지막 값으로 한 번만 저장하고, 이력은 반영 순서대로 추가한다.
+ *   나머지 쓰기는 자기 결과가 채워질 때까지 future 를 기다린다.
+ * - 저장에 실패하면 이력까지 추가된 앞 쓰기의 잔액으로 테이블을 되돌리고, 실패한 쓰기와 그 뒤에 쌓인 쓰기는 잔액을 되돌린 뒤 실패시킨다.
+ *   따라서 실패를 받은 요청의 금액은 저장소, 테이블, 이력 어디에도 남지 않아 재시도해도 두 번 반영되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticPointWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticPointWriter.class);
+    private static final String OPERATION_OPTIMISTIC = "optimistic";  // 지표 operation 태그
+
+    private final UserPointRepository userPointRepository;
+    private final VersionedUserPointStore versionedUserPointStore;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointWriteProperties pointWriteProperties;
+    private final PointMetrics pointMetrics;
+
+    public UserPoint read(long id) {
+        VersionedUserPoint current = versionedUserPointStore.peek(id, this::selectUserPoint);
+        return current == null ? null : current.userPoint();
+    }
+
+    public UserPoint apply(long id, TransactionType type, long amount) {
+        int maxRetries = pointWriteProperties.optimistic().maxRetries();
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            VersionedUserPoint current = versionedUserPointStore.read(id, this::selectUserPoint);
+            long prevPoint = current == null ? 0 : current.userPoint().point();
+
+            if (type == TransactionType.USE) {
+                if (current == null) {
+                    throw new CustomException(ErrorCode.USER_NOT_FOUND);
+                }
+                if (prevPoint < amount) {
+                    throw new CustomException(ErrorCode.POINT_INSUFFICIENT);
+                }
+            }
+
+            long nextPoint = type == TransactionType.USE ? prevPoint - amount : prevPoint + amount;
+            VersionedUserPoint next = new VersionedUserPoint(
+                    new UserPoint(id, nextPoint, System.currentTimeMillis()),
+                    current == null ? 1 : current.version() + 1
+            );
+
+            PendingWrite write = new PendingWrite(next, type, amount, new CompletableFuture<>());
+            switch (versionedUserPointStore.compareAndAppend(id, current, write)) {
+                case DRAIN -> {
+                    drain(id);
+                    return PointFutures.await(write.result());
+                }
+                case QUEUED -> {
+                    return PointFutures.await(write.result());
+                }
+                case CONFLICT -> {
+                    pointMetrics.conflict(OPERATION_OPTIMISTIC);
+                    backoff(attempt);
+                }
+            }
+        }
+        throw new CustomException(ErrorCode.CONCURRENT_UPDATE_CONFLICT);
+    }
+
+    /**
+     * 저장 대기열이 빌 때까지 꺼내서 저장한다. (사용자별로 한 스레드만 실행)
+     */
+    private void drain(long id) {
+        List<PendingWrite> batch = versionedUserPointStore.takePending(id);
+        while (!batch.isEmpty()) {
+            persist(id, batch);
+            batch = versionedUserPointStore.takePending(id);
+        }
+    }
+
+    /**
+     * 잔액을 배치의 마지막 값으로 저장하고 이력을 반영 순서대로 추가한다.
+     */
+    private void persist(long id, List<PendingWrite> batch) {
+        boolean saved = false;
+        int appended = 0;  // 이력까지 추가된 쓰기 수
+        try {
+            saveUserPoint(id, batch.get(batch.size() - 1).next().userPoint().point());
+            saved = true;
+            for (PendingWrite write : batch) {
+                pointHistoryOutbox.append(id, write.amount(), write.type(), write.next().userPoint().updateMillis());
+                appended++;
+            }
+        } catch (RuntimeException e) {
+            fail(id, batch, saved, appended, e);
+            return;
+        }
+        versionedUserPointStore.persisted(id, batch.get(batch.size() - 1).next());
+        batch.forEach(write -> write.result().complete(write.next().userPoint()));
+    }
+
+    /**
+     * 이력까지 추가된 앞 쓰기만 성공으로 남긴다.
+     * 테이블은 그 쓰기의 잔액으로, 저장소는 마지막으로 저장된 잔액으로 되돌린 뒤 나머지 쓰기와 그 뒤에 쌓인 쓰기를 실패시킨다.
+     */
+    private void fail(long id, List<PendingWrite> batch, boolean saved, int appended, RuntimeException cause) {
+        VersionedUserPoint kept = appended == 0 ? versionedUserPointStore.durable(id) : batch.get(appended - 1).next();
+        boolean tableInSync = true;
+        if (saved) {
+            try {
+                saveUserPoint(id, kept == null ? 0 : kept.userPoint().point());
+            } catch (RuntimeException e) {
+                // 저장소가 기준이므로 잔액은 맞다. 테이블은 다음 저장이 성공할 때 맞춰진다.
+                tableInSync = false;
+                log.error("optimistic write compensation failed : userId={}", id, e);
+            }
+        }
+        if (appended > 0) {
+            versionedUserPointStore.persisted(id, kept);
+        }
+        List<PendingWrite> doomed = versionedUserPointStore.rollback(id, tableInSync);
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            if (i < appended) {
+                write.result().complete(write.next().userPoint());
+            } else {
+                write.result().completeExceptionally(cause);
+            }
+        }
+        doomed.forEach(write -> write.result().completeExceptionally(cause));
+    }
+
+    private void backoff(int attempt) {
+        long maxMicros = pointWriteProperties.optimistic().backoffMicros() << Math.min(attempt, 10);
+        long jitterMicros = ThreadLocalRandom.current().nextLong(maxMicros + 1);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(jitterMicros));
+    }
+
+    private UserPoint selectUserPoint(long id) {
+        long start = pointMetrics.start();
+        UserPoint userPoint = userPointRepository.selectById(id);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "select", start);
+        return userPoint;
+    }
+
+    private void saveUserPoint(long id, long point) {
+        long start = pointMetrics.start();
+        userPointRepository.insertOrUpdate(id, point);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "insertOrUpdate", start);
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 사용자에게 요청이 몰려도 다른 사용자의 요청까지 밀리지 않도록, 사용자별로 받아들일 요청 수를 제한한다.
+ * - enter/exit : 사용자별 처리 중 + 대기 중 요청 수를 세고, maxQueueDepth 를 넘는 요청은 기다리지 않고 거절한다.
+ * - lock : 사용자 락을 maxLockWait 까지만 기다리고, 넘으면 거절한다.
+ * - 요청이 끝난 사용자는 목록에서 제거되므로 보관하는 사용자 수는 동시에 처리 중인 사용자 수를 넘지 않는다.
+ */
+@Component
+public class PointAdmission {
+
+    private final boolean enabled;
+    private final int maxQueueDepth;
+    private final long maxLockWaitNanos;
+    private final ConcurrentHashMap<Long, Integer> depthMap = new ConcurrentHashMap<>();  // 사용자 ID별 처리 중 요청 수
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PointAdmission(PointAdmissionProperties properties) {
+        this.enabled = properties.enabled();
+        this.maxQueueDepth = properties.maxQueueDepth();
+        this.maxLockWaitNanos = properties.maxLockWait().toNanos();
+    }
+
+    /**
+     * 요청을 받아들인다. 이미 maxQueueDepth 만큼 처리 중인 사용자라면 USER_REQUEST_OVERLOADED 로 거절한다.
+     * 받아들인 요청은 finally 블록에서 exit 해야 한다.
+     */
+    public void enter(long id) {
+        if (!enabled) {
+            return;
+        }
+        int[] depth = new int[1];
+        // 한도 확인과 증가를 같은 사용자에 대해 원자적으로 처리한다. 거절 시에는 값을 바꾸지 않는다.
+        depthMap.compute(id, (key, count) -> {
+            depth[0] = count == null ? 1 : count + 1;
+            return depth[0] > maxQueueDepth ? count : depth[0];
+        });
+        if (depth[0] > maxQueueDepth) {
+            throw new CustomException(ErrorCode.USER_REQUEST_OVERLOADED);
+        }
+        inFlight.incrementAndGet();
+    }
+
+    public void exit(long id) {
+        if (!enabled) {
+            return;
+        }
+        depthMap.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 사용자 락을 maxLockWait 까지 기다려 획득한다. 넘으면 LOCK_WAIT_TIMEOUT 으로 거절한다.
+     */
+    public UserLock lock(UserLockRegistry userLockRegistry, long id) {
+        if (!enabled) {
+            return userLockRegistry.lock(id);
+        }
+        UserLock lock = userLockRegistry.tryLock(id, maxLockWaitNanos);
+        if (lock == null) {
+            throw new CustomException(ErrorCode.LOCK_WAIT_TIMEOUT);
+        }
+        return lock;
+    }
+
+    /**
+     * 백그라운드 작업용. 한도 적용 여부와 관계없이 사용자 락을 maxLockWait 까지만 기다리고, 넘으면 null 을 돌려준다.
+     */
+    public UserLock tryLock(UserLockRegistry userLockRegistry, long id) {
+        return userLockRegistry.tryLock(id, maxLockWaitNanos);
+    }
+
+    /**
+     * 처리 중인 요청이 있는 사용자 수
+     */
+    public int activeUsers() {
+        return depthMap.size();
+    }
+
+    /**
+     * 받아들여 처리 중인 요청 수 (모든 사용자 합계)
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
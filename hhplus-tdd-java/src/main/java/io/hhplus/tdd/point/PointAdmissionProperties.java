@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 요청 수용 한도 설정
+ * - enabled : 한도 적용 여부 (끄면 락을 얻을 때까지 기다린다)
+ * - maxQueueDepth : 한 사용자에 대해 동시에 처리 중이거나 대기 중인 충전/사용 요청 최대 수
+ * - maxLockWait : LOCK 모드에서 사용자 락 획득을 기다리는 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.admission")
+public record PointAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32") int maxQueueDepth,
+        @DefaultValue("10s") Duration maxLockWait
+) {
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 포인트 비동기 API
+ * - CompletableFuture 를 돌려주면 요청 스레드는 바로 반납되고, 결과가 준비되면 응답한다. (Servlet async)
+ * - 실패 응답은 동기 API 와 같다. (ApiControllerAdvice)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/async/point")
+public class PointAsyncController {
+
+    private final PointAsyncService pointAsyncService;
+
+    /**
+     * 포인트 조회
+     */
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointAsyncService.getPointByUser(id);
+    }
+
+    /**
+     * 포인트 히스토리(충전/이용 내역) 조회
+     */
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id
+    ) {
+        return pointAsyncService.getPointHistoriesByUser(id);
+    }
+
+    /**
+     * 포인트 충전
+     */
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.chargePoints(id, amount);
+    }
+
+    /**
+     * 포인트 사용
+     */
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.usePoints(id, amount);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 비동기 API 설정
+ * - maxQueueDepth : 한 사용자에 대해 차례를 기다릴 수 있는 최대 작업 수
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record PointAsyncProperties(
+        @DefaultValue("1000") int maxQueueDepth
+) {
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * PointService 의 비동기 버전
+ * - 요청은 사용자별 serial executor 에 넣고 바로 돌아가며, 결과는 CompletableFuture 로 받는다.
+ * - 같은 사용자의 요청은 들어온 순서대로 하나씩 실행되므로, 비동기 요청끼리는 사용자 락을 두고 기다리지 않는다.
+ *   (실행 시 PointService 를 그대로 호출하므로 동기 API 로 들어온 같은 사용자의 요청과도 사용자 락으로 직렬화된다)
+ * - 조회도 같은 순서로 실행되므로 앞서 보낸 충전/사용이 반영된 결과를 돌려준다.
+ * - 실패 시 future 는 PointService 가 던진 CustomException 으로 완료된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PointAsyncService {
+
+    private final PointService pointService;
+    private final PointSerialExecutor pointSerialExecutor;
+
+    public CompletableFuture<UserPoint> chargePoints(long id, long chargeAmount) {
+        return pointSerialExecutor.submit(id, () -> pointService.chargePoints(id, chargeAmount));
+    }
+
+    public CompletableFuture<UserPoint> usePoints(long id, long useAmount) {
+        return pointSerialExecutor.submit(id, () -> pointService.usePoints(id, useAmount));
+    }
+
+    public CompletableFuture<UserPoint> getPointByUser(long id) {
+        return pointSerialExecutor.submit(id, () -> pointService.getPointByUser(id));
+    }
+
+    public CompletableFuture<List<PointHistory>> getPointHistoriesByUser(long id) {
+        return pointSerialExecutor.submit(id, () -> pointService.getPointHistoriesByUser(id));
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 여러 사용자의 충전/사용 요청 일괄 처리
+ * - 서로 다른 사용자의 요청은 병렬로 처리한다.
+ * - 같은 사용자의 요청은 PointService.applyAll 로 요청 순서대로 반영한다. (요청 수용 한도, 락 대기 한도, 집계는 단건과 같다)
+ * - 항목별 결과(성공 시 잔액, 실패 시 ErrorCode)를 요청 순서대로 돌려준다. 한 항목이 실패해도 나머지 결과는 그대로 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointBatchProcessor {
+
+    private static final String OPERATION_BATCH = "batch";  // 지표 operation 태그
+
+    private final PointService pointService;
+    private final PointMetrics pointMetrics;
+    private final PointBatchProperties pointBatchProperties;
+    private final ExecutorService pointBatchExecutor;  // 사용자별 처리를 병렬로 실행
+
+    public List<PointCommandResult> process(List<PointCommand> commands) {
+        if (commands.size() > pointBatchProperties.maxSize()) {
+            throw new CustomException(ErrorCode.BATCH_SIZE_EXCEEDED);
+        }
+
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+
+        // 검증에 실패한 항목은 바로 실패 처리하고, 나머지는 사용자별로 요청 순서를 유지하며 모은다.
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            try {
+                validate(command);
+                indexesByUser.computeIfAbsent(command.userId(), key -> new ArrayList<>()).add(i);
+            } catch (CustomException e) {
+                results[i] = reject(command, e.getErrorCode());
+            }
+        }
+
+        List<CompletableFuture<Void>> userBatches = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> userBatches.add(CompletableFuture.runAsync(
+                () -> processUser(userId, indexes, commands, results),
+                pointBatchExecutor
+        )));
+        CompletableFuture.allOf(userBatches.toArray(CompletableFuture[]::new)).join();
+
+        return List.of(results);
+    }
+
+    /**
+     * 한 사용자의 요청을 PointService 로 요청 순서대로 반영하고 결과를 results 의 해당 위치에 채운다.
+     */
+    private void processUser(long userId, List<Integer> indexes, List<PointCommand> commands, PointCommandResult[] results) {
+        List<PointCommandResult> userResults = pointService.applyAll(userId, indexes.stream().map(commands::get).toList());
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = userResults.get(i);
+        }
+    }
+
+    private static void validate(PointCommand command) {
+        if (command.type() == TransactionType.CHARGE) {
+            PointService.chargeValidations(command.userId(), command.amount());
+        } else if (command.type() == TransactionType.USE) {
+            PointService.usePointsValidations(command.userId(), command.amount());
+        } else {
+            throw new CustomException(ErrorCode.INVALID_TRANSACTION_TYPE);
+        }
+    }
+
+    private PointCommandResult reject(PointCommand command, ErrorCode errorCode) {
+        pointMetrics.rejected(OPERATION_BATCH, errorCode);
+        return PointCommandResult.failure(command, errorCode);
+    }
+}
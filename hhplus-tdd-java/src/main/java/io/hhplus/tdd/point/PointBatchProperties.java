@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 일괄 처리 설정
+ * - parallelism : 서로 다른 사용자의 요청을 동시에 처리할 스레드 수 (가상 스레드 모드에서는 사용하지 않음)
+ * - maxSize : 한 번에 받을 수 있는 요청 항목 수
+ */
+@ConfigurationProperties(prefix = "point.batch")
+public record PointBatchProperties(
+        @DefaultValue("16") int parallelism,
+        @DefaultValue("10000") int maxSize
+) {
+}
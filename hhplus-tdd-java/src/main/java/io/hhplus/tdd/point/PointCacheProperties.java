@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 캐시 설정
+ * - enabled : 잔액 저장소(UserPointRepository) 앞단의 write-through 캐시 사용 여부
+ * - maxSize : 캐시에 보관할 최대 사용자 수 (초과 시 가장 오래 사용되지 않은 사용자부터 제거)
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record PointCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxSize
+) {
+}
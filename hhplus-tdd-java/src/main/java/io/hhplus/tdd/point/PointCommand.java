@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청 항목
+ * - type : CHARGE(충전) / USE(사용)
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,227 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 같은 사용자에게 몰린 충전/사용 요청을 한 번에 묶어서 처리한다. (group commit)
+ * - 요청은 사용자별 큐에 먼저 쌓이고, 락을 잡은 스레드가 큐에 쌓인 요청을 모두 꺼내 처리한다.
+ * - 요청은 들어온 순서대로 하나씩 검증하므로 잔액 부족 거절은 단건 처리와 동일하다.
+ * - 조회 1회, 잔액 저장 1회, 이력 추가는 성공한 요청 수만큼 수행한다.
+ * - 이미 다른 스레드가 처리한 요청은 락을 잡자마자 결과만 받아서 돌아간다.
+ * - 조회용 스냅샷은 배치의 마지막 잔액으로 한 번만 게시한다.
+ * - 락은 point.admission.max-lock-wait 까지만 기다린다. 넘으면 아직 아무도 꺼내지 않은 요청은 큐에서 빼고 LOCK_WAIT_TIMEOUT 으로 거절한다.
+ * - 잔액을 저장한 뒤 이력 추가가 실패하면, 이력까지 추가된 앞 요청까지만 반영한 잔액으로 되돌려 저장하고 나머지 요청만 실패 처리한다.
+ *   실패한 요청의 금액은 잔액에 남지 않으므로 재시도해도 두 번 반영되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointCommandCombiner {
+
+    private static final String OPERATION_GROUP_COMMIT = "group_commit";  // 지표 operation 태그
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final UserPointCache userPointCache;
+    private final UserLockRegistry userLockRegistry;
+    private final PointMetrics pointMetrics;
+    private final UserPointSnapshots userPointSnapshots;
+    private final PointLotLedger pointLotLedger;
+    private final PointAdmission pointAdmission;  // 락 대기 한도
+    private final ConcurrentHashMap<Long, Queue<PendingCommand>> queueMap = new ConcurrentHashMap<>();  // 사용자 ID별 대기 요청 (처리 시 큐째로 꺼낸다)
+
+    /**
+     * 요청을 큐에 넣고, 처리될 때까지 기다린 뒤 결과를 돌려준다.
+     * 처리에 실패한 경우 해당 요청의 CustomException 을 그대로 던진다.
+     */
+    public UserPoint submit(long id, TransactionType type, long amount) {
+        return PointFutures.await(submitAll(id, List.of(new PointCommand(id, type, amount))).get(0));
+    }
+
+    /**
+     * 같은 사용자의 요청 여러 건을 순서대로 큐에 넣고 처리한 뒤, 요청 순서대로 결과를 돌려준다.
+     * 돌려받은 결과는 모두 완료된 상태다.
+     */
+    public List<CompletableFuture<UserPoint>> submitAll(long id, List<PointCommand> commands) {
+        List<PendingCommand> pending = enqueue(id, commands);
+        long waitStart = pointMetrics.start();
+        UserLock lock;
+        try {
+            lock = pointAdmission.lock(userLockRegistry, id);
+        } catch (CustomException e) {
+            withdraw(id, pending, e);
+            return pending.stream().map(PendingCommand::result).toList();
+        }
+        long holdStart = pointMetrics.lockAcquired(OPERATION_GROUP_COMMIT, waitStart);
+        try {
+            // 한 번에 큐에 넣었으므로 마지막 요청이 처리됐다면 나머지도 모두 처리된 상태다.
+            if (!pending.get(pending.size() - 1).result().isDone()) {
+                combine(id);
+            }
+        } finally {
+            lock.unlock();
+            pointMetrics.lockReleased(OPERATION_GROUP_COMMIT, holdStart);
+        }
+        return pending.stream().map(PendingCommand::result).toList();
+    }
+
+    /**
+     * 락을 기다리다 거절된 요청을 큐에서 뺀다.
+     * 이미 다른 스레드가 큐째로 꺼내 처리 중이면 빼지 않고, 그 스레드가 채울 결과를 그대로 돌려받는다.
+     */
+    private void withdraw(long id, List<PendingCommand> pending, CustomException e) {
+        boolean[] withdrawn = new boolean[1];
+        queueMap.computeIfPresent(id, (key, queue) -> {
+            withdrawn[0] = queue.removeAll(pending);
+            return queue.isEmpty() ? null : queue;
+        });
+        if (withdrawn[0]) {
+            pending.forEach(command -> command.result().completeExceptionally(e));
+        }
+    }
+
+    private List<PendingCommand> enqueue(long id, List<PointCommand> commands) {
+        List<PendingCommand> pending = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            pending.add(new PendingCommand(command.type(), command.amount(), new CompletableFuture<>()));
+        }
+        // 큐에 넣는 작업과 큐를 꺼내는 작업이 같은 사용자에 대해 원자적으로 처리되도록 compute 안에서 추가한다.
+        queueMap.compute(id, (key, queue) -> {
+            Queue<PendingCommand> queued = queue == null ? new ArrayDeque<>() : queue;
+            queued.addAll(pending);
+            return queued;
+        });
+        return pending;
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출된다. 큐에 쌓인 요청을 모두 꺼내 하나의 배치로 반영한다.
+     */
+    private void combine(long id) {
+        List<PendingCommand> batch = drain(id);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int appended = 0;  // 이력 추가까지 끝난 요청 수
+        try {
+            UserPoint userPoint = userPointCache.getOrLoad(id, this::selectUserPoint);
+            long balance = userPoint == null ? 0 : userPoint.point();
+            if (userPoint != null) {
+                userPointSnapshots.beginWrite(userPoint);  // 잔액을 바꾸기 전 값을 먼저 게시
+            }
+
+            List<PendingCommand> accepted = new ArrayList<>(batch.size());
+            List<Long> balances = new ArrayList<>(batch.size());
+            for (PendingCommand command : batch) {
+                if (command.type() == TransactionType.USE) {
+                    if (userPoint == null) {
+                        command.result().completeExceptionally(new CustomException(ErrorCode.USER_NOT_FOUND));
+                        continue;
+                    }
+                    if (balance < command.amount()) {
+                        command.result().completeExceptionally(new CustomException(ErrorCode.POINT_INSUFFICIENT));
+                        continue;
+                    }
+                    balance -= command.amount();
+                } else {
+                    balance += command.amount();
+                }
+                accepted.add(command);
+                balances.add(balance);
+            }
+
+            if (accepted.isEmpty()) {
+                userPointSnapshots.cancelWrite(id);
+                return;
+            }
+
+            UserPoint saved = saveUserPoint(id, balance);
+            userPointCache.put(saved);
+            try {
+                for (PendingCommand command : accepted) {
+                    pointHistoryOutbox.append(id, command.amount(), command.type(), System.currentTimeMillis());
+                    if (command.type() == TransactionType.USE) {
+                        pointLotLedger.consumed(id, command.amount(), balances.get(appended) + command.amount());
+                    } else {
+                        pointLotLedger.charged(id, command.amount(), saved.updateMillis());
+                    }
+                    appended++;
+                }
+                userPointSnapshots.publish(saved);  // 배치의 이력까지 모두 추가된 뒤에 조회에 보인다.
+            } catch (RuntimeException e) {
+                long kept = appended == 0 ? (userPoint == null ? 0 : userPoint.point()) : balances.get(appended - 1);
+                saved = compensate(id, kept, saved, e);
+                if (appended > 0) {
+                    userPointSnapshots.publish(saved);
+                }
+                throw e;
+            } finally {
+                // 이력까지 추가된 요청은 뒤 요청이 실패해도 성공으로 돌려준다.
+                for (int i = 0; i < appended; i++) {
+                    accepted.get(i).result().complete(new UserPoint(id, balances.get(i), saved.updateMillis()));
+                }
+            }
+        } catch (RuntimeException e) {
+            // 실패 지점부터 아직 결과를 받지 못한 요청만 실패 처리한다. (이미 완료된 요청에는 영향이 없다)
+            userPointSnapshots.cancelWrite(id);
+            batch.forEach(command -> command.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 이력 추가가 실패했을 때, 이력까지 추가된 요청만 반영한 잔액(kept)으로 다시 저장하고 캐시도 그 값으로 바꾼다.
+     * 되돌리는 저장마저 실패하면 테이블과 캐시는 saved 로 남고, 그 예외는 cause 에 붙인다.
+     */
+    private UserPoint compensate(long id, long kept, UserPoint saved, RuntimeException cause) {
+        try {
+            UserPoint restored = saveUserPoint(id, kept);
+            userPointCache.put(restored);
+            return restored;
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+            return saved;
+        }
+    }
+
+    /**
+     * 대기 중인 큐를 통째로 꺼낸다. 처리할 요청이 없는 사용자의 큐는 남지 않는다.
+     */
+    private List<PendingCommand> drain(long id) {
+        Queue<PendingCommand> queue = queueMap.remove(id);
+        return queue == null ? List.of() : new ArrayList<>(queue);
+    }
+
+    private UserPoint selectUserPoint(long id) {
+        long start = pointMetrics.start();
+        UserPoint userPoint = userPointRepository.selectById(id);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "select", start);
+        return userPoint;
+    }
+
+    private UserPoint saveUserPoint(long id, long amount) {
+        long start = pointMetrics.start();
+        UserPoint userPoint = userPointRepository.insertOrUpdate(id, amount);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "insertOrUpdate", start);
+        return userPoint;
+    }
+
+    private record PendingCommand(
+            TransactionType type,
+            long amount,
+            CompletableFuture<UserPoint> result
+    ) {
+    }
+}
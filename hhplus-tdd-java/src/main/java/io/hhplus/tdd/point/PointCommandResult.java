@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 처리 결과 항목. 요청 항목과 같은 순서로 응답한다.
+ * - 성공 시 userPoint 에 반영 직후 잔액, 실패 시 error 에 ErrorCode 가 담긴다. (예상하지 못한 오류는 500 응답과 같은 코드)
+ */
+public record PointCommandResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    public static PointCommandResult success(PointCommand command, UserPoint userPoint) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), userPoint, null);
+    }
+
+    public static PointCommandResult failure(PointCommand command, ErrorCode errorCode) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), null, ErrorResponse.error(errorCode));
+    }
+
+    public static PointCommandResult internalError(PointCommand command) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), null, ErrorResponse.internalError());
+    }
+}
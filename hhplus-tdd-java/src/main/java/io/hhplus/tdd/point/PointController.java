@@ -1,11 +1,20 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.hhplus.tdd.database.PointHistoryQuery;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,47 +22,168 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String DEFAULT_HISTORY_PAGE_SIZE = "100";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private final PointService pointService;
+    private final PointBatchProcessor pointBatchProcessor;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final ObjectMapper objectMapper;
 
     /**
      * 포인트 조회
+     * - 응답에 ETag 를 붙이고, If-None-Match 가 현재 버전과 같으면 본문 없이 304 로 응답한다.
      */
     @GetMapping("{id}")
     public UserPoint point(
-            @PathVariable long id
+            @PathVariable long id,
+            WebRequest request
     ) {
-        return pointService.getPointByUser(id);
+        VersionedUserPoint current = pointService.getVersionedPointByUser(id);
+        if (current == null) {
+            return pointService.getPointByUser(id);  // 버전을 제공하지 않는 모드
+        }
+        if (request.checkNotModified(etagOf(current))) {
+            return null;
+        }
+        return current.userPoint();
     }
 
     /**
      * 포인트 히스토리(충전/이용 내역) 조회
+     * - after : 이전 페이지의 마지막 이력 id (첫 페이지는 0)
+     * - limit : 페이지 크기
+     * - from / to : 조회 기간 (updateMillis, from 이상 to 미만, 생략 시 전체 기간)
+     * - type : 거래 종류 (생략 시 전체)
+     * 응답에 마지막 이력 id 와 조회 조건으로 만든 ETag 를 붙이고, If-None-Match 가 같으면 이력을 조회하지 않고 304 로 응답한다.
+     * 조회 조건은 ETag 를 비교하기 전에 검증하므로 잘못된 조건은 항상 400 으로 응답한다.
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            WebRequest request,
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = DEFAULT_HISTORY_PAGE_SIZE) int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        PointHistoryQuery query = new PointHistoryQuery(
+                after,
+                from == null ? 0L : from,
+                to == null ? Long.MAX_VALUE : to,
+                type,
+                limit
+        );
+        pointService.validatePointHistoryQuery(id, query);
+
+        // 마지막 이력 id 를 먼저 읽으므로, 그 사이 쓰기가 있었다면 본문이 ETag 보다 새롭고 다음 조회는 200 이 된다.
+        long lastHistoryId = pointService.getLastHistoryIdByUser(id);
+        if (request.checkNotModified(etagOf(lastHistoryId, query))) {
+            return null;
+        }
+        return pointService.getPointHistoriesByUser(id, query);
+    }
+
+    /**
+     * 포인트 요약 조회 (누적 / 최근 시간별 / 최근 일별 충전·사용 금액과 건수)
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.getPointHistoriesByUser(id);
+        return pointService.getPointSummary(id);
+    }
+
+    /**
+     * 포인트 히스토리 전체 스트리밍 조회 (NDJSON, 한 줄에 이력 하나)
+     * - 이력을 페이지 단위로 읽어 바로 내보내므로 이력 길이와 관계없이 첫 응답 시간과 메모리 사용량이 일정하다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody historyStream(
+            @PathVariable long id
+    ) {
+        Stream<List<PointHistory>> pages = pointService.streamPointHistoriesByUser(id);
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+        return out -> {
+            try (pages) {
+                Iterator<List<PointHistory>> iterator = pages.iterator();
+                while (iterator.hasNext()) {
+                    for (PointHistory pointHistory : iterator.next()) {
+                        out.write(writer.writeValueAsBytes(pointHistory));
+                        out.write('\n');
+                    }
+                    out.flush();  // 페이지마다 내보낸다.
+                }
+            }
+        };
     }
 
     /**
      * 포인트 충전
+     * - Idempotency-Key : 같은 키로 재시도하면 다시 충전하지 않고 처음 처리한 결과를 돌려준다. (선택)
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.chargePoints(id, amount);
+        return pointIdempotencyCache.execute(id, idempotencyKey, TransactionType.CHARGE, amount,
+                () -> pointService.chargePoints(id, amount));
     }
 
     /**
      * 포인트 사용
+     * - Idempotency-Key : 같은 키로 재시도하면 다시 사용하지 않고 처음 처리한 결과를 돌려준다. (선택)
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointIdempotencyCache.execute(id, idempotencyKey, TransactionType.USE, amount,
+                () -> pointService.usePoints(id, amount));
+    }
+
+    /**
+     * 포인트 이체 (id → toId)
+     * - 보낸 사용자와 받은 사용자의 잔액과 이력이 함께 반영된다.
+     */
+    @PatchMapping("{id}/transfer/{toId}")
+    public PointTransfer transfer(
+            @PathVariable long id,
+            @PathVariable long toId,
             @RequestBody long amount
     ) {
-        return pointService.usePoints(id, amount);
+        return pointService.transferPoints(id, toId, amount);
+    }
+
+    /**
+     * 포인트 일괄 충전/사용
+     * - 서로 다른 사용자의 요청은 병렬로, 같은 사용자의 요청은 순서대로 처리한다.
+     * - 항목별 처리 결과를 요청 순서대로 응답한다.
+     */
+    @PostMapping("batch")
+    public List<PointCommandResult> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return pointBatchProcessor.process(commands);
+    }
+
+    /**
+     * 마지막 반영 시각과 스냅샷 버전으로 만든 ETag. 버전은 재시작하면 0 부터 다시 세지만 반영 시각이 함께 들어가므로 겹치지 않는다.
+     */
+    private static String etagOf(VersionedUserPoint current) {
+        return "\"" + current.userPoint().updateMillis() + "-" + current.version() + "\"";
+    }
+
+    /**
+     * 마지막 이력 id 와 조회 조건의 해시로 만든 이력 ETag. 조건이 다른 페이지끼리는 이력이 같아도 ETag 가 다르다.
+     * (해시는 재시작/노드와 관계없이 같도록 거래 종류를 이름으로 넣는다)
+     */
+    private static String etagOf(long lastHistoryId, PointHistoryQuery query) {
+        int queryHash = Objects.hash(query.after(), query.from(), query.to(), query.type() == null ? null : query.type().name(), query.limit());
+        return "\"h" + lastHistoryId + "-" + Integer.toHexString(queryHash) + "\"";
     }
 }
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 포인트 작업용 스레드 풀
+ * - spring.threads.virtual.enabled=true 이면 요청마다 가상 스레드를 사용한다.
+ *   (테이블 지연/락 대기 동안 carrier 스레드를 점유하지 않으므로 동시 처리 수가 스레드 수에 묶이지 않는다)
+ * - 그 외에는 point.batch.parallelism 크기의 고정 스레드 풀을 사용한다.
+ * 비동기 API 는 모드와 관계없이 사용자별로 순서대로 실행하고, 큐를 비우는 작업마다 가상 스레드를 사용한다.
+ * (테이블 지연/락 대기 동안 carrier 스레드를 반납하므로 블로킹되는 사용자가 많아도 다른 사용자의 작업이 밀리지 않는다)
+ */
+@Configuration
+public class PointExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pointBatchExecutor(Environment environment, PointBatchProperties properties) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-batch-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(properties.parallelism(), Thread.ofPlatform().name("point-batch-", 0).daemon().factory());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PointSerialExecutor pointSerialExecutor(PointAsyncProperties properties) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-async-", 0).factory());
+        return new PointSerialExecutor(executor, properties.maxQueueDepth());
+    }
+}
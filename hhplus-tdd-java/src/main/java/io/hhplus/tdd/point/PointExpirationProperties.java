@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 유효기간 설정
+ * - enabled : 유효기간 적용 여부 (OPTIMISTIC 모드에서는 적용되지 않는다)
+ * - ttl : 충전(이체로 받은 포인트 포함) 후 소멸까지의 기간
+ * - tick : 타이밍 휠 한 칸의 길이. 소멸은 최대 tick 만큼 늦어질 수 있다.
+ * - wheelSize : 타이밍 휠 한 단계의 칸 수 (2의 거듭제곱으로 올림)
+ */
+@ConfigurationProperties(prefix = "point.expiration")
+public record PointExpirationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("365d") Duration ttl,
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue("64") int wheelSize
+) {
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tick 마다 타이밍 휠을 돌려 만료된 lot 이 있는 사용자의 포인트를 소멸시킨다. (point.expiration.enabled=true)
+ * - 소멸은 PointService.expirePoints 로 사용자 락을 잡고 반영하므로 충전/사용과 순서가 섞이지 않는다.
+ * - 사용자 락은 point.admission.max-lock-wait 까지만 기다리므로, 락을 오래 잡은 사용자 하나 때문에 tick 이 멈추지 않는다.
+ * - 락을 얻지 못했거나 소멸에 실패한 사용자는 다음 tick 에 다시 시도한다. (장부에서는 소멸이 반영된 뒤에만 빠진다)
+ */
+@Component
+public class PointExpirationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpirationScheduler.class);
+
+    private final PointLotLedger pointLotLedger;
+    private final PointService pointService;
+    private final ScheduledExecutorService executor;
+    private final Set<Long> retries = ConcurrentHashMap.newKeySet();  // 다음 tick 에 다시 시도할 사용자 ID
+
+    public PointExpirationScheduler(PointLotLedger pointLotLedger, PointService pointService, PointExpirationProperties properties) {
+        this.pointLotLedger = pointLotLedger;
+        this.pointService = pointService;
+        if (!pointLotLedger.enabled()) {
+            this.executor = null;
+            return;
+        }
+        long tickMillis = Math.max(1, properties.tick().toMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> tick(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지난 tick 에서 처리하지 못한 사용자와 nowMillis 까지 만료된 사용자의 포인트를 소멸시키고, 소멸이 반영된 사용자 수를 돌려준다.
+     */
+    public int tick(long nowMillis) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Long userId : retries) {
+            if (retries.remove(userId)) {
+                userIds.add(userId);
+            }
+        }
+        userIds.addAll(pointLotLedger.due(nowMillis));
+
+        int expiredUsers = 0;
+        for (long userId : userIds) {
+            try {
+                if (pointService.expirePoints(userId, nowMillis) != null) {
+                    expiredUsers++;
+                }
+            } catch (CustomException e) {
+                retries.add(userId);
+                log.debug("point expiration deferred : userId={} ({})", userId, e.getErrorCode().getCode());
+            } catch (RuntimeException e) {
+                retries.add(userId);
+                log.warn("point expiration failed, retry on next tick : userId={}", userId, e);
+            }
+        }
+        return expiredUsers;
+    }
+
+    /**
+     * 다음 tick 에 다시 시도할 사용자 수
+     */
+    public int retryCount() {
+        return retries.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
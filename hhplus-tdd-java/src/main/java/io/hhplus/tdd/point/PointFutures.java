@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 다른 스레드가 처리한 요청의 결과를 기다리는 공통 유틸
+ * - 그룹 커밋(PointCommandCombiner), 낙관적 쓰기(OptimisticPointWriter), 멱등 키(PointIdempotencyCache)가 함께 쓴다.
+ */
+final class PointFutures {
+
+    private PointFutures() {
+    }
+
+    /**
+     * 처리 결과를 꺼낸다. 실패한 경우 해당 요청의 CustomException 등 RuntimeException 을 그대로 던진다.
+     */
+    static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
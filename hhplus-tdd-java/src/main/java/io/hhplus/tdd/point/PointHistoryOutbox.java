@@ -0,0 +1,334 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 포인트 이력 outbox
+ * - 잔액 저장은 사용자 락 안에서 끝내고, 이력은 큐에 넣은 뒤 백그라운드 스레드가 저장한다.
+ * - 사용자 ID 기준으로 worker 를 나누므로 같은 사용자의 이력은 들어온 순서대로 저장된다.
+ * - flush 는 호출 시점까지 큐에 들어온 이력이 모두 저장될 때까지 기다린다. (read-your-writes)
+ * - 저장에 실패한 이력은 버리지 않는다. 같은 worker 에서 지수 backoff 로 다시 시도하고(뒤 이력은 그동안 기다린다),
+ *   max-attempts 번 모두 실패하면 dead letter 로 옮긴다. dead letter 수는 지표로 노출하고 redrive 로 다시 저장할 수 있다.
+ * - 사용자별 이력은 updateMillis 오름차순으로 저장된다. (UserHistoryIndex 의 기간 조회가 이 순서에 기대므로)
+ *   redrive 한 이력은 현재 시각으로 다시 찍고, worker 는 앞서 저장한 이력보다 이른 updateMillis 를 그 값으로 올려 저장한다.
+ * - 종료(shutdown) 후에는 append 를 거절하고 flush 는 기다리지 않고 돌아온다. 종료 시 저장하지 못한 이력은 dead letter 로 남는다.
+ * - 비활성화 시에는 append 가 바로 저장소에 저장한다.
+ * - 저장된 이력은 저장된 순서대로 기간별 집계(PointSummaryAggregator)에 반영한다.
+ */
+@Component
+public class PointHistoryOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryOutbox.class);
+    private static final long SHUTDOWN_JOIN_MILLIS = 5000;  // 종료 시 저장 중인 이력을 기다리는 시간
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final List<Worker> workers = new ArrayList<>();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Queue<OutboxRecord> deadLetters = new ConcurrentLinkedQueue<>();
+    private final LongAdder retryCount = new LongAdder();
+    private volatile boolean closed;
+
+    public PointHistoryOutbox(PointHistoryRepository pointHistoryRepository, PointSummaryAggregator pointSummaryAggregator,
+                              PointOutboxProperties properties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        this.enabled = properties.enabled();
+        this.maxAttempts = Math.max(1, properties.maxAttempts());
+        this.retryBackoffNanos = properties.retryBackoff().toNanos();
+        if (enabled) {
+            for (int i = 0; i < Math.max(1, properties.workers()); i++) {
+                Worker worker = new Worker("point-outbox-" + i);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    /**
+     * 이력을 저장 대기열에 넣는다. 같은 사용자에 대해서는 사용자 락 안에서 호출해야 순서가 보장된다.
+     * 종료된 뒤에는 IllegalStateException 을 던진다.
+     */
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!enabled) {
+            pointSummaryAggregator.record(pointHistoryRepository.save(userId, amount, type, updateMillis));
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("포인트 이력 outbox 가 종료되었습니다.");
+        }
+
+        queueDepth.incrementAndGet();
+        if (!workerOf(userId).offer(new OutboxRecord(userId, amount, type, updateMillis, System.nanoTime(), null))) {
+            queueDepth.decrementAndGet();
+            throw new IllegalStateException("포인트 이력 outbox 가 종료되었습니다.");
+        }
+    }
+
+    /**
+     * 호출 시점까지 해당 사용자로 들어온 이력이 모두 저장될 때까지 기다린다. 종료된 뒤에는 기다리지 않는다.
+     */
+    public void flush(long userId) {
+        if (!enabled || closed) {
+            return;
+        }
+        await(barrier(workerOf(userId)));
+    }
+
+    /**
+     * 호출 시점까지 들어온 모든 이력이 저장될 때까지 기다린다. 종료된 뒤에는 기다리지 않는다.
+     */
+    public void flushAll() {
+        if (!enabled || closed) {
+            return;
+        }
+        awaitAll();
+    }
+
+    /**
+     * 아직 저장되지 않은 이력 수
+     */
+    public long queueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * 저장 재시도 횟수 (누적)
+     */
+    public long retryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * 재시도를 모두 실패해 dead letter 로 옮긴 이력 수
+     */
+    public int deadLetterCount() {
+        return deadLetters.size();
+    }
+
+    /**
+     * dead letter 로 옮긴 이력을 현재 시각으로 다시 찍어 저장 대기열에 넣는다. 다시 넣은 건수를 돌려준다.
+     * 원래 시각으로 넣으면 그 사이 저장된 같은 사용자의 이력보다 뒤에 이른 시각이 붙어 기간 조회에서 빠진다.
+     */
+    public int redrive() {
+        int redriven = 0;
+        OutboxRecord record;
+        while ((record = deadLetters.poll()) != null) {
+            append(record.userId(), record.amount(), record.type(), System.currentTimeMillis());
+            redriven++;
+        }
+        return redriven;
+    }
+
+    /**
+     * 저장되지 않은 이력 중 가장 오래된 것이 큐에 들어온 뒤 지난 시간 (ms)
+     */
+    public long lagMillis() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Worker worker : workers) {
+            long oldest = worker.oldestEnqueuedNanos();
+            if (oldest != 0) {
+                lag = Math.max(lag, now - oldest);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    /**
+     * 새 이력을 거절한 뒤 이미 들어온 이력을 저장하고 worker 를 멈춘다.
+     * worker 를 멈춘 뒤 큐에 남은 flush 표식은 완료시키고, 이력은 dead letter 로 옮긴다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled || closed) {
+            return;
+        }
+        closed = true;
+        awaitAll();
+        for (Worker worker : workers) {
+            worker.interrupt();
+            try {
+                worker.join(SHUTDOWN_JOIN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (OutboxRecord record : worker.close()) {
+                if (record.barrier() != null) {
+                    record.barrier().complete(null);
+                } else {
+                    queueDepth.decrementAndGet();
+                    deadLetters.add(record);
+                    log.error("종료 중 저장하지 못한 포인트 이력, dead letter 로 옮김 userId={} type={} amount={}",
+                            record.userId(), record.type(), record.amount());
+                }
+            }
+        }
+    }
+
+    private Worker workerOf(long userId) {
+        return workers.get((int) Math.floorMod(userId, (long) workers.size()));
+    }
+
+    private void awaitAll() {
+        List<CompletableFuture<Void>> barriers = workers.stream().map(this::barrier).toList();
+        barriers.forEach(PointHistoryOutbox::await);
+    }
+
+    /**
+     * worker 가 이미 멈췄으면 완료된 표식을 돌려준다.
+     */
+    private CompletableFuture<Void> barrier(Worker worker) {
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        if (!worker.offer(new OutboxRecord(0, 0, null, 0, System.nanoTime(), barrier))) {
+            barrier.complete(null);
+        }
+        return barrier;
+    }
+
+    private static void await(CompletableFuture<Void> barrier) {
+        try {
+            barrier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 큐에 쌓인 이력. barrier 가 있는 경우 이력이 아니라 flush 표식이다.
+     */
+    private record OutboxRecord(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            long enqueuedNanos,
+            CompletableFuture<Void> barrier
+    ) {
+    }
+
+    private class Worker extends Thread {
+
+        private final BlockingQueue<OutboxRecord> queue = new LinkedBlockingQueue<>();
+        private volatile long inFlightEnqueuedNanos;  // 저장 중인 이력이 큐에 들어온 시각 (없으면 0)
+        private long lastSavedMillis;  // 이 worker 가 마지막으로 저장한 updateMillis (worker 스레드만 사용)
+        private boolean stopped;  // close 이후 true (this 로 보호)
+
+        private Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        /**
+         * 멈춘 worker 면 넣지 않고 false
+         */
+        private synchronized boolean offer(OutboxRecord record) {
+            if (stopped) {
+                return false;
+            }
+            queue.add(record);
+            return true;
+        }
+
+        /**
+         * 더 받지 않도록 표시하고 큐에 남은 항목을 꺼낸다.
+         */
+        private synchronized List<OutboxRecord> close() {
+            stopped = true;
+            List<OutboxRecord> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            return remaining;
+        }
+
+        private long oldestEnqueuedNanos() {
+            long inFlight = inFlightEnqueuedNanos;
+            if (inFlight != 0) {
+                return inFlight;
+            }
+            OutboxRecord head = queue.peek();
+            return head == null ? 0 : head.enqueuedNanos();
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                OutboxRecord record;
+                try {
+                    record = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                if (record.barrier() != null) {
+                    record.barrier().complete(null);
+                    continue;
+                }
+
+                inFlightEnqueuedNanos = record.enqueuedNanos();
+                try {
+                    save(record);
+                } finally {
+                    inFlightEnqueuedNanos = 0;
+                    queueDepth.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * 성공할 때까지 backoff 를 늘려가며 다시 시도한다. 모두 실패하거나 종료 중이면 dead letter 로 옮긴다.
+         */
+        private void save(OutboxRecord record) {
+            // 같은 사용자의 이력은 이 worker 가 순서대로 저장하므로, worker 단위로 올려 찍으면 사용자별 오름차순이 유지된다.
+            long updateMillis = Math.max(record.updateMillis(), lastSavedMillis);
+            for (int attempt = 1; ; attempt++) {
+                PointHistory saved;
+                try {
+                    saved = pointHistoryRepository.save(record.userId(), record.amount(), record.type(), updateMillis);
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts || !backoff(attempt)) {
+                        deadLetters.add(record);
+                        log.error("포인트 이력 저장 실패, dead letter 로 옮김 userId={} type={} amount={} attempts={}",
+                                record.userId(), record.type(), record.amount(), attempt, e);
+                        return;
+                    }
+                    retryCount.increment();
+                    log.warn("포인트 이력 저장 재시도 userId={} type={} amount={} attempt={}",
+                            record.userId(), record.type(), record.amount(), attempt, e);
+                    continue;
+                }
+                lastSavedMillis = updateMillis;
+                pointSummaryAggregator.record(saved);  // 집계 반영이 실패해도 저장을 다시 시도하지 않도록 try 밖에서
+                return;
+            }
+        }
+
+        /**
+         * 종료 중(interrupt)이면 기다리지 않고 false
+         */
+        private boolean backoff(int attempt) {
+            LockSupport.parkNanos(retryBackoffNanos << Math.min(attempt - 1, 10));
+            return !isInterrupted();
+        }
+    }
+}
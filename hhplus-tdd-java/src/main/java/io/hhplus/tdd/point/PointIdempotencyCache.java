@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 캐시
+ * - 같은 사용자가 같은 키로 다시 보낸 요청은 사용자 락이나 잔액 저장소를 거치지 않고 저장된 UserPoint 를 돌려준다.
+ * - 처리 중인 키로 동시에 들어온 요청은 새로 처리하지 않고 먼저 들어온 요청의 결과를 함께 기다린다.
+ * - 실패한 요청의 결과는 보관하지 않으므로 같은 키로 재시도하면 다시 처리한다.
+ * - 같은 키로 종류나 금액이 다른 요청이 들어오면 IDEMPOTENCY_KEY_REUSED 로 거절한다.
+ * - 키는 MAX_KEY_LENGTH 자까지 받는다.
+ * - ttl 은 결과가 나온 시점부터 잰다. 결과가 나온 키는 그 순서대로 보관하고, ttl 이 지났거나 maxSize 를 넘으면 가장 먼저 끝난 키부터 제거한다.
+ * - 처리 중인 키는 결과가 나온 키와 따로 보관하고 제거하지 않는다. 제거하면 같은 키의 재시도가 한 번 더 반영되기 때문이다.
+ *   만료는 결과가 나온 키의 맨 앞만 보므로, 처리 중인 키를 건너뛰며 훑지 않는다. (maxSize 는 결과가 나온 키에만 적용)
+ */
+@Component
+public class PointIdempotencyCache {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_FLIGHT = -1;  // 결과가 아직 나오지 않은 키의 completedMillis
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Key, Entry> inFlight = new HashMap<>();  // 처리 중인 키
+    private final Map<Key, Entry> completed = new LinkedHashMap<>();  // 결과가 나온 순서 = 만료 순서
+    private final ReentrantLock lock = new ReentrantLock();  // 두 map 은 이 락 안에서만
+    private final LongAdder replayCount = new LongAdder();
+    private final LongSupplier clock;
+
+    @Autowired
+    public PointIdempotencyCache(PointIdempotencyProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    PointIdempotencyCache(PointIdempotencyProperties properties, LongSupplier clock) {
+        this.enabled = properties.enabled() && properties.maxSize() > 0;
+        this.maxSize = properties.maxSize();
+        this.ttlMillis = properties.ttl().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * idempotencyKey 가 없으면 action 을 그대로 실행한다.
+     * 있으면 처음 들어온 요청만 action 을 실행하고, 같은 키의 요청은 그 결과를 돌려받는다.
+     */
+    public UserPoint execute(long id, String idempotencyKey, TransactionType type, long amount, Supplier<UserPoint> action) {
+        if (!enabled || idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new CustomException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Key key = new Key(id, idempotencyKey);
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            expire(clock.getAsLong());
+            entry = completed.get(key);
+            if (entry == null) {
+                entry = inFlight.get(key);
+            }
+            if (entry == null) {
+                entry = new Entry(type, amount, IN_FLIGHT, new CompletableFuture<>());
+                inFlight.put(key, entry);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!owner) {
+            if (entry.type() != type || entry.amount() != amount) {
+                throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            replayCount.increment();
+            return PointFutures.await(entry.result());
+        }
+
+        try {
+            UserPoint result = action.get();
+            complete(key, entry);
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            remove(key, entry);  // 실패는 보관하지 않는다. 기다리던 요청은 같은 예외를 받는다.
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출된다. 결과가 나온 키 중 만료됐거나 maxSize 를 넘은 키를 앞에서부터 제거한다.
+     * 제거할 키가 없으면 맨 앞 하나만 보고 끝난다.
+     */
+    private void expire(long nowMillis) {
+        Iterator<Entry> iterator = completed.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (completed.size() < maxSize && nowMillis - eldest.completedMillis() < ttlMillis) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 처리 중인 키를 결과가 나온 키의 맨 뒤로 옮기고 그 시각을 기록해, ttl 을 이때부터 잰다.
+     */
+    private void complete(Key key, Entry entry) {
+        lock.lock();
+        try {
+            if (inFlight.remove(key, entry)) {
+                completed.put(key, new Entry(entry.type(), entry.amount(), clock.getAsLong(), entry.result()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        lock.lock();
+        try {
+            inFlight.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return inFlight.size() + completed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저장된 결과를 돌려준 횟수
+     */
+    public long replayCount() {
+        return replayCount.sum();
+    }
+
+    private record Key(
+            long userId,
+            String idempotencyKey
+    ) {
+    }
+
+    private record Entry(
+            TransactionType type,
+            long amount,
+            long completedMillis,  // 처리 중이면 IN_FLIGHT
+            CompletableFuture<UserPoint> result
+    ) {
+    }
+}
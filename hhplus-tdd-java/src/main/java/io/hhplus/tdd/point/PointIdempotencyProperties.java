@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 결과 캐시 설정
+ * - enabled : 같은 키로 다시 들어온 충전/사용 요청에 저장된 결과를 돌려줄지 여부
+ * - maxSize : 보관할 최대 키 수 (초과 시 가장 먼저 들어온 키부터 제거)
+ * - ttl : 키를 보관하는 시간 (클라이언트 재시도 간격보다 충분히 길게 잡는다)
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
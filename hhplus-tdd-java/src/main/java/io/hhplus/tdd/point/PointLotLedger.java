@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유효기간이 있는 충전분(lot) 장부 (point.expiration.enabled=true)
+ * - 충전/이체로 받은 포인트는 ttl 뒤에 만료되는 lot 이 되어 사용자별 큐 끝에 쌓이고, 타이밍 휠에도 등록된다.
+ * - 사용/이체로 보낸 포인트는 먼저 들어온 것부터 차감한다. lot 이 없던 시절의 잔액(장부에 없는 잔액)이 가장 오래된 것으로 본다.
+ * - charged / consumed / expire 는 잔액을 바꾸는 쓰기와 같은 사용자 락 안에서 호출해야 한다.
+ * - due 는 타이밍 휠만 돌리므로 만료되는 lot 수에만 비례하고, 사용자 수나 이력 수와는 관계없다.
+ * - lot 은 메모리에만 있으므로 재시작 후 복구된 잔액은 만료되지 않는 잔액이 된다.
+ * - OPTIMISTIC 모드의 쓰기는 사용자 락을 잡지 않아 장부를 잔액과 같이 바꿀 수 없으므로 적용하지 않는다.
+ */
+@Component
+public class PointLotLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLotLedger.class);
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final HierarchicalTimingWheel<Lot> wheel;
+    private final ConcurrentHashMap<Long, UserLots> lotsMap = new ConcurrentHashMap<>();  // 사용자 ID별 lot (만료 순서)
+    private final AtomicLong lotCount = new AtomicLong();
+    private final LongAdder expiredAmount = new LongAdder();
+
+    @Autowired
+    public PointLotLedger(PointExpirationProperties properties, PointWriteProperties pointWriteProperties) {
+        this(properties, pointWriteProperties, System.currentTimeMillis());
+    }
+
+    PointLotLedger(PointExpirationProperties properties, PointWriteProperties pointWriteProperties, long startMillis) {
+        boolean optimistic = pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC;
+        if (properties.enabled() && optimistic) {
+            log.warn("point expiration is not applied in OPTIMISTIC write mode");
+        }
+        this.enabled = properties.enabled() && !optimistic;
+        this.ttlMillis = properties.ttl().toMillis();
+        this.wheel = new HierarchicalTimingWheel<>(properties.tick().toMillis(), properties.wheelSize(), startMillis);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * amount 만큼의 새 lot 을 만든다. chargedMillis + ttl 에 만료된다.
+     */
+    public void charged(long userId, long amount, long chargedMillis) {
+        if (!enabled) {
+            return;
+        }
+        Lot lot = new Lot(userId, chargedMillis + ttlMillis, amount);
+        UserLots lots = lotsMap.computeIfAbsent(userId, key -> new UserLots());
+        lots.queue.add(lot);
+        lots.tracked += amount;
+        lotCount.incrementAndGet();
+        wheel.add(lot.expireAtMillis, lot);
+    }
+
+    /**
+     * amount 만큼을 먼저 들어온 잔액부터 차감한다. balanceBefore 는 차감 전 잔액이다.
+     */
+    public void consumed(long userId, long amount, long balanceBefore) {
+        if (!enabled) {
+            return;
+        }
+        UserLots lots = lotsMap.get(userId);
+        if (lots == null) {
+            return;
+        }
+
+        long untracked = Math.max(0, balanceBefore - lots.tracked);
+        long remaining = amount - Math.min(amount, untracked);
+        while (remaining > 0 && !lots.queue.isEmpty()) {
+            Lot lot = lots.queue.peek();
+            long taken = Math.min(lot.remaining, remaining);
+            lot.remaining -= taken;
+            lots.tracked -= taken;
+            remaining -= taken;
+            if (lot.remaining == 0) {
+                lots.queue.poll();
+                lotCount.decrementAndGet();
+            }
+        }
+        removeIfEmpty(userId, lots);
+    }
+
+    /**
+     * nowMillis 까지 만료된 lot 에 남아 있는 포인트 합계. 장부는 바꾸지 않는다.
+     */
+    public long expiring(long userId, long nowMillis) {
+        if (!enabled) {
+            return 0;
+        }
+        UserLots lots = lotsMap.get(userId);
+        if (lots == null) {
+            return 0;
+        }
+        long expiring = 0;
+        for (Lot lot : lots.queue) {
+            if (lot.expireAtMillis > nowMillis) {
+                break;
+            }
+            expiring += lot.remaining;
+        }
+        return expiring;
+    }
+
+    /**
+     * nowMillis 까지 만료된 lot 을 장부에서 빼고, 남아 있던 포인트 합계를 돌려준다.
+     */
+    public long expire(long userId, long nowMillis) {
+        if (!enabled) {
+            return 0;
+        }
+        UserLots lots = lotsMap.get(userId);
+        if (lots == null) {
+            return 0;
+        }
+
+        long expired = 0;
+        while (!lots.queue.isEmpty() && lots.queue.peek().expireAtMillis <= nowMillis) {
+            Lot lot = lots.queue.poll();
+            expired += lot.remaining;
+            lots.tracked -= lot.remaining;
+            lot.remaining = 0;
+            lotCount.decrementAndGet();
+        }
+        removeIfEmpty(userId, lots);
+        expiredAmount.add(expired);
+        return expired;
+    }
+
+    /**
+     * 타이밍 휠을 nowMillis 까지 돌려, 아직 다 쓰지 않은 lot 이 만료된 사용자를 돌려준다.
+     */
+    public Set<Long> due(long nowMillis) {
+        if (!enabled) {
+            return Set.of();
+        }
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Lot lot : wheel.advance(nowMillis)) {
+            if (lot.remaining > 0) {  // 이미 다 쓴 lot 은 락을 잡지 않고 건너뛴다.
+                userIds.add(lot.userId);
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * 장부에 남아 있는 사용자의 lot 별 남은 포인트 (만료 순서)
+     */
+    public List<Long> remaining(long userId) {
+        UserLots lots = lotsMap.get(userId);
+        return lots == null ? List.of() : lots.queue.stream().map(lot -> lot.remaining).toList();
+    }
+
+    public long lotCount() {
+        return lotCount.get();
+    }
+
+    public long expiredAmount() {
+        return expiredAmount.sum();
+    }
+
+    private void removeIfEmpty(long userId, UserLots lots) {
+        if (lots.queue.isEmpty()) {
+            lotsMap.remove(userId, lots);
+        }
+    }
+
+    /**
+     * 사용자 락 안에서만 바뀐다. remaining 은 due 가 락 없이 읽으므로 volatile 이다.
+     */
+    private static class Lot {
+        private final long userId;
+        private final long expireAtMillis;
+        private volatile long remaining;
+
+        private Lot(long userId, long expireAtMillis, long remaining) {
+            this.userId = userId;
+            this.expireAtMillis = expireAtMillis;
+            this.remaining = remaining;
+        }
+    }
+
+    private static class UserLots {
+        private final ArrayDeque<Lot> queue = new ArrayDeque<>();
+        private long tracked;  // queue 에 남은 포인트 합계
+    }
+}
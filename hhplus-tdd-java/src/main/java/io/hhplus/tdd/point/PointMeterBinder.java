@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.lock.UserLockRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 락, 요청 수용 한도, 비동기 실행, 잔액 캐시/스냅샷/버전 저장소, 포인트 유효기간, Idempotency-Key 캐시, 이력 outbox 의 상태를 지표로 노출한다.
+ * 조회 시점에만 값을 읽으므로 요청 처리 경로에는 비용이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+    private final UserLockRegistry userLockRegistry;
+    private final UserPointCache userPointCache;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final PointAdmission pointAdmission;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final PointSerialExecutor pointSerialExecutor;
+    private final UserPointSnapshots userPointSnapshots;
+    private final PointLotLedger pointLotLedger;
+    private final VersionedUserPointStore versionedUserPointStore;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.lock.registry.size", userLockRegistry, lockRegistry -> lockRegistry.stats().size())
+                .register(registry);
+        FunctionCounter.builder("point.lock.acquisitions", userLockRegistry, lockRegistry -> lockRegistry.stats().acquisitions())
+                .register(registry);
+        FunctionCounter.builder("point.lock.contended", userLockRegistry, lockRegistry -> lockRegistry.stats().contended())
+                .register(registry);
+
+        Gauge.builder("point.admission.users", pointAdmission, PointAdmission::activeUsers)
+                .register(registry);
+        Gauge.builder("point.admission.in.flight", pointAdmission, PointAdmission::inFlight)
+                .register(registry);
+
+        Gauge.builder("point.async.users", pointSerialExecutor, PointSerialExecutor::activeUsers)
+                .register(registry);
+
+        Gauge.builder("point.cache.size", userPointCache, UserPointCache::size)
+                .register(registry);
+        FunctionCounter.builder("point.cache.hits", userPointCache, UserPointCache::hitCount)
+                .register(registry);
+        FunctionCounter.builder("point.cache.misses", userPointCache, UserPointCache::missCount)
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, UserPointCache::evictionCount)
+                .register(registry);
+        Gauge.builder("point.snapshot.size", userPointSnapshots, UserPointSnapshots::size)
+                .register(registry);
+        FunctionCounter.builder("point.snapshot.evictions", userPointSnapshots, UserPointSnapshots::evictionCount)
+                .register(registry);
+        Gauge.builder("point.optimistic.size", versionedUserPointStore, VersionedUserPointStore::size)
+                .register(registry);
+        FunctionCounter.builder("point.optimistic.evictions", versionedUserPointStore, VersionedUserPointStore::evictionCount)
+                .register(registry);
+
+        Gauge.builder("point.expiration.lots", pointLotLedger, PointLotLedger::lotCount)
+                .register(registry);
+        FunctionCounter.builder("point.expiration.expired", pointLotLedger, PointLotLedger::expiredAmount)
+                .register(registry);
+
+        Gauge.builder("point.idempotency.size", pointIdempotencyCache, PointIdempotencyCache::size)
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.replays", pointIdempotencyCache, PointIdempotencyCache::replayCount)
+                .register(registry);
+
+        Gauge.builder("point.outbox.queue.depth", pointHistoryOutbox, PointHistoryOutbox::queueDepth)
+                .register(registry);
+        Gauge.builder("point.outbox.lag", pointHistoryOutbox, PointHistoryOutbox::lagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("point.outbox.dead.letters", pointHistoryOutbox, PointHistoryOutbox::deadLetterCount)
+                .register(registry);
+        FunctionCounter.builder("point.outbox.retries", pointHistoryOutbox, PointHistoryOutbox::retryCount)
+                .register(registry);
+    }
+}
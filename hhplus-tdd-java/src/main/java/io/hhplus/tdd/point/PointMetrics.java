@@ -0,0 +1,128 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 요청 지표
+ * - point.lock.wait : 사용자 락 획득까지 기다린 시간 (operation)
+ * - point.lock.hold : 사용자 락을 잡고 있던 시간 (operation)
+ * - point.table.call : 테이블 호출 시간 (table, call)
+ * - point.rejections : ErrorCode 별 거절 횟수 (operation, code)
+ * - point.conflicts : 낙관적 반영 충돌 횟수 (operation)
+ * 비활성화 시 start() 는 0 을 돌려주고, 기록 메서드는 시간을 재지 않고 바로 돌아간다.
+ * 지표는 태그 값별로 한 번만 등록하고, 이후 호출은 map 조회만 한다. (호출마다 이름/태그 문자열을 만들지 않는다)
+ */
+@Component
+public class PointMetrics {
+
+    public static final String TABLE_USER_POINT = "user_point";
+    public static final String TABLE_POINT_HISTORY = "point_history";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, Timer> lockWaitTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> lockHoldTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer>> tableTimers = new ConcurrentHashMap<>();  // table → call → timer
+    private final ConcurrentHashMap<String, ConcurrentHashMap<ErrorCode, Counter>> rejectionCounters = new ConcurrentHashMap<>();  // operation → code → counter
+    private final ConcurrentHashMap<String, Counter> conflictCounters = new ConcurrentHashMap<>();
+
+    public PointMetrics(MeterRegistry meterRegistry, PointMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.enabled();
+    }
+
+    /**
+     * 측정 시작 시각. 비활성화 시 0
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 락 대기 시간을 기록하고, 락 점유 측정 시작 시각을 돌려준다.
+     */
+    public long lockAcquired(String operation, long waitStart) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        Timer timer = lockWaitTimers.get(operation);
+        if (timer == null) {
+            timer = lockWaitTimers.computeIfAbsent(operation, key -> timer("point.lock.wait", "operation", key));
+        }
+        timer.record(now - waitStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void lockReleased(String operation, long holdStart) {
+        if (!enabled) {
+            return;
+        }
+        Timer timer = lockHoldTimers.get(operation);
+        if (timer == null) {
+            timer = lockHoldTimers.computeIfAbsent(operation, key -> timer("point.lock.hold", "operation", key));
+        }
+        timer.record(System.nanoTime() - holdStart, TimeUnit.NANOSECONDS);
+    }
+
+    public void tableCall(String table, String call, long start) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Timer> calls = tableTimers.get(table);
+        Timer timer = calls == null ? null : calls.get(call);
+        if (timer == null) {
+            timer = tableTimers.computeIfAbsent(table, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(call, key -> Timer.builder("point.table.call")
+                            .tag("table", table)
+                            .tag("call", call)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(String operation, ErrorCode errorCode) {
+        if (!enabled) {
+            return;
+        }
+        Map<ErrorCode, Counter> codes = rejectionCounters.get(operation);
+        Counter counter = codes == null ? null : codes.get(errorCode);
+        if (counter == null) {
+            counter = rejectionCounters.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(errorCode, key -> Counter.builder("point.rejections")
+                            .tag("operation", operation)
+                            .tag("code", errorCode.getCode())
+                            .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    public void conflict(String operation) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = conflictCounters.get(operation);
+        if (counter == null) {
+            counter = conflictCounters.computeIfAbsent(operation, key -> Counter.builder("point.conflicts")
+                    .tag("operation", key)
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 지표 설정
+ * - enabled : 요청마다 락 대기/점유 시간, 테이블 호출 시간을 기록할지 여부
+ *             (끄면 시간 측정 자체를 하지 않는다)
+ */
+@ConfigurationProperties(prefix = "point.metrics")
+public record PointMetricsProperties(
+        @DefaultValue("true") boolean enabled
+) {
+}
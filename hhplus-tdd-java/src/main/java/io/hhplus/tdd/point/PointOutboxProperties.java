@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 이력 outbox 설정
+ * - enabled : 이력 저장을 사용자 락 밖의 백그라운드 작업으로 넘길지 여부
+ * - workers : 이력을 저장하는 백그라운드 스레드 수 (사용자 ID 기준으로 나누어 사용자별 순서를 보장)
+ * - max-attempts : 이력 한 건의 저장 시도 횟수. 모두 실패하면 dead letter 로 옮긴다.
+ * - retry-backoff : 첫 재시도 전 대기 시간. 재시도마다 두 배로 늘린다.
+ */
+@ConfigurationProperties(prefix = "point.outbox")
+public record PointOutboxProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4") int workers,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("50ms") Duration retryBackoff
+) {
+}
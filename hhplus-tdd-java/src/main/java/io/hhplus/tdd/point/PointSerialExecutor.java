@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 작업을 들어온 순서대로 하나씩 실행하는 executor (사용자별 mailbox)
+ * - 같은 사용자의 작업은 동시에 실행되지 않으므로 락을 기다리며 멈춰 있는 스레드가 없다.
+ *   차례를 기다리는 작업은 큐에만 있고, 스레드는 실행할 작업이 있는 사용자에게만 배정된다.
+ * - 한 사용자의 작업은 스레드를 한 번 배정받을 때 최대 DRAIN_BUDGET 개까지 실행하고, 남은 작업은 다시 줄을 선다. (다른 사용자 기아 방지)
+ * - 작업이 없는 사용자의 큐는 남지 않는다.
+ * - 차례를 기다리는 작업이 maxQueueDepth 개인 사용자의 새 작업은 USER_REQUEST_OVERLOADED 로 바로 실패한다.
+ * - executor 가 종료되어 스레드를 배정받지 못하면 그 사용자의 큐를 제거하고, 남은 작업의 future 를 RejectedExecutionException 으로 실패시킨다.
+ */
+public class PointSerialExecutor {
+
+    private static final int DRAIN_BUDGET = 16;
+
+    private final ExecutorService executor;
+    private final int maxQueueDepth;
+    private final ConcurrentHashMap<Long, Queue<Job<?>>> mailboxMap = new ConcurrentHashMap<>();  // 사용자 ID별 작업 큐 (맨 앞은 실행 중인 작업)
+
+    public PointSerialExecutor(ExecutorService executor, int maxQueueDepth) {
+        this.executor = executor;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * 사용자의 앞선 작업이 모두 끝난 뒤 task 를 실행하고, 그 결과로 완료되는 future 를 돌려준다.
+     */
+    public <T> CompletableFuture<T> submit(long id, Supplier<T> task) {
+        Job<T> job = new Job<>(task, new CompletableFuture<>());
+
+        int[] depth = new int[1];
+        // 큐에 넣는 작업과 큐를 비우고 제거하는 작업이 같은 사용자에 대해 원자적으로 처리되도록 compute 안에서 추가한다.
+        mailboxMap.compute(id, (key, queue) -> {
+            Queue<Job<?>> mailbox = queue == null ? new ArrayDeque<>() : queue;
+            depth[0] = mailbox.size();
+            if (depth[0] <= maxQueueDepth) {
+                mailbox.add(job);
+            }
+            return mailbox;
+        });
+
+        if (depth[0] > maxQueueDepth) {
+            job.result().completeExceptionally(new CustomException(ErrorCode.USER_REQUEST_OVERLOADED));
+        } else if (depth[0] == 0) {
+            dispatch(id);  // 비어 있던 큐에 넣은 경우에만 스레드를 배정한다.
+        }
+        return job.result();
+    }
+
+    /**
+     * 사용자의 큐를 비울 스레드를 배정한다.
+     * 배정받지 못하면 큐를 비울 스레드가 없으므로 큐를 제거하고 남은 작업을 모두 실패시킨다.
+     * (큐를 남겨 두면 그 사용자의 새 작업은 실행 중인 작업이 있다고 보고 스레드를 배정하지 않는다)
+     */
+    private void dispatch(long id) {
+        try {
+            executor.execute(() -> drain(id));
+        } catch (RejectedExecutionException e) {
+            Queue<Job<?>> mailbox = mailboxMap.remove(id);
+            if (mailbox != null) {
+                mailbox.forEach(job -> job.fail(e));
+            }
+        }
+    }
+
+    /**
+     * 큐 맨 앞의 작업부터 실행한다. 실행이 끝난 작업은 큐에서 빼고, 큐가 비면 제거한다.
+     */
+    private void drain(long id) {
+        Job<?> job = peek(id);
+        for (int executed = 1; ; executed++) {
+            job.run();
+            job = pollAndPeek(id);
+            if (job == null) {
+                return;
+            }
+            if (executed == DRAIN_BUDGET) {
+                dispatch(id);
+                return;
+            }
+        }
+    }
+
+    private Job<?> peek(long id) {
+        Job<?>[] head = new Job<?>[1];
+        mailboxMap.computeIfPresent(id, (key, queue) -> {
+            head[0] = queue.peek();
+            return queue;
+        });
+        return head[0];
+    }
+
+    private Job<?> pollAndPeek(long id) {
+        Job<?>[] next = new Job<?>[1];
+        mailboxMap.computeIfPresent(id, (key, queue) -> {
+            queue.poll();
+            next[0] = queue.peek();
+            return queue.isEmpty() ? null : queue;
+        });
+        return next[0];
+    }
+
+    /**
+     * 차례를 기다리거나 실행 중인 작업이 있는 사용자 수
+     */
+    public int activeUsers() {
+        return mailboxMap.size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Job<T>(
+            Supplier<T> task,
+            CompletableFuture<T> result
+    ) {
+
+        void run() {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);  // 실패해도 다음 작업은 이어서 실행한다.
+            }
+        }
+
+        void fail(Throwable cause) {
+            result.completeExceptionally(cause);
+        }
+    }
+}
@@ -2,49 +2,118 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.CustomException;
 import io.hhplus.tdd.ErrorCode;
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryQuery;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
     private static final long MAX_POINT_LIMIT = 1000000;
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+    private static final int HISTORY_STREAM_PAGE_SIZE = 500;
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-    private final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();  // 사용자 ID별로 ReentrantLock 관리
+    // 지표 operation 태그
+    private static final String OPERATION_CHARGE = "charge";
+    private static final String OPERATION_USE = "use";
+    private static final String OPERATION_TRANSFER = "transfer";
+    private static final String OPERATION_EXPIRE = "expire";
+    private static final String OPERATION_POINT = "point";
+    private static final String OPERATION_HISTORIES = "histories";
+    private static final String OPERATION_SUMMARY = "summary";
+    private static final String OPERATION_BATCH = "batch";
+
+    private static final Logger log = LoggerFactory.getLogger(PointService.class);
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointCommandCombiner pointCommandCombiner;
+    private final PointWriteProperties pointWriteProperties;
+    private final UserPointCache userPointCache;
+    private final PointHistoryOutbox pointHistoryOutbox;
+    private final UserLockRegistry userLockRegistry;  // 사용자 ID별 락 관리
+    private final PointMetrics pointMetrics;
+    private final OptimisticPointWriter optimisticPointWriter;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointAdmission pointAdmission;  // 사용자별 요청 수용 한도
+    private final UserPointSnapshots userPointSnapshots;  // 락 없는 잔액 조회용 스냅샷
+    private final PointLotLedger pointLotLedger;  // 유효기간이 있는 충전분 장부
 
     public UserPoint chargePoints(long id, long chargeAmount) {
+        try {
+            return charge(id, chargeAmount);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_CHARGE, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    private UserPoint charge(long id, long chargeAmount) {
 
         chargeValidations(id, chargeAmount);
 
-        // 사용자 ID별로 락 생성 또는 가져오기
-        lockMap.putIfAbsent(id, new ReentrantLock());
-        ReentrantLock lock = lockMap.get(id);
-        lock.lock();
+        // 같은 사용자에게 이미 요청이 많이 쌓여 있으면 기다리지 않고 거절
+        pointAdmission.enter(id);
+        try {
+            return chargeAdmitted(id, chargeAmount);
+        } finally {
+            pointAdmission.exit(id);
+        }
+    }
+
+    private UserPoint chargeAdmitted(long id, long chargeAmount) {
+
+        // group commit 모드에서는 같은 사용자의 대기 요청과 묶어서 처리
+        if (pointWriteProperties.mode() == PointWriteMode.GROUP_COMMIT) {
+            return pointCommandCombiner.submit(id, TransactionType.CHARGE, chargeAmount);
+        }
+
+        // optimistic 모드에서는 락 없이 버전 비교로 반영
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            return optimisticPointWriter.apply(id, TransactionType.CHARGE, chargeAmount);
+        }
+
+        // 사용자 ID별 락 획득 (maxLockWait 초과 시 거절)
+        long waitStart = pointMetrics.start();
+        UserLock lock = pointAdmission.lock(userLockRegistry, id);
+        long holdStart = pointMetrics.lockAcquired(OPERATION_CHARGE, waitStart);
 
         try{
             long prevPoint = 0;
-            UserPoint userPoint = userPointTable.selectById(id);
+            UserPoint userPoint = userPointCache.getOrLoad(id, this::selectUserPoint);
             if (userPoint != null){
                 prevPoint = userPoint.point();
+                userPointSnapshots.beginWrite(userPoint);  // 잔액을 바꾸기 전 값을 먼저 게시
             }
-            UserPoint result = userPointTable.insertOrUpdate(id, chargeAmount+prevPoint);
-            pointHistoryTable.insert(id, chargeAmount, TransactionType.CHARGE, System.currentTimeMillis());
+            UserPoint result = saveUserPoint(id, chargeAmount+prevPoint);
+            userPointCache.put(result);  // 락을 잡은 상태에서 캐시 갱신
+            pointHistoryOutbox.append(id, chargeAmount, TransactionType.CHARGE, System.currentTimeMillis());
+            pointLotLedger.charged(id, chargeAmount, result.updateMillis());
+            userPointSnapshots.publish(result);  // 이력까지 반영된 뒤에 조회에 보인다.
             return result;
+        } catch (RuntimeException e) {
+            userPointSnapshots.cancelWrite(id);  // 게시하지 못한 쓰기는 제거 대상으로 되돌린다.
+            throw e;
         } finally {
             lock.unlock();
+            pointMetrics.lockReleased(OPERATION_CHARGE, holdStart);
         }
     }
 
-    private static void chargeValidations(long id, long chargeAmount) {
+    static void chargeValidations(long id, long chargeAmount) {
 
         if (id <= 0) {
             throw new CustomException(ErrorCode.INVALID_USER_ID);
@@ -61,40 +130,190 @@ public class PointService {
 
 
     public UserPoint getPointByUser(long id) {
+        try {
+            return findUserPoint(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_POINT, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    private UserPoint findUserPoint(long id) {
         if (id <= 0) {
             throw new CustomException(ErrorCode.INVALID_USER_ID);
         }
 
-        UserPoint user = userPointTable.selectById(id);
+        UserPoint user = readUserPoint(id);
         if (user == null){
             throw new CustomException(ErrorCode.USER_NOT_FOUND);
         }
         return user;
     }
 
+    /**
+     * 잔액과 버전을 같은 스냅샷에서 함께 조회한다. (조건부 잔액 조회의 ETag 용)
+     * - 버전은 충전/사용/이체/소멸이 이력까지 반영될 때마다 바뀌므로, 버전이 같으면 잔액과 이력도 그대로다.
+     * - 스냅샷이 있으면 잔액/이력 저장소에 접근하지 않는다.
+     * - OPTIMISTIC 모드는 이력보다 잔액이 먼저 반영되므로 버전을 제공하지 않는다. (null)
+     */
+    public VersionedUserPoint getVersionedPointByUser(long id) {
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            return null;
+        }
+        try {
+            if (id <= 0) {
+                throw new CustomException(ErrorCode.INVALID_USER_ID);
+            }
+            VersionedUserPoint snapshot = readSnapshot(id);
+            if (snapshot == null) {
+                throw new CustomException(ErrorCode.USER_NOT_FOUND);
+            }
+            return snapshot;
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_POINT, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    /**
+     * 누적/최근 구간별 충전·사용 요약. 이력을 훑지 않고 미리 집계된 값만 읽는다. (요약이 없는 사용자는 이력에서 만든다)
+     * 아직 저장되지 않은 이력까지 반영되도록 outbox 를 먼저 flush 한다.
+     */
+    public PointSummary getPointSummary(long id) {
+        try {
+            findUserPoint(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_SUMMARY, e.getErrorCode());
+            throw e;
+        }
+        pointHistoryOutbox.flush(id);
+        return pointSummaryAggregator.summary(id, System.currentTimeMillis());
+    }
+
     public List<PointHistory> getPointHistoriesByUser(long id) {
-        if (id <= 0) {
-            throw new CustomException(ErrorCode.INVALID_USER_ID);
+        try {
+            findUserPoint(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_HISTORIES, e.getErrorCode());
+            throw e;
         }
 
-        UserPoint user = userPointTable.selectById(id);
-        if (user == null){
-            throw new CustomException(ErrorCode.USER_NOT_FOUND);
+        pointHistoryOutbox.flush(id);  // 아직 저장되지 않은 이력까지 반영된 결과를 돌려준다.
+        return pointHistoryRepository.findAllByUserId(id);
+    }
+
+    /**
+     * id 가 after 보다 큰 이력을 최대 limit 개 조회한다. (커서 페이지네이션)
+     */
+    public List<PointHistory> getPointHistoriesByUser(long id, long after, int limit) {
+        return getPointHistoriesByUser(id, PointHistoryQuery.page(after, limit));
+    }
+
+    /**
+     * 커서/기간/거래 종류 조건으로 이력을 조회한다.
+     */
+    public List<PointHistory> getPointHistoriesByUser(long id, PointHistoryQuery query) {
+        validatePointHistoryQuery(id, query);
+
+        pointHistoryOutbox.flush(id);
+        return pointHistoryRepository.findAllByUserId(id, query);
+    }
+
+    /**
+     * 이력 조회 조건과 사용자를 검증한다. 잘못된 조건이면 CustomException 을 던진다.
+     * (조건부 조회에서 If-None-Match 를 비교하기 전에 먼저 검증하기 위해 따로 둔다)
+     */
+    public void validatePointHistoryQuery(long id, PointHistoryQuery query) {
+        try {
+            if (id <= 0) {
+                throw new CustomException(ErrorCode.INVALID_USER_ID);
+            }
+
+            if (query.after() < 0 || query.limit() <= 0 || query.limit() > MAX_HISTORY_PAGE_SIZE) {
+                throw new CustomException(ErrorCode.INVALID_PAGE_REQUEST);
+            }
+
+            if (query.from() < 0 || query.from() >= query.to()) {
+                throw new CustomException(ErrorCode.INVALID_TIME_RANGE);
+            }
+
+            findUserPoint(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_HISTORIES, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    /**
+     * 사용자의 마지막 이력 id (이력이 없으면 0, 조건부 이력 조회의 ETag 용)
+     * - 아직 저장되지 않은 이력까지 반영한 뒤 인덱스에서 읽으므로 이력 저장소를 훑지 않는다.
+     * - 이력 id 는 추가될 때마다 커지므로 모든 쓰기 모드에서 같으면 이력도 그대로다.
+     */
+    public long getLastHistoryIdByUser(long id) {
+        pointHistoryOutbox.flush(id);
+        return pointHistoryRepository.lastIdByUserId(id);
+    }
+
+    /**
+     * 이력을 페이지 단위로 순서대로 흘려보낸다. (스트리밍 응답용)
+     * - 사용자 검증과 outbox flush 는 호출 시점에 처리하고, 다음 페이지는 앞 페이지를 다 소비한 뒤에 읽는다.
+     * - 이력이 얼마나 길든 한 번에 메모리에 올라가는 이력은 한 페이지(HISTORY_STREAM_PAGE_SIZE)다.
+     */
+    public Stream<List<PointHistory>> streamPointHistoriesByUser(long id) {
+        try {
+            findUserPoint(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_HISTORIES, e.getErrorCode());
+            throw e;
         }
 
-        return pointHistoryTable.selectAllByUserId(id);
+        pointHistoryOutbox.flush(id);
+        return Stream.iterate(
+                pointHistoryRepository.findAllByUserId(id, 0L, HISTORY_STREAM_PAGE_SIZE),
+                page -> !page.isEmpty(),
+                page -> page.size() < HISTORY_STREAM_PAGE_SIZE
+                        ? List.of()
+                        : pointHistoryRepository.findAllByUserId(id, page.get(page.size() - 1).id(), HISTORY_STREAM_PAGE_SIZE)
+        );
     }
 
     public UserPoint usePoints(long id, long useAmount) {
+        try {
+            return use(id, useAmount);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_USE, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    private UserPoint use(long id, long useAmount) {
 
         usePointsValidations(id, useAmount);
 
-        lockMap.putIfAbsent(id, new ReentrantLock());
-        ReentrantLock lock = lockMap.get(id);
-        lock.lock();
+        pointAdmission.enter(id);
+        try {
+            return useAdmitted(id, useAmount);
+        } finally {
+            pointAdmission.exit(id);
+        }
+    }
+
+    private UserPoint useAdmitted(long id, long useAmount) {
+
+        if (pointWriteProperties.mode() == PointWriteMode.GROUP_COMMIT) {
+            return pointCommandCombiner.submit(id, TransactionType.USE, useAmount);
+        }
+
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            return optimisticPointWriter.apply(id, TransactionType.USE, useAmount);
+        }
+
+        long waitStart = pointMetrics.start();
+        UserLock lock = pointAdmission.lock(userLockRegistry, id);
+        long holdStart = pointMetrics.lockAcquired(OPERATION_USE, waitStart);
 
         try{
-            UserPoint userPoint = userPointTable.selectById(id);
+            UserPoint userPoint = userPointCache.getOrLoad(id, this::selectUserPoint);
             if (userPoint == null){
                 throw new CustomException(ErrorCode.USER_NOT_FOUND);
             }
@@ -103,15 +322,23 @@ public class PointService {
             if (nowPoint < useAmount) {
                 throw new CustomException(ErrorCode.POINT_INSUFFICIENT);
             }
-            UserPoint result = userPointTable.insertOrUpdate(id, nowPoint-useAmount);
-            pointHistoryTable.insert(id, useAmount, TransactionType.USE, System.currentTimeMillis());
+            userPointSnapshots.beginWrite(userPoint);
+            UserPoint result = saveUserPoint(id, nowPoint-useAmount);
+            userPointCache.put(result);
+            pointHistoryOutbox.append(id, useAmount, TransactionType.USE, System.currentTimeMillis());
+            pointLotLedger.consumed(id, useAmount, nowPoint);
+            userPointSnapshots.publish(result);
             return result;
-        }finally {
+        } catch (RuntimeException e) {
+            userPointSnapshots.cancelWrite(id);
+            throw e;
+        } finally {
             lock.unlock();
+            pointMetrics.lockReleased(OPERATION_USE, holdStart);
         }
     }
 
-    private void usePointsValidations(long id, long useAmount) {
+    static void usePointsValidations(long id, long useAmount) {
         if (id <= 0) {
             throw new CustomException(ErrorCode.INVALID_USER_ID);
         }
@@ -120,4 +347,259 @@ public class PointService {
             throw new CustomException(ErrorCode.INVALID_POINT_INPUT);
         }
     }
+
+    /**
+     * 한 사용자의 충전/사용 요청 여러 건을 요청 순서대로 반영하고, 항목별 결과를 요청 순서대로 돌려준다. (일괄 처리)
+     * - 요청 수용 한도와 락 대기 한도, 기간별 집계는 단건 충전/사용과 같게 적용한다. (배치 하나를 요청 하나로 센다)
+     * - LOCK / GROUP_COMMIT 모드는 한 번의 조회/저장으로 묶어서 반영하고, OPTIMISTIC 모드는 한 건씩 반영한다.
+     * - 예상하지 못한 오류도 해당 항목의 실패로 돌려준다. 앞서 반영된 항목은 성공으로 남는다.
+     * - 항목 검증은 호출하는 쪽에서 끝낸 상태여야 한다.
+     */
+    public List<PointCommandResult> applyAll(long id, List<PointCommand> commands) {
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            return commands.stream().map(this::applyOne).toList();
+        }
+
+        try {
+            pointAdmission.enter(id);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_BATCH, e.getErrorCode());
+            return commands.stream().map(command -> PointCommandResult.failure(command, e.getErrorCode())).toList();
+        }
+        try {
+            List<CompletableFuture<UserPoint>> results = pointCommandCombiner.submitAll(id, commands);
+            List<PointCommandResult> applied = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                CompletableFuture<UserPoint> result = results.get(i);
+                applied.add(result(commands.get(i), () -> PointFutures.await(result)));
+            }
+            return applied;
+        } finally {
+            pointAdmission.exit(id);
+        }
+    }
+
+    private PointCommandResult applyOne(PointCommand command) {
+        return result(command, () -> command.type() == TransactionType.CHARGE
+                ? charge(command.userId(), command.amount())
+                : use(command.userId(), command.amount()));
+    }
+
+    /**
+     * 반영 결과를 항목 결과로 바꾼다.
+     */
+    private PointCommandResult result(PointCommand command, Supplier<UserPoint> applied) {
+        try {
+            return PointCommandResult.success(command, applied.get());
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_BATCH, e.getErrorCode());
+            return PointCommandResult.failure(command, e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("일괄 처리 항목 실패 userId={} type={} amount={}", command.userId(), command.type(), command.amount(), e);
+            return PointCommandResult.internalError(command);
+        }
+    }
+
+    /**
+     * fromId 의 포인트를 toId 로 이체한다.
+     * - 두 사용자의 락을 lockOrder 순서로 잡으므로 반대 방향 이체가 동시에 들어와도 서로 기다리며 멈추지 않는다.
+     * - 두 잔액 저장과 두 이력(TRANSFER_OUT / TRANSFER_IN) 추가를 한 임계 구역 안에서 처리한다.
+     * - 받는 사용자는 잔액이 없어도 된다. (충전과 같이 새로 만든다)
+     * - 유효기간이 있으면 보내는 쪽은 사용과 같이 오래된 포인트부터 빠지고, 받는 쪽에는 새 충전분이 생긴다.
+     */
+    public PointTransfer transferPoints(long fromId, long toId, long amount) {
+        try {
+            return transfer(fromId, toId, amount);
+        } catch (CustomException e) {
+            pointMetrics.rejected(OPERATION_TRANSFER, e.getErrorCode());
+            throw e;
+        }
+    }
+
+    private PointTransfer transfer(long fromId, long toId, long amount) {
+
+        transferValidations(fromId, toId, amount);
+
+        // optimistic 모드의 쓰기는 사용자 락을 잡지 않으므로 두 사용자를 함께 잠글 수 없다.
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            throw new CustomException(ErrorCode.TRANSFER_NOT_SUPPORTED);
+        }
+
+        pointAdmission.enter(fromId);
+        try {
+            pointAdmission.enter(toId);
+            try {
+                return transferAdmitted(fromId, toId, amount);
+            } finally {
+                pointAdmission.exit(toId);
+            }
+        } finally {
+            pointAdmission.exit(fromId);
+        }
+    }
+
+    private PointTransfer transferAdmitted(long fromId, long toId, long amount) {
+
+        // 락 순서가 같으면(같은 락) ID 순서로 잡는다. 같은 락은 재진입이 가능하다.
+        long fromOrder = userLockRegistry.lockOrder(fromId);
+        long toOrder = userLockRegistry.lockOrder(toId);
+        boolean fromFirst = fromOrder < toOrder || (fromOrder == toOrder && fromId < toId);
+
+        long waitStart = pointMetrics.start();
+        UserLock firstLock = pointAdmission.lock(userLockRegistry, fromFirst ? fromId : toId);
+        UserLock secondLock;
+        try {
+            secondLock = pointAdmission.lock(userLockRegistry, fromFirst ? toId : fromId);
+        } catch (RuntimeException e) {
+            firstLock.unlock();
+            throw e;
+        }
+        long holdStart = pointMetrics.lockAcquired(OPERATION_TRANSFER, waitStart);
+
+        try {
+            UserPoint from = userPointCache.getOrLoad(fromId, this::selectUserPoint);
+            if (from == null) {
+                throw new CustomException(ErrorCode.USER_NOT_FOUND);
+            }
+            if (from.point() < amount) {
+                throw new CustomException(ErrorCode.POINT_INSUFFICIENT);
+            }
+
+            UserPoint to = userPointCache.getOrLoad(toId, this::selectUserPoint);
+            long toPoint = 0;
+            if (to != null) {
+                toPoint = to.point();
+                userPointSnapshots.beginWrite(to);
+            }
+            userPointSnapshots.beginWrite(from);
+
+            UserPoint fromResult = saveUserPoint(fromId, from.point() - amount);
+            UserPoint toResult = saveUserPoint(toId, toPoint + amount);
+            userPointCache.put(fromResult);
+            userPointCache.put(toResult);
+            long updateMillis = System.currentTimeMillis();
+            pointHistoryOutbox.append(fromId, amount, TransactionType.TRANSFER_OUT, updateMillis);
+            pointHistoryOutbox.append(toId, amount, TransactionType.TRANSFER_IN, updateMillis);
+            pointLotLedger.consumed(fromId, amount, from.point());
+            pointLotLedger.charged(toId, amount, updateMillis);  // 받은 포인트는 받은 시점부터 유효기간이 시작된다.
+            userPointSnapshots.publish(fromResult);
+            userPointSnapshots.publish(toResult);
+            return new PointTransfer(fromResult, toResult);
+        } catch (RuntimeException e) {
+            userPointSnapshots.cancelWrite(fromId);
+            userPointSnapshots.cancelWrite(toId);
+            throw e;
+        } finally {
+            secondLock.unlock();
+            firstLock.unlock();
+            pointMetrics.lockReleased(OPERATION_TRANSFER, holdStart);
+        }
+    }
+
+    static void transferValidations(long fromId, long toId, long amount) {
+        if (fromId <= 0 || toId <= 0) {
+            throw new CustomException(ErrorCode.INVALID_USER_ID);
+        }
+
+        if (fromId == toId) {
+            throw new CustomException(ErrorCode.SELF_TRANSFER);
+        }
+
+        if (amount <= 0) {
+            throw new CustomException(ErrorCode.INVALID_POINT_INPUT);
+        }
+
+        if (amount > MAX_POINT_LIMIT) {
+            throw new CustomException(ErrorCode.INPUT_POINT_EXCEEDED);
+        }
+    }
+
+    /**
+     * 유효기간이 지난 충전분의 남은 포인트를 소멸시키고 EXPIRE 이력을 남긴다. (PointExpirationScheduler 가 호출)
+     * - 충전/사용과 같은 사용자 락 안에서 장부와 잔액을 함께 바꾼다. 장부에서는 잔액 저장과 이력 추가가 끝난 뒤에 뺀다.
+     * - 락은 point.admission.max-lock-wait 까지만 기다리고, 넘으면 LOCK_WAIT_TIMEOUT 을 던진다. (호출하는 쪽이 다시 시도)
+     * - 소멸시킬 포인트가 없으면 잔액은 바꾸지 않고 null 을 돌려준다.
+     * - 소멸된 포인트는 EXPIRE 이력으로 기간별 집계에 사용으로 잡힌다.
+     */
+    public UserPoint expirePoints(long id) {
+        return expirePoints(id, System.currentTimeMillis());
+    }
+
+    UserPoint expirePoints(long id, long nowMillis) {
+        long waitStart = pointMetrics.start();
+        UserLock lock = pointAdmission.tryLock(userLockRegistry, id);  // 백그라운드 작업이므로 수용 한도로 거절하지 않는다.
+        if (lock == null) {
+            pointMetrics.rejected(OPERATION_EXPIRE, ErrorCode.LOCK_WAIT_TIMEOUT);
+            throw new CustomException(ErrorCode.LOCK_WAIT_TIMEOUT);
+        }
+        long holdStart = pointMetrics.lockAcquired(OPERATION_EXPIRE, waitStart);
+
+        try {
+            UserPoint userPoint = userPointCache.getOrLoad(id, this::selectUserPoint);
+            long expiring = pointLotLedger.expiring(id, nowMillis);
+            long amount = userPoint == null ? 0 : Math.min(expiring, userPoint.point());
+            if (amount == 0) {
+                pointLotLedger.expire(id, nowMillis);
+                return null;
+            }
+
+            userPointSnapshots.beginWrite(userPoint);
+            UserPoint result = saveUserPoint(id, userPoint.point() - amount);
+            userPointCache.put(result);
+            pointHistoryOutbox.append(id, amount, TransactionType.EXPIRE, result.updateMillis());
+            pointLotLedger.expire(id, nowMillis);
+            userPointSnapshots.publish(result);
+            return result;
+        } catch (RuntimeException e) {
+            userPointSnapshots.cancelWrite(id);
+            throw e;
+        } finally {
+            lock.unlock();
+            pointMetrics.lockReleased(OPERATION_EXPIRE, holdStart);
+        }
+    }
+
+    /**
+     * 현재 잔액 조회. OPTIMISTIC 모드에서는 버전 저장소가, 그 외에는 잔액 스냅샷이 기준이 된다.
+     */
+    private UserPoint readUserPoint(long id) {
+        if (pointWriteProperties.mode() == PointWriteMode.OPTIMISTIC) {
+            return optimisticPointWriter.read(id);
+        }
+        VersionedUserPoint snapshot = readSnapshot(id);
+        return snapshot == null ? null : snapshot.userPoint();
+    }
+
+    /**
+     * 잔액 스냅샷 조회
+     * - 스냅샷이 있으면 락 없이 바로 돌려준다. 이력까지 반영이 끝난 잔액만 보인다.
+     * - 없으면 반영 중인 쓰기가 없는 사용자이므로 잔액 캐시에서 읽는다. (게시하지 않는다)
+     * - 읽은 뒤에 스냅샷이 생겼다면 그 사이 쓰기가 시작된 것이므로 읽은 값 대신 스냅샷을 돌려준다.
+     */
+    private VersionedUserPoint readSnapshot(long id) {
+        VersionedUserPoint snapshot = userPointSnapshots.get(id);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        UserPoint loaded = userPointCache.getOrLoad(id, this::selectUserPoint);
+        VersionedUserPoint started = userPointSnapshots.get(id);
+        if (started != null) {
+            return started;
+        }
+        return loaded == null ? null : new VersionedUserPoint(loaded, 0);
+    }
+
+    private UserPoint selectUserPoint(long id) {
+        long start = pointMetrics.start();
+        UserPoint userPoint = userPointRepository.selectById(id);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "select", start);
+        return userPoint;
+    }
+
+    private UserPoint saveUserPoint(long id, long amount) {
+        long start = pointMetrics.start();
+        UserPoint userPoint = userPointRepository.insertOrUpdate(id, amount);
+        pointMetrics.tableCall(PointMetrics.TABLE_USER_POINT, "insertOrUpdate", start);
+        return userPoint;
+    }
 }
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 사용자별 포인트 요약
+ * - 누적 충전/사용 금액과 건수
+ * - hourly / daily : 최근 구간별 집계 (오래된 구간부터, 거래가 없던 구간은 0)
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long chargeCount,
+        long useCount,
+        List<Bucket> hourly,
+        List<Bucket> daily
+) {
+
+    public record Bucket(
+            long startMillis,
+            long charged,
+            long used,
+            int chargeCount,
+            int useCount
+    ) {
+    }
+}
@@ -0,0 +1,189 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 포인트 요약을 이력이 저장될 때마다 O(1) 로 갱신한다.
+ * - 조회는 이력을 훑지 않고 누적값과 ring buffer 만 읽는다.
+ * - 잔액을 늘리는 거래(CHARGE, TRANSFER_IN)는 충전 쪽, 줄이는 거래(USE, TRANSFER_OUT, EXPIRE)는 사용 쪽으로 집계한다.
+ * - 요약은 저장된 이력에서 만든 캐시다. 요약이 없는 사용자(처음 조회, 제거됨, 재시작)는 조회할 때 이력을 읽어 다시 만든다.
+ * - 이력 id 로 마지막 반영 위치를 기억하므로, 다시 만드는 중에 저장된 이력도 한 번씩만 반영된다.
+ * - 보관하는 사용자 수가 maxUsers(point.summary.max-users) 를 넘으면 최근에 쓰이지 않은 사용자부터 90% 까지 제거한다. (clock, second chance)
+ */
+@Component
+public class PointSummaryAggregator {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int LOAD_PAGE_SIZE = 1000;  // 다시 만들 때 한 번에 읽는 이력 수
+
+    private final PointSummaryProperties properties;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final ConcurrentHashMap<Long, UserPointSummary> summaryMap = new ConcurrentHashMap<>();  // 사용자 ID별 요약
+    private final AtomicBoolean evicting = new AtomicBoolean();  // 제거는 한 스레드만
+    private final LongAdder evictionCount = new LongAdder();
+
+    public PointSummaryAggregator(PointSummaryProperties properties, PointHistoryRepository pointHistoryRepository) {
+        this.properties = properties;
+        this.pointHistoryRepository = pointHistoryRepository;
+    }
+
+    /**
+     * 저장된 이력을 요약에 반영한다. 같은 사용자의 이력은 저장된 순서대로 호출해야 한다. (PointHistoryOutbox)
+     * 요약이 없는 사용자는 건너뛴다. 다음 조회 때 이 이력까지 읽어 만든다.
+     */
+    public void record(PointHistory pointHistory) {
+        UserPointSummary summary = summaryMap.get(pointHistory.userId());
+        if (summary != null) {
+            summary.add(pointHistory);
+        }
+    }
+
+    public PointSummary summary(long userId, long nowMillis) {
+        UserPointSummary summary = summaryMap.get(userId);
+        if (summary == null) {
+            summary = load(userId);
+        } else {
+            summary.touch();
+        }
+        return summary.snapshot(userId, nowMillis);
+    }
+
+    public int size() {
+        return summaryMap.size();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 빈 요약을 락을 잡은 채로 먼저 넣고, 저장된 이력을 처음부터 읽어 채운다.
+     * 넣은 뒤에 저장된 이력은 record 가 락을 기다렸다가 반영하고, 이미 읽은 이력은 id 로 건너뛴다.
+     */
+    private UserPointSummary load(long userId) {
+        UserPointSummary created = new UserPointSummary(properties);
+        created.lock.lock();
+        try {
+            UserPointSummary raced = summaryMap.putIfAbsent(userId, created);
+            if (raced != null) {
+                return raced;
+            }
+            try {
+                List<PointHistory> page;
+                do {
+                    page = pointHistoryRepository.findAllByUserId(userId, created.lastHistoryId, LOAD_PAGE_SIZE);
+                    page.forEach(created::apply);
+                } while (page.size() == LOAD_PAGE_SIZE);
+            } catch (RuntimeException e) {
+                summaryMap.remove(userId, created);
+                throw e;
+            }
+        } finally {
+            created.lock.unlock();
+        }
+        if (summaryMap.size() > Math.max(1, properties.maxUsers())) {
+            evict();
+        }
+        return created;
+    }
+
+    /**
+     * maxUsers 의 90% 까지 줄인다. 최근 조회된 요약은 표시만 지우고 한 바퀴 더 남긴다.
+     * 제거된 요약에 늦게 반영되는 이력은 버려지지만, 다시 만들 때 저장소에서 읽으므로 빠지지 않는다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;  // 다른 스레드가 이미 줄이는 중
+        }
+        try {
+            int maxUsers = Math.max(1, properties.maxUsers());
+            int target = maxUsers - maxUsers / 10;
+            for (int round = 0; round < 2 && summaryMap.size() > target; round++) {
+                for (var mapping : summaryMap.entrySet()) {
+                    if (summaryMap.size() <= target) {
+                        break;
+                    }
+                    UserPointSummary summary = mapping.getValue();
+                    if (summary.referenced) {
+                        summary.referenced = false;
+                    } else if (summaryMap.remove(mapping.getKey(), summary)) {
+                        evictionCount.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static class UserPointSummary {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PointSummaryRing hourly;
+        private final PointSummaryRing daily;
+        private long totalCharged;
+        private long totalUsed;
+        private long chargeCount;
+        private long useCount;
+        private long lastHistoryId;  // 마지막으로 반영한 이력 id (lock 으로 보호)
+        private volatile boolean referenced;  // 마지막 제거 이후 조회됐는지
+
+        UserPointSummary(PointSummaryProperties properties) {
+            this.hourly = new PointSummaryRing(HOUR_MILLIS, properties.hourlyBuckets());
+            this.daily = new PointSummaryRing(DAY_MILLIS, properties.dailyBuckets());
+        }
+
+        void touch() {
+            if (!referenced) {
+                referenced = true;  // 이미 표시된 경우 쓰지 않는다.
+            }
+        }
+
+        void add(PointHistory pointHistory) {
+            lock.lock();
+            try {
+                apply(pointHistory);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * lock 을 잡은 상태에서 호출한다. 이미 반영한 이력은 건너뛴다.
+         */
+        private void apply(PointHistory pointHistory) {
+            if (pointHistory.id() <= lastHistoryId) {
+                return;
+            }
+            lastHistoryId = pointHistory.id();
+            if (pointHistory.type().isCredit()) {
+                totalCharged += pointHistory.amount();
+                chargeCount++;
+            } else {
+                totalUsed += pointHistory.amount();
+                useCount++;
+            }
+            hourly.add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+            daily.add(pointHistory.type(), pointHistory.amount(), pointHistory.updateMillis());
+        }
+
+        PointSummary snapshot(long userId, long nowMillis) {
+            lock.lock();
+            try {
+                return new PointSummary(userId, totalCharged, totalUsed, chargeCount, useCount,
+                        hourly.buckets(nowMillis), daily.buckets(nowMillis));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 사용자별 포인트 요약 설정
+ * - hourlyBuckets : 시간 단위 집계를 보관할 구간 수 (기본 최근 24시간)
+ * - dailyBuckets : 일 단위 집계를 보관할 구간 수 (기본 최근 30일, UTC 기준)
+ * - maxUsers : 요약을 메모리에 보관할 최대 사용자 수. 넘으면 제거하고, 다시 조회할 때 이력에서 만든다.
+ */
+@ConfigurationProperties(prefix = "point.summary")
+public record PointSummaryProperties(
+        @DefaultValue("24") int hourlyBuckets,
+        @DefaultValue("30") int dailyBuckets,
+        @DefaultValue("100000") int maxUsers
+) {
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 고정 길이 구간(시간/일) 집계 ring buffer
+ * - 구간 번호(updateMillis / width)를 크기로 나눈 나머지 위치에 저장하고, 위치에 남은 구간이 지난 것이면 비우고 다시 쓴다.
+ * - 구간마다 primitive 배열 한 칸씩만 사용한다.
+ * - 동기화는 호출하는 쪽(UserPointSummary)이 맡는다.
+ */
+class PointSummaryRing {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long width;
+    private final long[] epochs;
+    private final long[] charged;
+    private final long[] used;
+    private final int[] chargeCounts;
+    private final int[] useCounts;
+
+    PointSummaryRing(long width, int size) {
+        this.width = width;
+        this.epochs = new long[size];
+        this.charged = new long[size];
+        this.used = new long[size];
+        this.chargeCounts = new int[size];
+        this.useCounts = new int[size];
+        Arrays.fill(epochs, EMPTY);
+    }
+
+    void add(TransactionType type, long amount, long updateMillis) {
+        long epoch = Math.floorDiv(updateMillis, width);
+        int index = (int) Math.floorMod(epoch, (long) epochs.length);
+        if (epochs[index] != epoch) {
+            if (epochs[index] != EMPTY && epochs[index] > epoch) {
+                return;  // 보관 범위보다 오래된 거래
+            }
+            epochs[index] = epoch;
+            charged[index] = 0;
+            used[index] = 0;
+            chargeCounts[index] = 0;
+            useCounts[index] = 0;
+        }
+        if (type.isCredit()) {
+            charged[index] += amount;
+            chargeCounts[index]++;
+        } else {
+            used[index] += amount;
+            useCounts[index]++;
+        }
+    }
+
+    /**
+     * nowMillis 가 속한 구간까지 최근 size 개 구간을 오래된 순서로 돌려준다.
+     */
+    List<PointSummary.Bucket> buckets(long nowMillis) {
+        long current = Math.floorDiv(nowMillis, width);
+        List<PointSummary.Bucket> buckets = new ArrayList<>(epochs.length);
+        for (long epoch = current - epochs.length + 1; epoch <= current; epoch++) {
+            int index = (int) Math.floorMod(epoch, (long) epochs.length);
+            buckets.add(epochs[index] == epoch
+                    ? new PointSummary.Bucket(epoch * width, charged[index], used[index], chargeCounts[index], useCounts[index])
+                    : new PointSummary.Bucket(epoch * width, 0, 0, 0, 0));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과
+ * - from : 보낸 사용자의 이체 후 잔액
+ * - to : 받은 사용자의 이체 후 잔액
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 충전/사용 동시성 제어 방식
+ * - LOCK : 사용자 락을 잡고 한 건씩 처리
+ * - GROUP_COMMIT : 사용자 락을 잡은 스레드가 대기 중인 요청을 묶어서 처리
+ * - OPTIMISTIC : 락 없이 버전 비교(compare-and-set)로 반영하고, 충돌 시 재시도
+ */
+public enum PointWriteMode {
+    LOCK, GROUP_COMMIT, OPTIMISTIC
+}
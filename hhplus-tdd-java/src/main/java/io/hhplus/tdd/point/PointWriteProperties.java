@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용 처리 방식 설정
+ * - mode : 동시성 제어 방식 (LOCK / GROUP_COMMIT / OPTIMISTIC)
+ * - optimistic.maxRetries : OPTIMISTIC 모드에서 충돌 시 재시도 횟수
+ * - optimistic.backoffMicros : OPTIMISTIC 모드에서 첫 재시도 전 대기 시간 (재시도마다 두 배씩 늘어난다)
+ */
+@ConfigurationProperties(prefix = "point.write")
+public record PointWriteProperties(
+        @DefaultValue("LOCK") PointWriteMode mode,
+        @DefaultValue Optimistic optimistic
+) {
+
+    public record Optimistic(
+            @DefaultValue("10") int maxRetries,
+            @DefaultValue("50") long backoffMicros
+    ) {
+    }
+}
@@ -5,7 +5,18 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 이체로 보낸 포인트 (보낸 사용자의 이력)
+ * - TRANSFER_IN : 이체로 받은 포인트 (받은 사용자의 이력)
+ * - EXPIRE : 유효기간이 지나 소멸된 포인트
+ * journal 은 ordinal 로 기록하므로 새 종류는 끝에만 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN, EXPIRE;
+
+    /**
+     * 잔액을 늘리는 거래인지 (CHARGE, TRANSFER_IN)
+     */
+    public boolean isCredit() {
+        return this == CHARGE || this == TRANSFER_IN;
+    }
 }
\ No newline at end of file
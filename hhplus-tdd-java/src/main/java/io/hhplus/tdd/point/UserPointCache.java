@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * 잔액 저장소(UserPointRepository) 앞단의 write-through 잔액 캐시
+ * - 모든 쓰기는 PointService 를 거치므로, 충전/사용 시 사용자 락을 잡은 상태에서 캐시를 갱신한다.
+ * - 조회는 락 없이 ConcurrentHashMap 에서 읽는다.
+ * - 크기가 maxSize 를 넘으면 최근에 조회되지 않은 사용자부터 maxSize 의 90% 까지 제거한다. (clock, second chance)
+ * - 조회 결과가 없는(null) 사용자는 캐시하지 않는다.
+ * - 락 없이 읽은 값은 읽기 시작한 뒤 같은 사용자(스트라이프)에 쓰기가 있었다면 넣지 않는다.
+ *   그 사이 쓰기가 캐시를 갱신하고 제거됐더라도 오래된 값이 다시 들어가지 않는다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final int WRITE_STAMP_STRIPES = 1024;  // 2의 거듭제곱
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);  // 스트라이프별 put 횟수
+    private final AtomicBoolean evicting = new AtomicBoolean();  // 제거는 한 스레드만
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(PointCacheProperties properties) {
+        this.enabled = properties.enabled() && properties.maxSize() > 0;
+        this.maxSize = properties.maxSize();
+    }
+
+    /**
+     * 캐시에 있으면 바로 돌려주고, 없으면 loader 로 조회한 결과를 캐시에 넣고 돌려준다.
+     * 조회 중에 쓰기가 먼저 캐시를 갱신했다면(이미 제거됐더라도) 조회한 값을 넣지 않는다.
+     */
+    public UserPoint getOrLoad(long id, LongFunction<UserPoint> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        Entry cached = cache.get(id);
+        if (cached != null) {
+            hitCount.increment();
+            cached.touch();
+            return cached.userPoint();
+        }
+
+        missCount.increment();
+        int stripe = stripeOf(id);
+        long stamp = writeStamps.get(stripe);
+        UserPoint loaded = loader.apply(id);
+        if (loaded == null) {
+            return null;
+        }
+
+        Entry current = cache.computeIfAbsent(id, key -> writeStamps.get(stripe) == stamp ? new Entry(loaded) : null);
+        if (current == null) {
+            return loaded;  // 그 사이 쓰기가 있었으므로 캐시하지 않는다.
+        }
+        if (current.userPoint() == loaded) {
+            evictIfFull();
+        }
+        return current.userPoint();
+    }
+
+    /**
+     * 저장이 끝난 잔액을 캐시에 반영한다. 사용자 락을 잡은 상태에서 호출해야 한다.
+     */
+    public void put(UserPoint userPoint) {
+        if (!enabled) {
+            return;
+        }
+
+        writeStamps.incrementAndGet(stripeOf(userPoint.id()));  // 캐시에 넣기 전에 올려야 진행 중인 조회가 넣지 않는다.
+        cache.put(userPoint.id(), new Entry(userPoint));
+        evictIfFull();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void evictIfFull() {
+        if (cache.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * maxSize 의 90% 까지 줄인다. 최근 조회된 항목은 표시만 지우고 한 바퀴 더 남긴다.
+     * 그 사이 바뀐 항목은 remove(key, value) 가 실패하므로 남는다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;  // 다른 스레드가 이미 줄이는 중
+        }
+        try {
+            int target = maxSize - maxSize / 10;
+            for (int round = 0; round < 2 && cache.size() > target; round++) {
+                for (var mapping : cache.entrySet()) {
+                    if (cache.size() <= target) {
+                        break;
+                    }
+                    Entry entry = mapping.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else if (cache.remove(mapping.getKey(), entry)) {
+                        evictionCount.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static int stripeOf(long id) {
+        return Long.hashCode(id) & (WRITE_STAMP_STRIPES - 1);
+    }
+
+    /**
+     * referenced : 마지막 제거 이후 조회됐는지
+     */
+    private static final class Entry {
+
+        private final UserPoint userPoint;
+        private volatile boolean referenced;
+
+        private Entry(UserPoint userPoint) {
+            this.userPoint = userPoint;
+        }
+
+        private UserPoint userPoint() {
+            return userPoint;
+        }
+
+        private void touch() {
+            if (!referenced) {
+                referenced = true;  // 이미 표시된 경우 쓰지 않는다.
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔액 조회용 불변 스냅샷 (LOCK / GROUP_COMMIT 모드)
+ * - 쓰기는 잔액을 바꾸기 전에 바뀌기 전 잔액을 게시하고(beginWrite), 잔액 저장과 이력 추가가 모두 끝난 뒤에 새 스냅샷으로 바꿔 끼운다. (사용자 락 안에서 호출)
+ * - 조회는 ConcurrentHashMap.get 한 번으로 끝나므로 락을 잡지 않고, 반영 중인 잔액을 보지 않는다.
+ * - 조회가 스냅샷을 찾지 못해도 게시하지 않는다. 없는 사용자 ID 로 조회해도 항목이 늘지 않는다.
+ * - 쓰기가 끝난 사용자 수가 maxSize(point.cache.max-size) 를 넘으면 반영 중이 아닌 항목을 임의 순서로 제거한다.
+ *   제거된 사용자는 스냅샷이 없는 사용자와 같게 잔액 캐시에서 읽는다. (반영 중인 항목은 제거하지 않으므로 이력보다 앞선 잔액이 보이지 않는다)
+ */
+@Component
+public class UserPointSnapshots {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();  // 제거는 한 스레드만
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointSnapshots(PointCacheProperties properties) {
+        this.maxSize = Math.max(0, properties.maxSize());
+    }
+
+    public VersionedUserPoint get(long id) {
+        Entry entry = snapshots.get(id);
+        return entry == null ? null : entry.snapshot();
+    }
+
+    /**
+     * 잔액을 바꾸기 전에 호출한다. 스냅샷이 없으면 userPoint 를 version 0 으로 게시하고, 반영이 끝날 때까지 제거하지 않는다.
+     * 이후 조회는 반영 중인 잔액을 저장소에서 읽지 않고 이 스냅샷을 본다.
+     */
+    public void beginWrite(UserPoint userPoint) {
+        snapshots.compute(userPoint.id(), (id, entry) ->
+                new Entry(entry == null ? new VersionedUserPoint(userPoint, 0) : entry.snapshot(), true));
+    }
+
+    /**
+     * 반영하지 않고 끝난 쓰기(모두 거절, 저장 실패)의 표시를 지운다.
+     */
+    public void cancelWrite(long id) {
+        snapshots.computeIfPresent(id, (key, entry) -> entry.writing() ? new Entry(entry.snapshot(), false) : entry);
+    }
+
+    /**
+     * 반영이 끝난 잔액을 다음 버전으로 게시한다. 사용자 락을 잡은 상태에서 호출해야 한다.
+     */
+    public VersionedUserPoint publish(UserPoint userPoint) {
+        Entry previous = snapshots.get(userPoint.id());
+        VersionedUserPoint next = new VersionedUserPoint(userPoint, previous == null ? 1 : previous.snapshot().version() + 1);
+        snapshots.put(userPoint.id(), new Entry(next, false));
+        if (snapshots.size() > maxSize) {
+            evict();
+        }
+        return next;
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * maxSize 의 90% 까지 줄인다. 반영 중인 항목은 건너뛰고, 그 사이 바뀐 항목은 remove(key, value) 가 실패하므로 남는다.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;  // 다른 쓰기가 이미 줄이는 중
+        }
+        try {
+            long target = maxSize - maxSize / 10;
+            Iterator<Map.Entry<Long, Entry>> iterator = snapshots.entrySet().iterator();
+            while (snapshots.size() > target && iterator.hasNext()) {
+                Map.Entry<Long, Entry> candidate = iterator.next();
+                if (!candidate.getValue().writing() && snapshots.remove(candidate.getKey(), candidate.getValue())) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Entry(
+            VersionedUserPoint snapshot,
+            boolean writing
+    ) {
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 버전이 붙은 잔액. 같은 사용자에 대해 반영될 때마다 version 이 1씩 증가한다.
+ */
+public record VersionedUserPoint(
+        UserPoint userPoint,
+        long version
+) {
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * 잔액 저장소(UserPointRepository) 앞단의 버전 잔액 저장소 (OPTIMISTIC 모드)
+ * - 잔액의 기준은 이 저장소다. 반영은 compare-and-set 으로만 하고, 테이블은 반영된 순서대로 뒤따라 저장된다.
+ * - compare-and-set 과 저장 대기열 추가는 한 번에 일어나므로 대기열은 항상 버전 순서다.
+ *   대기열은 사용자별로 한 스레드(drainer)만 비우고, 나머지 쓰기는 결과 future 를 기다린다. (polling 없음)
+ * - 저장에 실패하면 잔액을 마지막으로 저장된 값(durable)으로 되돌리고, 그 위에서 계산된 대기 쓰기도 함께 실패시킨다.
+ * - 대기 중인 쓰기가 없는 사용자 수가 maxSize(point.cache.max-size) 를 넘으면 임의 순서로 제거한다.
+ *   제거된 사용자는 테이블에 최신 잔액이 저장된 상태이므로 다음 쓰기가 테이블에서 다시 읽는다.
+ * - 조회(peek)는 저장소에 없는 사용자를 넣지 않는다.
+ */
+@Component
+public class VersionedUserPointStore {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Long, Slot> store = new ConcurrentHashMap<>();
+    // 테이블에서 읽어 넣는 동안(read) 같은 사용자가 제거됐다가 오래된 값으로 다시 들어가지 않도록, 제거는 쓰기 락을 잡고 한다.
+    private final StampedLock evictionLock = new StampedLock();
+    private final AtomicBoolean evicting = new AtomicBoolean();  // 제거는 한 스레드만
+    private final LongAdder evictionCount = new LongAdder();
+
+    public VersionedUserPointStore(PointCacheProperties properties) {
+        this.maxSize = Math.max(0, properties.maxSize());
+    }
+
+    /**
+     * 쓰기용 조회. 저장소에 없으면 loader 로 조회해 version 0 으로 넣는다. 조회 결과가 없으면 null 을 넣고 null 을 돌려준다.
+     */
+    public VersionedUserPoint read(long id, LongFunction<UserPoint> loader) {
+        Slot current = store.get(id);
+        if (current != null) {
+            return current.point;
+        }
+
+        long stamp = evictionLock.readLock();
+        try {
+            Slot raced = store.get(id);
+            if (raced != null) {
+                return raced.point;
+            }
+            UserPoint loaded = loader.apply(id);
+            Slot initial = new Slot(loaded == null ? null : new VersionedUserPoint(loaded, 0));
+            raced = store.putIfAbsent(id, initial);
+            return (raced != null ? raced : initial).point;
+        } finally {
+            evictionLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 조회용. 저장소에 없으면 loader 로 조회한 값을 version 0 으로 돌려주고, 저장소에는 넣지 않는다.
+     */
+    public VersionedUserPoint peek(long id, LongFunction<UserPoint> loader) {
+        Slot current = store.get(id);
+        if (current != null) {
+            return current.point;
+        }
+        UserPoint loaded = loader.apply(id);
+        return loaded == null ? null : new VersionedUserPoint(loaded, 0);
+    }
+
+    public VersionedUserPoint get(long id) {
+        Slot current = store.get(id);
+        return current == null ? null : current.point;
+    }
+
+    /**
+     * expected 가 아직 최신일 때만 잔액을 write.next 로 바꾸고 write 를 저장 대기열 끝에 넣는다. (expected 는 read 로 읽은 값)
+     * - CONFLICT : 그 사이 다른 쓰기가 반영됐다.
+     * - DRAIN : 대기열을 비우는 스레드가 없으므로 호출한 스레드가 takePending 으로 비워야 한다.
+     * - QUEUED : 대기열을 비우는 스레드가 write 까지 저장하고 결과를 채운다.
+     */
+    Append compareAndAppend(long id, VersionedUserPoint expected, PendingWrite write) {
+        Append[] result = new Append[1];
+        store.computeIfPresent(id, (key, slot) -> {
+            if (!Objects.equals(slot.point, expected)) {
+                result[0] = Append.CONFLICT;
+                return slot;
+            }
+            slot.point = write.next();
+            slot.pending.add(write);
+            result[0] = slot.draining ? Append.QUEUED : Append.DRAIN;
+            slot.draining = true;
+            return slot;
+        });
+        return result[0] == null ? Append.CONFLICT : result[0];  // 그 사이 제거됐다면 다시 읽는다.
+    }
+
+    /**
+     * 저장 대기열을 통째로 꺼낸다. (drainer 만 호출)
+     * 비어 있으면 drainer 역할을 내려놓고 빈 목록을 돌려주며, 이후 추가되는 쓰기는 DRAIN 을 받는다.
+     */
+    List<PendingWrite> takePending(long id) {
+        List<PendingWrite> taken = new ArrayList<>();
+        store.computeIfPresent(id, (key, slot) -> {
+            taken.addAll(slot.pending);
+            slot.pending.clear();
+            slot.draining = !taken.isEmpty();
+            return slot;
+        });
+        if (taken.isEmpty() && store.size() > maxSize) {
+            evict();
+        }
+        return taken;
+    }
+
+    /**
+     * 마지막으로 테이블에 저장된 잔액을 기록한다. (drainer 만 호출)
+     */
+    void persisted(long id, VersionedUserPoint durable) {
+        store.computeIfPresent(id, (key, slot) -> {
+            slot.durable = durable;
+            slot.dirty = false;
+            return slot;
+        });
+    }
+
+    /**
+     * 저장에 실패했을 때 잔액을 마지막으로 저장된 값으로 되돌리고, 그 위에서 계산된 대기 쓰기를 꺼내 돌려준다. (drainer 만 호출)
+     * tableInSync 가 false 면 테이블이 저장소와 다를 수 있으므로, 다음 저장이 성공할 때까지 제거하지 않는다.
+     */
+    List<PendingWrite> rollback(long id, boolean tableInSync) {
+        List<PendingWrite> doomed = new ArrayList<>();
+        store.computeIfPresent(id, (key, slot) -> {
+            slot.point = slot.durable;
+            doomed.addAll(slot.pending);
+            slot.pending.clear();
+            slot.dirty |= !tableInSync;
+            return slot;
+        });
+        return doomed;
+    }
+
+    /**
+     * 마지막으로 테이블에 저장된 잔액 (없는 사용자면 null)
+     */
+    VersionedUserPoint durable(long id) {
+        Slot current = store.get(id);
+        return current == null ? null : current.durable;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * maxSize 의 90% 까지 줄인다. 저장 대기 중이거나 테이블과 다를 수 있는 사용자는 건너뛴다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;  // 다른 쓰기가 이미 줄이는 중
+        }
+        long stamp = evictionLock.writeLock();
+        try {
+            long target = maxSize - maxSize / 10;
+            for (Long id : store.keySet()) {
+                if (store.size() <= target) {
+                    break;
+                }
+                boolean[] removed = new boolean[1];
+                store.computeIfPresent(id, (key, slot) -> {
+                    removed[0] = slot.isSettled();
+                    return removed[0] ? null : slot;
+                });
+                if (removed[0]) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlockWrite(stamp);
+            evicting.set(false);
+        }
+    }
+
+    enum Append {
+        CONFLICT,
+        DRAIN,
+        QUEUED
+    }
+
+    /**
+     * 반영됐지만 아직 테이블 저장과 이력 추가가 끝나지 않은 쓰기
+     */
+    record PendingWrite(
+            VersionedUserPoint next,
+            TransactionType type,
+            long amount,
+            CompletableFuture<UserPoint> result
+    ) {
+    }
+
+    /**
+     * point : 반영된 최신 잔액 (없는 사용자면 null)
+     * durable : 테이블에 저장된 마지막 잔액
+     * pending : 반영 순서대로 쌓인 저장 대기 쓰기
+     * draining : 대기열을 비우는 스레드가 있는지
+     * dirty : 저장 실패 후 되돌리지 못해 테이블이 durable 과 다를 수 있는지
+     * point, durable 외의 필드는 compute 안에서만 읽고 쓴다.
+     */
+    private static final class Slot {
+
+        volatile VersionedUserPoint point;
+        volatile VersionedUserPoint durable;
+        final Queue<PendingWrite> pending = new ArrayDeque<>();
+        boolean draining;
+        boolean dirty;
+
+        Slot(VersionedUserPoint initial) {
+            this.point = initial;
+            this.durable = initial;
+        }
+
+        boolean isSettled() {
+            return !draining && pending.isEmpty() && !dirty;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 사용자 ID 를 노드에 배정하는 consistent hash ring
+ * - 노드마다 virtualNodes 개의 지점을 ring 위에 두고, 사용자 ID 의 hash 에서 시계 방향으로 처음 만나는 지점의 노드가 담당한다.
+ * - 노드가 추가/제거되면 그 노드의 지점과 맞닿은 구간의 사용자만 담당 노드가 바뀐다. (전체의 약 1/노드 수)
+ * - 지점과 담당 노드를 정렬된 배열로 보관하고 이진 탐색으로 찾으므로 조회 시 객체를 만들지 않는다.
+ * - 만든 뒤에는 바뀌지 않는다. 구성이 바뀌면 새 ring 을 만들어 교체한다.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final long[] points;   // 정렬된 ring 위 지점
+    private final String[] owners; // points[i] 를 가진 노드
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("ring needs at least one node and one virtual node");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+
+        List<Point> ring = new ArrayList<>(nodes.size() * virtualNodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.add(new Point(hash(node + "#" + i), node));
+            }
+        }
+        // 지점이 겹치면 노드 ID 순으로 정해서 어느 노드에서 만들어도 같은 ring 이 되게 한다.
+        ring.sort(Comparator.comparingLong(Point::hash).thenComparing(Point::node));
+
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash();
+            owners[i] = ring.get(i).node();
+        }
+    }
+
+    /**
+     * 사용자 ID 를 담당하는 노드
+     */
+    public String ownerOf(long userId) {
+        int index = Arrays.binarySearch(points, hash(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * 사용자 ID 의 ring 위치 (murmur3 fmix64)
+     */
+    static long hash(long userId) {
+        long h = userId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 가상 노드 이름의 ring 위치 (FNV-1a 64 후 fmix64 로 섞는다). JVM 과 관계없이 같은 값이 나온다.
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return hash(h);
+    }
+
+    private record Point(
+            long hash,
+            String node
+    ) {
+    }
+}
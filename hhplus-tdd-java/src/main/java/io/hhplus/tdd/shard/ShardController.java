@@ -0,0 +1,52 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/shard")
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardController {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * 현재 ring 구성 조회
+     */
+    @GetMapping("nodes")
+    public List<ShardProperties.Node> nodes() {
+        return shardRouter.nodes();
+    }
+
+    /**
+     * ring 구성 변경 (모든 노드에 같은 목록으로 호출한다)
+     * - 전달 대상 주소가 바뀌므로 공유 비밀값(TOKEN_HEADER)을 가진 관리자만 호출할 수 있다.
+     */
+    @PutMapping("nodes")
+    public List<ShardProperties.Node> update(
+            @RequestHeader(value = ShardRouter.TOKEN_HEADER, required = false) String token,
+            @RequestBody List<ShardProperties.Node> nodes
+    ) {
+        if (!shardRouter.isTrusted(token)) {
+            throw new CustomException(ErrorCode.SHARD_FORBIDDEN);
+        }
+        shardRouter.update(nodes);
+        return shardRouter.nodes();
+    }
+
+    /**
+     * 사용자 ID 의 담당 노드 조회
+     */
+    @GetMapping("owner/{userId}")
+    public String owner(
+            @PathVariable long userId
+    ) {
+        return shardRouter.ownerOf(userId);
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 사용자 샤딩 설정
+ * - enabled : 여러 노드에 사용자를 나누어 담당할지 여부
+ * - self : 이 노드의 ID (nodes 중 하나)
+ * - nodes : ring 에 참여하는 노드 ID 와 주소 (모든 노드가 같은 목록을 가져야 한다)
+ * - virtualNodes : 노드당 ring 위 지점 수 (클수록 사용자가 고르게 나뉜다)
+ * - forwardTimeout : 담당 노드로 전달한 요청의 응답 대기 시간
+ * - secret : 노드끼리 전달한 요청과 ring 구성 변경을 인증하는 공유 비밀값 (모든 노드가 같은 값, 샤딩 사용 시 필수)
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record ShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("node-1") String self,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("160") int virtualNodes,
+        @DefaultValue("5s") Duration forwardTimeout,
+        @DefaultValue("") String secret
+) {
+
+    /**
+     * - id : 노드 ID
+     * - url : 노드 주소 (예 : http://localhost:8081)
+     */
+    public record Node(
+            String id,
+            String url
+    ) {
+    }
+}
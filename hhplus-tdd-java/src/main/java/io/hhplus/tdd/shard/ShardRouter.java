@@ -0,0 +1,115 @@
+package io.hhplus.tdd.shard;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 ring 구성으로 사용자 ID 의 담당 노드를 찾는다. (point.shard.enabled=true)
+ * - 구성이 바뀌면 ring 과 노드 주소를 한 번에 교체하므로, 조회 중인 요청은 이전 구성이나 새 구성 중 하나만 본다.
+ * - 구성 변경 시 담당 노드가 바뀌는 사용자는 추가/제거된 노드와 맞닿은 구간의 사용자뿐이다.
+ * - 노드끼리 전달한 요청과 구성 변경 요청은 TOKEN_HEADER 의 공유 비밀값으로 인증한다. (노드 간 통신은 내부망이나 TLS 로 보호한다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardRouter {
+
+    public static final String TOKEN_HEADER = "X-Point-Shard-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final String self;
+    private final int virtualNodes;
+    private final String secret;
+    private volatile Membership membership;
+
+    public ShardRouter(ShardProperties properties) {
+        if (properties.secret() == null || properties.secret().isBlank()) {
+            throw new IllegalStateException("point.shard.secret is required when point.shard.enabled=true");
+        }
+        this.self = properties.self();
+        this.virtualNodes = properties.virtualNodes();
+        this.secret = properties.secret();
+        this.membership = membershipOf(properties.nodes());
+    }
+
+    public boolean isLocal(long userId) {
+        return self.equals(ownerOf(userId));
+    }
+
+    public String ownerOf(long userId) {
+        return membership.ring().ownerOf(userId);
+    }
+
+    public String urlOf(String node) {
+        return membership.urls().get(node);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String secret() {
+        return secret;
+    }
+
+    /**
+     * 요청에 실린 token 이 공유 비밀값과 같은지 (걸리는 시간으로 값을 추측할 수 없도록 상수 시간에 비교한다)
+     */
+    public boolean isTrusted(String token) {
+        return token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<ShardProperties.Node> nodes() {
+        return membership.urls().entrySet().stream()
+                .map(entry -> new ShardProperties.Node(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public ConsistentHashRing ring() {
+        return membership.ring();
+    }
+
+    /**
+     * ring 구성을 바꾼다. 바꾼 뒤 들어온 요청부터 새 담당 노드로 전달된다.
+     */
+    public void update(List<ShardProperties.Node> nodes) {
+        Membership updated = membershipOf(nodes);
+        membership = updated;
+        log.info("shard ring updated : self={}, nodes={}", self, updated.urls().keySet());
+    }
+
+    private Membership membershipOf(List<ShardProperties.Node> nodes) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ShardProperties.Node node : nodes) {
+            if (node.id() == null || node.url() == null || urls.put(node.id(), stripTrailingSlash(node.url())) != null) {
+                throw new CustomException(ErrorCode.INVALID_SHARD_NODES);  // ID/주소 누락 또는 중복
+            }
+        }
+        if (!urls.containsKey(self)) {
+            throw new CustomException(ErrorCode.INVALID_SHARD_NODES);
+        }
+        return new Membership(new ConsistentHashRing(urls.keySet(), virtualNodes), Collections.unmodifiableMap(urls));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private record Membership(
+            ConsistentHashRing ring,
+            Map<String, String> urls
+    ) {
+    }
+}
@@ -0,0 +1,326 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointBatchProcessor;
+import io.hhplus.tdd.point.PointBatchProperties;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point/** 요청을 사용자 ID 의 담당 노드로 전달한다. (point.shard.enabled=true)
+ * - /point/{id}/**, /async/point/{id}/** : 담당 노드가 자신이면 그대로 처리하고, 아니면 요청을 담당 노드로 보내고 응답을 그대로 돌려준다.
+ * - /point/batch : 항목을 담당 노드별로 나누어 자신의 항목은 직접 처리하고, 나머지는 각 노드의 /point/batch 로 동시에 보낸 뒤 요청 순서대로 합친다.
+ * - 전달한 요청에는 FORWARDED_HEADER 와 공유 비밀값(TOKEN_HEADER)을 붙인다.
+ *   비밀값이 맞지 않으면 403(SHARD_FORBIDDEN), 맞더라도 이 노드가 담당하지 않는 사용자면 다시 전달하지 않고 503(SHARD_OWNER_MISMATCH) 으로 거절한다.
+ *   (구성 변경 중 노드끼리 주고받거나, 담당이 아닌 노드가 쓰기를 반영하는 것을 막는다)
+ * - /point/{id}/transfer/{toId} : 두 사용자의 담당 노드가 다르면 400(CROSS_SHARD_TRANSFER) 으로 거절한다.
+ * - 담당 노드에 연결하지 못하면 503(SHARD_UNAVAILABLE) 으로 응답한다.
+ * - 필터 안에서 난 오류는 ApiControllerAdvice 를 거치지 않으므로 같은 ErrorResponse 형식으로 직접 응답한다.
+ * 같은 사용자의 요청은 항상 한 노드에서만 처리되므로 노드 안의 사용자별 락으로 순서가 보장된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_HEADER = "X-Point-Shard-Forwarded";
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRoutingFilter.class);
+    private static final String POINT_PATH = "/point/";
+    private static final String ASYNC_POINT_PATH = "/async/point/";
+    private static final String BATCH_PATH = "/point/batch";
+    private static final Pattern USER_PATH = Pattern.compile("^(?:/async)?/point/(\\d+)(/.*)?$");
+    private static final Pattern TRANSFER_PATH = Pattern.compile("^/point/(\\d+)/transfer/(\\d+)$");
+    private static final List<String> REQUEST_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key", "If-None-Match");
+    private static final List<String> RESPONSE_HEADERS = List.of("Content-Type", "ETag");
+    private static final TypeReference<List<PointCommand>> COMMANDS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PointCommandResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final ShardRouter shardRouter;
+    private final PointBatchProcessor pointBatchProcessor;
+    private final PointBatchProperties pointBatchProperties;
+    private final ObjectMapper objectMapper;
+    private final Duration forwardTimeout;
+    private final HttpClient httpClient;
+
+    public ShardRoutingFilter(ShardRouter shardRouter, PointBatchProcessor pointBatchProcessor, PointBatchProperties pointBatchProperties,
+                              ObjectMapper objectMapper, ShardProperties properties) {
+        this.shardRouter = shardRouter;
+        this.pointBatchProcessor = pointBatchProcessor;
+        this.pointBatchProperties = pointBatchProperties;
+        this.objectMapper = objectMapper;
+        this.forwardTimeout = properties.forwardTimeout();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.forwardTimeout())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = pathOf(request);
+        return !(path.startsWith(POINT_PATH) || path.startsWith(ASYNC_POINT_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean handled;
+        try {
+            handled = route(request, response);
+        } catch (CustomException e) {
+            error(response, e.getErrorCode());
+            return;
+        } catch (JsonProcessingException e) {
+            error(response, ErrorCode.INVALID_BATCH_REQUEST);
+            return;
+        } catch (RuntimeException e) {
+            log.error("shard routing failed : {} {}", request.getMethod(), pathOf(request), e);
+            if (!response.isCommitted()) {
+                write(response, 500, ErrorResponse.internalError());
+            }
+            return;
+        }
+        if (!handled) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * 다른 노드로 보내거나 거절했으면 true, 이 노드의 컨트롤러가 처리해야 하면 false
+     */
+    private boolean route(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean forwarded = request.getHeader(FORWARDED_HEADER) != null;
+        if (forwarded && !shardRouter.isTrusted(request.getHeader(ShardRouter.TOKEN_HEADER))) {
+            throw new CustomException(ErrorCode.SHARD_FORBIDDEN);
+        }
+
+        String path = pathOf(request);
+        if (BATCH_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            routeBatch(request, response, forwarded);
+            return true;
+        }
+
+        Matcher matcher = USER_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        long userId;
+        try {
+            userId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return false;  // 범위를 벗어난 ID 는 컨트롤러에서 거절한다.
+        }
+
+        String owner = shardRouter.ownerOf(userId);
+        if (!isSameShardTransfer(path, owner)) {
+            throw new CustomException(ErrorCode.CROSS_SHARD_TRANSFER);
+        }
+        if (owner.equals(shardRouter.self())) {
+            return false;
+        }
+        if (forwarded) {
+            throw new CustomException(ErrorCode.SHARD_OWNER_MISMATCH);  // 보낸 노드와 구성이 다르다. 다시 전달하지 않는다.
+        }
+        forward(request, response, owner);
+        return true;
+    }
+
+    /**
+     * 이체는 두 사용자의 락을 한 노드 안에서 함께 잡아야 하므로, 받는 사용자도 같은 노드 담당일 때만 처리한다.
+     * 이체 요청이 아니면 true
+     */
+    private boolean isSameShardTransfer(String path, String owner) {
+        Matcher matcher = TRANSFER_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return true;
+        }
+        try {
+            return owner.equals(shardRouter.ownerOf(Long.parseLong(matcher.group(2))));
+        } catch (NumberFormatException e) {
+            return true;  // 범위를 벗어난 ID 는 컨트롤러에서 거절한다.
+        }
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String owner) throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(shardRouter.urlOf(owner) + pathOf(request) + (query == null ? "" : "?" + query)))
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), bodyOf(request))
+                .header(FORWARDED_HEADER, shardRouter.self())
+                .header(ShardRouter.TOKEN_HEADER, shardRouter.secret());
+        for (String header : REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                builder.header(header, value);
+            }
+        }
+
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("failed to forward {} {} to shard node {}", request.getMethod(), pathOf(request), owner, e);
+            error(response, ErrorCode.SHARD_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        for (String header : RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        try (InputStream body = forwarded.body()) {
+            body.transferTo(response.getOutputStream());  // 스트리밍 응답도 받은 만큼 바로 내보낸다.
+        }
+    }
+
+    /**
+     * 일괄 요청을 담당 노드별로 나누어 처리하고, 결과를 요청 순서대로 합친다.
+     * 다른 노드가 전달한 요청(forwarded)이면 다시 전달하지 않고, 이 노드 담당이 아닌 항목은 SHARD_OWNER_MISMATCH 로 실패 처리한다.
+     */
+    private void routeBatch(HttpServletRequest request, HttpServletResponse response, boolean forwarded) throws IOException {
+        List<PointCommand> commands;
+        try (InputStream body = request.getInputStream()) {
+            commands = objectMapper.readValue(body, COMMANDS);
+        }
+        if (commands == null || commands.stream().anyMatch(Objects::isNull)) {
+            throw new CustomException(ErrorCode.INVALID_BATCH_REQUEST);
+        }
+        if (commands.size() > pointBatchProperties.maxSize()) {
+            throw new CustomException(ErrorCode.BATCH_SIZE_EXCEEDED);
+        }
+
+        Map<String, List<Integer>> indexesByNode = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByNode.computeIfAbsent(shardRouter.ownerOf(commands.get(i).userId()), key -> new ArrayList<>()).add(i);
+        }
+
+        // 다른 노드 몫을 먼저 보내 두고, 그동안 자신의 몫을 처리한다.
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+        List<CompletableFuture<Void>> remoteBatches = new ArrayList<>(indexesByNode.size());
+        indexesByNode.forEach((node, indexes) -> {
+            if (forwarded && !node.equals(shardRouter.self())) {
+                fill(results, indexes, failures(commandsAt(commands, indexes), ErrorCode.SHARD_OWNER_MISMATCH));
+            } else if (!node.equals(shardRouter.self())) {
+                remoteBatches.add(forwardBatch(node, commandsAt(commands, indexes))
+                        .thenAccept(nodeResults -> fill(results, indexes, nodeResults)));
+            }
+        });
+        List<Integer> localIndexes = indexesByNode.get(shardRouter.self());
+        if (localIndexes != null) {
+            fill(results, localIndexes, pointBatchProcessor.process(commandsAt(commands, localIndexes)));
+        }
+        CompletableFuture.allOf(remoteBatches.toArray(CompletableFuture[]::new)).join();
+
+        response.setStatus(200);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(List.of(results)));
+    }
+
+    /**
+     * 다른 노드 몫의 일괄 요청을 보낸다. 연결에 실패하면 해당 항목을 모두 SHARD_UNAVAILABLE 로 실패 처리한다.
+     */
+    private CompletableFuture<List<PointCommandResult>> forwardBatch(String node, List<PointCommand> commands) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(shardRouter.urlOf(node) + BATCH_PATH))
+                    .timeout(forwardTimeout)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header(FORWARDED_HEADER, shardRouter.self())
+                    .header(ShardRouter.TOKEN_HEADER, shardRouter.secret())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(commands)))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(failures(commands, ErrorCode.SHARD_UNAVAILABLE));
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("shard node " + node + " responded " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), RESULTS);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    log.warn("failed to forward batch of {} to shard node {}", commands.size(), node, e);
+                    return failures(commands, ErrorCode.SHARD_UNAVAILABLE);
+                });
+    }
+
+    private static List<PointCommand> commandsAt(List<PointCommand> commands, List<Integer> indexes) {
+        return indexes.stream().map(commands::get).toList();
+    }
+
+    private static void fill(PointCommandResult[] results, List<Integer> indexes, List<PointCommandResult> nodeResults) {
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = nodeResults.get(i);
+        }
+    }
+
+    private static List<PointCommandResult> failures(List<PointCommand> commands, ErrorCode errorCode) {
+        return commands.stream().map(command -> PointCommandResult.failure(command, errorCode)).toList();
+    }
+
+    private void error(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        write(response, errorCode.httpStatus(), ErrorResponse.error(errorCode));
+    }
+
+    private void write(HttpServletResponse response, int status, ErrorResponse errorResponse) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(errorResponse));
+    }
+
+    private static HttpRequest.BodyPublisher bodyOf(HttpServletRequest request) throws IOException {
+        if ("GET".equals(request.getMethod())) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try (InputStream body = request.getInputStream()) {
+            return HttpRequest.BodyPublishers.ofByteArray(body.readAllBytes());
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
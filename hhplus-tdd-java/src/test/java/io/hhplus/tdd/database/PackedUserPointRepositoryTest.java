@@ -0,0 +1,72 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PackedUserPointRepositoryTest {
+
+    @Test
+    public void 용량을_넘겨도_모든_잔액_유지() {
+        // 준비
+        PackedUserPointRepository repository = new PackedUserPointRepository(4);
+
+        // 실행
+        for (long id = 0; id < 10_000; id++) {
+            repository.insertOrUpdate(id, id * 10);
+        }
+        repository.insertOrUpdate(5L, 1L);
+
+        // 검증
+        assertEquals(10_000, repository.size());
+        assertEquals(0L, repository.selectById(0L).point());
+        assertEquals(1L, repository.selectById(5L).point());
+        assertEquals(99_990L, repository.point(9_999L));
+        assertEquals(0L, repository.selectById(20_000L).point());  // 없는 사용자는 0 원
+    }
+
+    @Test
+    public void 쓰기_도중_읽기_일관성() throws InterruptedException {
+        // 준비 : 잔액과 수정 시각을 같은 값으로 갱신하면서 동시에 읽는다. (읽은 두 값이 다르면 중간 상태를 읽은 것)
+        PackedUserPointRepository repository = new PackedUserPointRepository(16);
+        int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        AtomicInteger torn = new AtomicInteger();
+
+        // 실행
+        for (int i = 0; i < threadCount; i++) {
+            boolean writer = i % 2 == 0;
+            executorService.submit(() -> {
+                try {
+                    for (long n = 1; n <= 50_000; n++) {
+                        long id = n % 5_000 + 1;
+                        if (writer) {
+                            repository.update(id, n, n);
+                        } else {
+                            UserPoint userPoint = repository.selectById(id);
+                            if (userPoint.point() != 0 && userPoint.point() != userPoint.updateMillis()) {
+                                torn.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+
+        // 검증
+        assertEquals(0, torn.get());
+        assertEquals(5_000, repository.size());
+    }
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PointJournal open(DataSize segmentSize, JournalFsyncMode fsync) {
+        return new PointJournal(new PointJournalProperties(directory.toString(), segmentSize, fsync, Duration.ofMillis(1), 0));
+    }
+
+    @Test
+    public void 재시작_후_잔액과_이력_복구() {
+        // 준비
+        PointJournal journal = open(DataSize.ofMegabytes(1), JournalFsyncMode.GROUP);
+        journal.appendBalance(1L, 1000L);
+        journal.appendHistory(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.appendBalance(1L, 700L);
+        journal.appendHistory(1L, 300L, TransactionType.USE, 2L);
+        journal.appendBalance(2L, 500L);
+        journal.appendHistory(2L, 500L, TransactionType.CHARGE, 3L);
+        journal.close();
+
+        // 실행
+        PointJournal recovered = open(DataSize.ofMegabytes(1), JournalFsyncMode.GROUP);
+
+        // 검증
+        assertEquals(700L, recovered.balance(1L).point());
+        assertEquals(500L, recovered.balance(2L).point());
+        assertEquals(0L, recovered.balance(3L).point());
+        List<PointHistory> histories = recovered.histories(1L);
+        assertEquals(2, histories.size());
+        assertEquals(TransactionType.USE, histories.get(1).type());
+        assertEquals(4L, recovered.appendHistory(2L, 100L, TransactionType.USE, 4L).id());  // id 는 이어서 발급된다.
+        recovered.close();
+    }
+
+    @Test
+    public void snapshot_이후_journal_만_재적용() throws IOException {
+        // 준비 : 작은 segment 여러 개에 나누어 쓰고, 중간에 snapshot 을 남긴 뒤 종료하지 않고(장애) 다시 연다.
+        PointJournal journal = open(DataSize.ofBytes(1024), JournalFsyncMode.ALWAYS);
+        long[] balances = new long[12];
+        for (long i = 1; i <= 100; i++) {
+            int userId = (int) (i % 10 + 1);
+            journal.appendBalance(userId, balances[userId] += i);
+            journal.appendHistory(userId, i, TransactionType.CHARGE, i);
+        }
+        journal.snapshot();
+        for (long i = 101; i <= 120; i++) {
+            int userId = (int) (i % 10 + 1);
+            journal.appendBalance(userId, balances[userId] += i);
+            journal.appendHistory(userId, i, TransactionType.CHARGE, i);
+        }
+
+        // 실행
+        PointJournal recovered = open(DataSize.ofBytes(1024), JournalFsyncMode.ALWAYS);
+
+        // 검증 : 상태는 snapshot + 이후 기록으로 복구되고, snapshot 이전 이력도 segment 에서 읽는다.
+        assertEquals(1L, fileCount(".snap"));
+        assertTrue(fileCount(".log") >= 120 * 46 / 1024);
+        assertEquals(780L, recovered.balance(1L).point());
+        assertEquals(672L, recovered.balance(2L).point());
+        assertEquals(12, recovered.histories(1L).size());
+        assertEquals(10L, recovered.histories(1L).get(0).amount());
+        assertEquals(List.of(101L, 111L), recovered.histories(2L, 91L, 10).stream().map(PointHistory::amount).toList());
+        recovered.close();
+    }
+
+    @Test
+    public void 손상된_record_부터_버림() throws IOException {
+        // 준비
+        PointJournal journal = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+        journal.appendHistory(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.appendHistory(1L, 1000L, TransactionType.CHARGE, 2L);
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), 46 + 10);  // 두 번째 record 의 payload 를 깨뜨린다.
+        }
+
+        // 실행
+        PointJournal recovered = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+        recovered.appendHistory(2L, 300L, TransactionType.CHARGE, 3L);
+        recovered.close();
+        PointJournal reopened = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+
+        // 검증 : 깨진 record 는 버려지고, 그 자리부터 이어서 기록된다.
+        assertEquals(1000L, reopened.balance(1L).point());
+        assertEquals(300L, reopened.balance(2L).point());
+        assertEquals(1, reopened.histories(1L).size());
+        reopened.close();
+    }
+
+    @Test
+    public void 이력이_기록하지_않은_잔액은_복구되지_않음() {
+        // 준비 : 1번은 잔액만 바뀐 채로, 2번은 그룹 커밋처럼 최종 잔액을 먼저 저장하고 이력을 이어 쓴 뒤 종료하지 않는다(장애).
+        PointJournal journal = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+        journal.appendBalance(1L, 1000L);
+        journal.appendHistory(1L, 1000L, TransactionType.CHARGE, 1L);
+        journal.appendBalance(1L, 1500L);
+        journal.appendBalance(2L, 900L);
+        journal.appendHistory(2L, 500L, TransactionType.CHARGE, 2L);
+        journal.appendHistory(2L, 400L, TransactionType.CHARGE, 3L);
+        assertEquals(1500L, journal.balance(1L).point());
+
+        // 실행
+        PointJournal recovered = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+
+        // 검증 : 잔액은 마지막 이력과 함께 기록된 값으로 복구된다.
+        assertEquals(1000L, recovered.balance(1L).point());
+        assertEquals(900L, recovered.balance(2L).point());
+        recovered.close();
+    }
+
+    @Test
+    public void 종류를_지정한_조회는_그_종류의_이력만_기간과_커서로_찾음() {
+        // 준비 : 충전/사용/소멸이 번갈아 쌓이고, 절반은 snapshot 으로 복원된다.
+        PointJournal journal = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+        TransactionType[] types = {TransactionType.CHARGE, TransactionType.USE, TransactionType.EXPIRE};
+        for (long i = 1; i <= 30; i++) {
+            journal.appendHistory(1L, i, types[(int) (i % 3)], i);
+            if (i == 15) {
+                journal.snapshot();
+            }
+        }
+        PointJournal recovered = open(DataSize.ofMegabytes(1), JournalFsyncMode.ALWAYS);
+
+        // 실행
+        List<PointHistory> used = recovered.histories(1L, new PointHistoryQuery(10L, 10L, 25L, TransactionType.USE, 10));
+
+        // 검증 : USE 는 1, 4, 7, ... 번째 이력이고, 커서(10) 이후 기간 [10, 25) 안의 것만 나온다.
+        assertEquals(List.of(13L, 16L, 19L, 22L), used.stream().map(PointHistory::amount).toList());
+        recovered.close();
+    }
+
+    private long fileCount(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+}
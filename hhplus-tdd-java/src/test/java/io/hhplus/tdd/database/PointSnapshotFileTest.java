@@ -0,0 +1,74 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void 내보낸_잔액과_이력을_그대로_복원() throws IOException {
+        // 준비 : id 0 을 포함한 사용자 1000명, 사용자마다 충전/사용 이력
+        PackedUserPointRepository balances = new PackedUserPointRepository(16);
+        MemoryPointHistoryRepository histories = new MemoryPointHistoryRepository();
+        for (long id = 0; id < 1000; id++) {
+            balances.update(id, id * 10, id + 1);
+            histories.save(id, id * 20, TransactionType.CHARGE, id + 1);
+            histories.save(id, id * 10, TransactionType.USE, id + 2);
+        }
+        Path path = directory.resolve("point.snap");
+        PointSnapshotFile.write(path, balances, histories);
+
+        // 실행
+        PackedUserPointRepository restoredBalances = new PackedUserPointRepository(16);
+        MemoryPointHistoryRepository restoredHistories = new MemoryPointHistoryRepository();
+        try (PointSnapshotFile file = PointSnapshotFile.open(path)) {
+            assertEquals(1000, file.userCount());
+            assertEquals(2000, file.historyCount());
+            file.loadInto(restoredBalances, restoredHistories);
+        }
+
+        // 검증
+        for (long id = 0; id < 1000; id++) {
+            assertEquals(balances.selectById(id), restoredBalances.selectById(id));
+            assertEquals(histories.findAllByUserId(id), restoredHistories.findAllByUserId(id));
+        }
+        List<PointHistory> page = restoredHistories.findAllByUserId(7L, new PointHistoryQuery(0L, 0L, Long.MAX_VALUE, TransactionType.USE, 10));
+        assertEquals(1, page.size());
+        assertEquals(2001L, restoredHistories.save(1L, 100L, TransactionType.CHARGE, 3L).id());  // id 는 이어서 발급된다.
+    }
+
+    @Test
+    public void 손상된_파일은_열지_않음() throws IOException {
+        // 준비
+        PackedUserPointRepository balances = new PackedUserPointRepository(16);
+        MemoryPointHistoryRepository histories = new MemoryPointHistoryRepository();
+        balances.update(1L, 1000L, 1L);
+        histories.save(1L, 1000L, TransactionType.CHARGE, 1L);
+        Path path = directory.resolve("point.snap");
+        PointSnapshotFile.write(path, balances, histories);
+
+        // 실행 : 잔액 열의 한 byte 를 바꾼다.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{7}), 40);
+        }
+
+        // 검증
+        IOException e = assertThrows(IOException.class, () -> PointSnapshotFile.open(path));
+        assertEquals("snapshot checksum mismatch", e.getMessage());
+    }
+}
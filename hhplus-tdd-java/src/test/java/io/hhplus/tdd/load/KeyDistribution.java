@@ -0,0 +1,55 @@
+package io.hhplus.tdd.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트에서 요청마다 대상 사용자 ID(1 ~ userCount)를 고르는 분포
+ * - uniform : 모든 사용자가 같은 확률
+ * - zipf : 순위 k 인 사용자가 1/k^exponent 에 비례하는 확률 (exponent 가 클수록 소수 사용자에게 몰린다)
+ */
+public interface KeyDistribution {
+
+    long next(SplittableRandom random);
+
+    String describe();
+
+    static KeyDistribution uniform(int userCount) {
+        return new KeyDistribution() {
+            @Override
+            public long next(SplittableRandom random) {
+                return random.nextInt(userCount) + 1L;
+            }
+
+            @Override
+            public String describe() {
+                return "uniform(" + userCount + ")";
+            }
+        };
+    }
+
+    /**
+     * 누적 분포를 미리 계산해 두고 이진 탐색으로 고른다.
+     */
+    static KeyDistribution zipf(int userCount, double exponent) {
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        double total = sum;
+        return new KeyDistribution() {
+            @Override
+            public long next(SplittableRandom random) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                return (index < 0 ? -index - 1 : index) + 1L;
+            }
+
+            @Override
+            public String describe() {
+                return "zipf(" + userCount + ", " + exponent + ")";
+            }
+        };
+    }
+}
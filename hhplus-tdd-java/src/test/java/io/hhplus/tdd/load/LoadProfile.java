@@ -0,0 +1,34 @@
+package io.hhplus.tdd.load;
+
+import java.time.Duration;
+
+/**
+ * 부하 테스트 시나리오
+ * - name : 보고서 파일 이름
+ * - users : 요청 대상 사용자 분포 (1 ~ userCount)
+ * - userCount : 시작 전에 initialPoint 만큼 충전해 둘 사용자 수
+ * - readRatio : 조회 요청 비율 (나머지는 쓰기), 조회 중 historyRatio 만큼은 이력 조회
+ * - chargeRatio : 쓰기 중 충전 비율 (나머지는 사용)
+ * - arrivalsPerSecond : 초당 요청 도착 수. 응답과 관계없이 일정한 간격으로 보낸다. (open loop)
+ * - duration : 요청을 보내는 시간
+ * - amount : 충전/사용 금액
+ * - seed : 요청 순서를 재현하기 위한 난수 seed
+ */
+public record LoadProfile(
+        String name,
+        KeyDistribution users,
+        int userCount,
+        long initialPoint,
+        double readRatio,
+        double historyRatio,
+        double chargeRatio,
+        int arrivalsPerSecond,
+        Duration duration,
+        long amount,
+        long seed
+) {
+
+    public long requestCount() {
+        return arrivalsPerSecond * duration.toMillis() / 1000;
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.load;
+
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 (JSON 으로 저장해 빌드 간 비교한다)
+ * - latency 는 요청을 보내기로 예정된 시각부터 응답까지의 시간(마이크로초)이다. (coordinated omission 보정)
+ * - invariantViolations : 잔액이 이력 합계나 성공한 요청의 합계와 다른 사용자 수
+ */
+public record LoadReport(
+        String name,
+        String users,
+        long requestCount,
+        int arrivalsPerSecond,
+        double elapsedSeconds,
+        double throughput,
+        Map<String, OperationStats> operations,
+        int checkedUsers,
+        int invariantViolations
+) {
+
+    /**
+     * - count : 완료된 요청 수 (errors 포함)
+     * - errors : ErrorCode 별 실패 수
+     */
+    public record OperationStats(
+            long count,
+            Map<String, Long> errors,
+            long p50Micros,
+            long p90Micros,
+            long p99Micros,
+            long p999Micros,
+            long maxMicros
+    ) {
+    }
+}
@@ -0,0 +1,199 @@
+package io.hhplus.tdd.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PointService 부하 테스트 도구
+ * - LoadProfile 의 도착률대로 요청을 일정한 간격에 보낸다. 응답을 기다리지 않으므로(open loop) 느려진 만큼 대기 요청이 쌓인다.
+ * - 요청마다 가상 스레드에서 실행하고, 예정 시각부터 응답까지의 지연을 작업별 HdrHistogram 에 기록한다.
+ * - 끝나면 사용자마다 잔액 변화 = 이력 합계 변화 = 성공한 충전/사용 합계인지 확인한다.
+ * - 결과는 reportDirectory/{name}.json 에 저장한다. (기본 build/reports/load, -Dload.reportDir 로 변경)
+ */
+public class PointLoadHarness {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final PointService pointService;
+    private final Path reportDirectory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public PointLoadHarness(PointService pointService) {
+        this(pointService, Path.of(System.getProperty("load.reportDir", "build/reports/load")));
+    }
+
+    public PointLoadHarness(PointService pointService, Path reportDirectory) {
+        this.pointService = pointService;
+        this.reportDirectory = reportDirectory;
+    }
+
+    public LoadReport run(LoadProfile profile) throws IOException {
+        long[] baselineBalances = new long[profile.userCount() + 1];
+        long[] baselineHistories = new long[profile.userCount() + 1];
+        for (int id = 1; id <= profile.userCount(); id++) {
+            baselineBalances[id] = pointService.getPointByUser(id).point();
+            baselineHistories[id] = historySum(id);
+        }
+        AtomicLongArray expectedChanges = new AtomicLongArray(profile.userCount() + 1);
+        seed(profile, expectedChanges);
+
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.arrivalsPerSecond();
+        long start = System.nanoTime();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < profile.requestCount(); i++) {
+                long scheduled = start + i * intervalNanos;
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = Operation.pick(random, profile);
+                long userId = profile.users().next(random);
+                executorService.execute(() -> execute(operation, userId, profile.amount(), scheduled, recorders.get(operation), expectedChanges));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        int violations = 0;
+        for (int id = 1; id <= profile.userCount(); id++) {
+            long expected = expectedChanges.get(id);
+            long balanceChange = pointService.getPointByUser(id).point() - baselineBalances[id];
+            long historyChange = historySum(id) - baselineHistories[id];
+            if (balanceChange != expected || historyChange != expected) {
+                violations++;
+            }
+        }
+
+        Map<String, LoadReport.OperationStats> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> operations.put(operation.name().toLowerCase(), recorder.stats()));
+        LoadReport report = new LoadReport(
+                profile.name(),
+                profile.users().describe(),
+                profile.requestCount(),
+                profile.arrivalsPerSecond(),
+                elapsedSeconds,
+                profile.requestCount() / elapsedSeconds,
+                operations,
+                profile.userCount(),
+                violations
+        );
+        write(report);
+        return report;
+    }
+
+    /**
+     * 모든 사용자에게 initialPoint 를 충전해 둔다. (조회/사용 요청이 존재하지 않는 사용자로 실패하지 않도록)
+     */
+    private void seed(LoadProfile profile, AtomicLongArray expectedChanges) {
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int id = 1; id <= profile.userCount(); id++) {
+                int userId = id;
+                executorService.execute(() -> {
+                    pointService.chargePoints(userId, profile.initialPoint());
+                    expectedChanges.addAndGet(userId, profile.initialPoint());
+                });
+            }
+        }
+    }
+
+    private void execute(Operation operation, long userId, long amount, long scheduled, Recorder recorder, AtomicLongArray expectedChanges) {
+        String error = null;
+        try {
+            switch (operation) {
+                case CHARGE -> {
+                    pointService.chargePoints(userId, amount);
+                    expectedChanges.addAndGet((int) userId, amount);
+                }
+                case USE -> {
+                    pointService.usePoints(userId, amount);
+                    expectedChanges.addAndGet((int) userId, -amount);
+                }
+                case POINT -> pointService.getPointByUser(userId);
+                case HISTORIES -> pointService.getPointHistoriesByUser(userId);
+            }
+        } catch (CustomException e) {
+            error = e.getErrorCode().name();
+        } catch (RuntimeException e) {
+            error = e.getClass().getSimpleName();
+        }
+        recorder.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled), error);
+    }
+
+    private long historySum(long id) {
+        long sum = 0;
+        for (PointHistory pointHistory : pointService.getPointHistoriesByUser(id)) {
+            sum += pointHistory.type().isCredit() ? pointHistory.amount() : -pointHistory.amount();
+        }
+        return sum;
+    }
+
+    private void write(LoadReport report) throws IOException {
+        Files.createDirectories(reportDirectory);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportDirectory.resolve(report.name() + ".json").toFile(), report);
+    }
+
+    private enum Operation {
+        CHARGE, USE, POINT, HISTORIES;
+
+        static Operation pick(SplittableRandom random, LoadProfile profile) {
+            if (random.nextDouble() < profile.readRatio()) {
+                return random.nextDouble() < profile.historyRatio() ? HISTORIES : POINT;
+            }
+            return random.nextDouble() < profile.chargeRatio() ? CHARGE : USE;
+        }
+    }
+
+    /**
+     * 작업별 지연 분포와 ErrorCode 별 실패 수
+     */
+    private static class Recorder {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void record(long micros, String error) {
+            histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (error != null) {
+                errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+            }
+        }
+
+        LoadReport.OperationStats stats() {
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.forEach((code, count) -> errorCounts.put(code, count.sum()));
+            return new LoadReport.OperationStats(
+                    histogram.getTotalCount(),
+                    errorCounts,
+                    histogram.getValueAtPercentile(50.0),
+                    histogram.getValueAtPercentile(90.0),
+                    histogram.getValueAtPercentile(99.0),
+                    histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue()
+            );
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.load;
+
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 부하 시나리오별 지연 분포 측정 (./gradlew loadTest 로 실행, 결과는 build/reports/load/*.json)
+ */
+@Tag("load")
+@SpringBootTest(properties = "point.metrics.enabled=false")
+public class PointLoadTest {
+
+    private static final int USER_COUNT = 1000;
+
+    @Autowired
+    private PointService pointService;
+
+    @Test
+    public void 균등_분포_조회_위주() throws IOException {
+        // 준비
+        LoadProfile profile = new LoadProfile("uniform-read-heavy", KeyDistribution.uniform(USER_COUNT), USER_COUNT, 100_000L,
+                0.8, 0.1, 0.5, 200, Duration.ofSeconds(20), 100L, 42L);
+
+        // 실행
+        LoadReport report = new PointLoadHarness(pointService).run(profile);
+
+        // 검증
+        System.out.println(report);
+        assertEquals(0, report.invariantViolations());
+    }
+
+    @Test
+    public void zipf_분포_쓰기_위주() throws IOException {
+        // 준비 : 소수 사용자에게 쓰기가 몰린다.
+        LoadProfile profile = new LoadProfile("zipf-write-heavy", KeyDistribution.zipf(USER_COUNT, 1.1), USER_COUNT, 100_000L,
+                0.2, 0.1, 0.5, 100, Duration.ofSeconds(20), 100L, 42L);
+
+        // 실행
+        LoadReport report = new PointLoadHarness(pointService).run(profile);
+
+        // 검증 : 한도를 넘어 거절된 요청이 있더라도 잔액과 이력은 성공한 요청과 일치한다.
+        System.out.println(report);
+        assertEquals(0, report.invariantViolations());
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserLockRegistryTest {
+
+    @Test
+    public void 사용자별_락은_사용이_끝나면_제거된다() throws InterruptedException {
+        // 준비
+        PerUserLockRegistry registry = new PerUserLockRegistry();
+        int userCount = 1000;
+        int threadCount = 8;
+        long[] counter = new long[userCount];
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // 실행
+        for (int t = 0; t < threadCount; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int id = 0; id < userCount; id++) {
+                        UserLock lock = registry.lock(id);
+                        try {
+                            counter[id]++;
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // 검증 : 사용자별 직렬화가 유지되고, 남아 있는 락이 없다.
+        for (long count : counter) {
+            assertEquals(threadCount, count);
+        }
+        assertEquals(0, registry.stats().size());
+        assertEquals((long) userCount * threadCount, registry.stats().acquisitions());
+    }
+
+    @Test
+    public void 사용자별_락은_일부를_제거해도_사용_중인_락을_그대로_찾는다() {
+        // 준비 : 여러 사용자의 락을 동시에 잡는다. (테이블이 커지고 같은 위치를 다투는 사용자가 생긴다)
+        PerUserLockRegistry registry = new PerUserLockRegistry();
+        int userCount = 5000;
+        UserLock[] held = new UserLock[userCount];
+        for (int id = 0; id < userCount; id++) {
+            held[id] = registry.lock(id * 31L);
+        }
+
+        // 실행 : 홀수 사용자의 락을 푼다.
+        for (int id = 1; id < userCount; id += 2) {
+            held[id].unlock();
+        }
+
+        // 검증 : 남은 사용자는 같은 락을 돌려받고, 푼 사용자는 새 락을 받는다.
+        assertEquals(userCount / 2, registry.stats().size());
+        for (int id = 0; id < userCount; id++) {
+            UserLock lock = registry.lock(id * 31L);
+            assertEquals(id % 2 == 0, lock == held[id]);
+            lock.unlock();
+        }
+        for (int id = 0; id < userCount; id += 2) {
+            held[id].unlock();
+        }
+        assertEquals(0, registry.stats().size());
+    }
+
+    @Test
+    public void 스트라이프_락은_개수가_고정된다() {
+        // 준비
+        StripedUserLockRegistry registry = new StripedUserLockRegistry(1000);
+
+        // 실행
+        for (long id = 1; id <= 100_000; id++) {
+            registry.lock(id).unlock();
+        }
+
+        // 검증 : 2의 거듭제곱으로 올림한 개수만큼만 락을 보관한다.
+        assertEquals(1024, registry.stats().size());
+        assertEquals(100_000, registry.stats().acquisitions());
+        assertEquals(registry.indexOf(42L), registry.indexOf(42L));
+    }
+}
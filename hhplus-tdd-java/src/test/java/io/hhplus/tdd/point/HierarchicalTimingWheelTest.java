@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    public void 마감이_지난_첫_advance_에서_꺼낸다() {
+        // 준비 : 0단계(8 tick) 부터 4단계(8^4 tick) 이상까지 고르게 흩어진 마감
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            long deadline = random.nextLong(10 * 8 * 8 * 8 * 8 * 2);
+            deadlines.add(deadline);
+            wheel.add(deadline, deadline);
+        }
+
+        // 실행 & 검증 : 임의의 간격으로 시계를 돌리면서, 꺼낸 항목은 마감이 지났고 이전 advance 시점에는 마감 전이었는지 확인한다.
+        long end = 10 * 8 * 8 * 8 * 8 * 2 + 10;
+        long previous = 0;
+        int fired = 0;
+        for (long now = 0; previous < end; now = Math.min(end, now + random.nextInt(1, 200))) {
+            for (long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now);
+                assertTrue(deadline > previous - 10);  // tick(10ms) 단위로 올림하므로 tick 하나 이내로 늦을 수 있다.
+                fired++;
+            }
+            previous = now;
+        }
+        assertEquals(deadlines.size(), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void 이미_지난_마감은_다음_advance_에서_꺼낸다() {
+        // 준비
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 10_000);
+
+        // 실행
+        wheel.add(5_000, "overdue");
+        wheel.add(12_000, "later");
+
+        // 검증
+        assertEquals(List.of("overdue"), wheel.advance(10_000));
+        assertEquals(List.of(), wheel.advance(11_999));
+        assertEquals(List.of("later"), wheel.advance(12_000));
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.lock.PerUserLockRegistry;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointAdmissionTest {
+
+    @Test
+    public void 대기_요청_수_초과_시_즉시_거절() {
+        // 준비
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(true, 2, Duration.ofSeconds(1)));
+        pointAdmission.enter(1L);
+        pointAdmission.enter(1L);
+
+        // 실행
+        CustomException exception = assertThrows(CustomException.class, () -> pointAdmission.enter(1L));
+        pointAdmission.enter(2L);  // 다른 사용자는 영향을 받지 않는다.
+
+        // 검증
+        assertEquals(ErrorCode.USER_REQUEST_OVERLOADED, exception.getErrorCode());
+        assertEquals(3, pointAdmission.inFlight());
+        pointAdmission.exit(1L);
+        pointAdmission.enter(1L);  // 끝난 요청만큼 다시 받아들인다.
+        pointAdmission.exit(1L);
+        pointAdmission.exit(1L);
+        pointAdmission.exit(2L);
+        assertEquals(0, pointAdmission.activeUsers());
+        assertEquals(0, pointAdmission.inFlight());
+    }
+
+    @Test
+    public void 락_대기_시간_초과_시_거절() {
+        // 준비
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(true, 10, Duration.ofMillis(50)));
+        UserLockRegistry userLockRegistry = new PerUserLockRegistry();
+        UserLock held = userLockRegistry.lock(1L);
+
+        // 실행 : 다른 스레드가 락을 잡고 있는 동안 획득을 시도한다.
+        CustomException exception = CompletableFuture.supplyAsync(() ->
+                assertThrows(CustomException.class, () -> pointAdmission.lock(userLockRegistry, 1L))).join();
+        held.unlock();
+
+        // 검증 : 실패한 대기는 락을 남기지 않는다.
+        assertEquals(ErrorCode.LOCK_WAIT_TIMEOUT, exception.getErrorCode());
+        assertEquals(0, userLockRegistry.stats().size());
+        pointAdmission.lock(userLockRegistry, 1L).unlock();
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.JournalFsyncMode;
+import io.hhplus.tdd.database.JournalPointHistoryRepository;
+import io.hhplus.tdd.database.JournalUserPointRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointJournal;
+import io.hhplus.tdd.database.PointJournalProperties;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.lock.PerUserLockRegistry;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 포인트 유효기간 : 충전/사용/이체가 장부에 반영되고, tick 에서 만료분이 EXPIRE 이력과 함께 소멸되는지 확인한다.
+ */
+public class PointExpirationTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    private PointJournal pointJournal;
+    private PointExpirationScheduler pointExpirationScheduler;
+    private UserLockRegistry userLockRegistry;
+    private PointSummaryAggregator pointSummaryAggregator;
+
+    @AfterEach
+    void tearDown() {
+        pointExpirationScheduler.shutdown();
+        pointJournal.close();
+    }
+
+    @Test
+    public void LOCK_모드_만료분_소멸() {
+        assertExpiration(PointWriteMode.LOCK);
+    }
+
+    @Test
+    public void GROUP_COMMIT_모드_만료분_소멸() {
+        assertExpiration(PointWriteMode.GROUP_COMMIT);
+    }
+
+    private void assertExpiration(PointWriteMode writeMode) {
+        // 준비 : 1번이 1000 충전 후 300 사용, 2번에게 200 이체 → 1번 500, 2번 200 이 남은 충전분이다.
+        PointService pointService = newPointService(writeMode);
+        long now = System.currentTimeMillis();
+        pointService.chargePoints(1L, 1000L);
+        pointService.usePoints(1L, 300L);
+        pointService.transferPoints(1L, 2L, 200L);
+
+        // 실행 & 검증 : 유효기간 전에는 아무것도 소멸되지 않는다.
+        assertEquals(0, pointExpirationScheduler.tick(now + TTL.toMillis() / 2));
+        assertEquals(500L, pointService.getPointByUser(1L).point());
+
+        // 실행 & 검증 : 유효기간이 지나면 남은 충전분이 소멸된다.
+        assertEquals(2, pointExpirationScheduler.tick(now + TTL.toMillis() + 60_000));
+        assertEquals(0L, pointService.getPointByUser(1L).point());
+        assertEquals(0L, pointService.getPointByUser(2L).point());
+        List<PointHistory> histories = pointService.getPointHistoriesByUser(1L);
+        assertEquals(TransactionType.EXPIRE, histories.get(histories.size() - 1).type());
+        assertEquals(500L, histories.get(histories.size() - 1).amount());
+        assertEquals(List.of(TransactionType.TRANSFER_IN, TransactionType.EXPIRE),
+                pointService.getPointHistoriesByUser(2L).stream().map(PointHistory::type).toList());
+
+        // 검증 : 소멸분은 기간별 집계에 사용으로 잡힌다. (1번은 사용 300 + 이체 200 + 소멸 500)
+        assertEquals(1000L, pointSummaryAggregator.summary(1L, System.currentTimeMillis()).totalUsed());
+        assertEquals(200L, pointSummaryAggregator.summary(2L, System.currentTimeMillis()).totalUsed());
+    }
+
+    @Test
+    public void 락을_얻지_못한_사용자는_건너뛰고_다음_tick_에_다시_소멸시킨다() throws Exception {
+        // 준비 : 1번, 2번이 각각 1000 충전하고, 다른 스레드가 1번의 락을 잡고 있다.
+        PointService pointService = newPointService(PointWriteMode.LOCK);
+        long now = System.currentTimeMillis();
+        pointService.chargePoints(1L, 1000L);
+        pointService.chargePoints(2L, 1000L);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            UserLock lock = userLockRegistry.lock(1L);
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        locked.await();
+
+        // 실행 & 검증 : 1번은 기다리지 않고 다음 tick 으로 미뤄지고, 2번만 소멸된다.
+        long expiredAt = now + TTL.toMillis() + 60_000;
+        assertEquals(1, pointExpirationScheduler.tick(expiredAt));
+        assertEquals(1, pointExpirationScheduler.retryCount());
+        assertEquals(0L, pointService.getPointByUser(2L).point());
+
+        // 실행 & 검증 : 락이 풀린 뒤 tick 에서 1번도 소멸된다. (휠에서는 이미 빠졌어도 다시 시도한다)
+        release.countDown();
+        holder.join();
+        assertEquals(1, pointExpirationScheduler.tick(expiredAt + 1_000));
+        assertEquals(0, pointExpirationScheduler.retryCount());
+        assertEquals(0L, pointService.getPointByUser(1L).point());
+        assertEquals(1000L, pointSummaryAggregator.summary(1L, System.currentTimeMillis()).totalUsed());
+    }
+
+    private PointService newPointService(PointWriteMode writeMode) {
+        pointJournal = new PointJournal(new PointJournalProperties(directory.toString(), DataSize.ofMegabytes(8), JournalFsyncMode.ASYNC, Duration.ofMillis(10), 0));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry(), new PointMetricsProperties(false));
+        UserPointRepository userPointRepository = new JournalUserPointRepository(pointJournal);
+        PointHistoryRepository pointHistoryRepository = new JournalPointHistoryRepository(pointJournal, pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(new PointCacheProperties(true, 100));
+        pointSummaryAggregator = new PointSummaryAggregator(new PointSummaryProperties(24, 30, 100), pointHistoryRepository);
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryRepository, pointSummaryAggregator, new PointOutboxProperties(false, 1, 5, Duration.ofMillis(50)));
+        userLockRegistry = new PerUserLockRegistry();
+        UserPointSnapshots userPointSnapshots = new UserPointSnapshots(new PointCacheProperties(true, 100));
+        PointWriteProperties pointWriteProperties = new PointWriteProperties(writeMode, new PointWriteProperties.Optimistic(100, 10));
+        PointExpirationProperties pointExpirationProperties = new PointExpirationProperties(true, TTL, Duration.ofSeconds(1), 64);
+        PointLotLedger pointLotLedger = new PointLotLedger(pointExpirationProperties, pointWriteProperties);
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(false, 0, Duration.ZERO));
+        PointService pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                new PointCommandCombiner(userPointRepository, pointHistoryOutbox, userPointCache, userLockRegistry, pointMetrics, userPointSnapshots, pointLotLedger, pointAdmission),
+                pointWriteProperties,
+                userPointCache,
+                pointHistoryOutbox,
+                userLockRegistry,
+                pointMetrics,
+                new OptimisticPointWriter(userPointRepository, new VersionedUserPointStore(new PointCacheProperties(true, 100)), pointHistoryOutbox, pointWriteProperties, pointMetrics),
+                pointSummaryAggregator,
+                pointAdmission,
+                userPointSnapshots,
+                pointLotLedger
+        );
+        pointExpirationScheduler = new PointExpirationScheduler(pointLotLedger, pointService, pointExpirationProperties);
+        return pointService;
+    }
+}
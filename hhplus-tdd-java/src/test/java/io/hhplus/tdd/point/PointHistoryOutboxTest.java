@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.mock;
+
+public class PointHistoryOutboxTest {
+
+    private final List<PointHistory> saved = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PointHistoryOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        PointHistoryRepository repository = mock(PointHistoryRepository.class);
+        given(repository.save(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS); // 테스트가 풀어줄 때까지 저장을 지연시킨다.
+            PointHistory pointHistory = new PointHistory(
+                    saved.size() + 1,
+                    invocation.getArgument(0),
+                    invocation.getArgument(1),
+                    invocation.getArgument(2),
+                    invocation.getArgument(3)
+            );
+            saved.add(pointHistory);
+            return pointHistory;
+        });
+        outbox = new PointHistoryOutbox(repository, newPointSummaryAggregator(repository), new PointOutboxProperties(true, 2, 5, Duration.ofMillis(50)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        outbox.shutdown();
+    }
+
+    @Test
+    public void 이력은_비동기로_저장되고_flush_후_순서대로_조회된다() {
+        // 준비
+        long id = 1L;
+
+        // 실행
+        outbox.append(id, 1000L, TransactionType.CHARGE, 1L);
+        outbox.append(id, 300L, TransactionType.USE, 2L);
+        outbox.append(id, 500L, TransactionType.CHARGE, 3L);
+
+        // 검증 : 저장 전에는 대기열에 남아 있다.
+        assertEquals(3, outbox.queueDepth());
+
+        release.countDown();
+        outbox.flush(id);
+
+        assertEquals(0, outbox.queueDepth());
+        assertEquals(0, outbox.lagMillis());
+        assertEquals(List.of(1000L, 300L, 500L), saved.stream().map(PointHistory::amount).toList());
+        assertEquals(List.of(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE),
+                saved.stream().map(PointHistory::type).toList());
+    }
+
+    @Test
+    public void 저장에_실패한_이력은_재시도하고_끝내_실패하면_dead_letter_로_옮긴다() {
+        // 준비 : 처음 두 번은 실패하고, 이후 failing 이 켜져 있는 동안 계속 실패한다.
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean();
+        PointHistoryRepository repository = mock(PointHistoryRepository.class);
+        given(repository.save(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 2 || failing.get()) {
+                throw new IllegalStateException("저장 실패");
+            }
+            return new PointHistory(calls.get(), invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+        PointHistoryOutbox retrying = new PointHistoryOutbox(repository, newPointSummaryAggregator(repository), new PointOutboxProperties(true, 1, 3, Duration.ofMillis(1)));
+
+        try {
+            // 실행 & 검증 : 두 번 실패해도 세 번째 시도에 저장된다.
+            retrying.append(1L, 100L, TransactionType.CHARGE, 1L);
+            retrying.flush(1L);
+            assertEquals(2, retrying.retryCount());
+            assertEquals(0, retrying.deadLetterCount());
+
+            // 실행 & 검증 : 계속 실패하면 버리지 않고 dead letter 로 옮긴다.
+            failing.set(true);
+            retrying.append(1L, 200L, TransactionType.USE, 2L);
+            retrying.flush(1L);
+            assertEquals(1, retrying.deadLetterCount());
+            assertEquals(0, retrying.queueDepth());
+
+            // 실행 & 검증 : 저장소가 돌아오면 redrive 로 다시 저장한다. 기간 조회 순서가 깨지지 않도록 현재 시각으로 다시 찍는다.
+            failing.set(false);
+            long redriveMillis = System.currentTimeMillis();
+            assertEquals(1, retrying.redrive());
+            retrying.flush(1L);
+            assertEquals(0, retrying.deadLetterCount());
+            verify(repository, atLeast(1)).save(1L, 200L, TransactionType.USE, 2L);
+            verify(repository).save(eq(1L), eq(200L), eq(TransactionType.USE), longThat(millis -> millis >= redriveMillis));
+        } finally {
+            retrying.shutdown();
+        }
+    }
+
+    @Test
+    public void 종료된_뒤에는_flush_가_기다리지_않고_append_는_거절된다() {
+        // 준비
+        long id = 1L;
+        outbox.append(id, 1000L, TransactionType.CHARGE, 1L);
+        release.countDown();
+
+        // 실행
+        outbox.shutdown();
+
+        // 검증 : 종료 전에 들어온 이력은 저장되고, 이후 flush 는 바로 돌아온다.
+        assertEquals(List.of(1000L), saved.stream().map(PointHistory::amount).toList());
+        outbox.flush(id);
+        outbox.flushAll();
+        assertThrows(IllegalStateException.class, () -> outbox.append(id, 500L, TransactionType.CHARGE, 2L));
+        assertEquals(0, outbox.queueDepth());
+    }
+
+    private static PointSummaryAggregator newPointSummaryAggregator(PointHistoryRepository repository) {
+        return new PointSummaryAggregator(new PointSummaryProperties(24, 30, 100), repository);
+    }
+}
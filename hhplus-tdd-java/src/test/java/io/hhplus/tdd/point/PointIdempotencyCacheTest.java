@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointIdempotencyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PointIdempotencyCache pointIdempotencyCache =
+            new PointIdempotencyCache(new PointIdempotencyProperties(true, 100, Duration.ofMinutes(1)), clock::get);
+
+    @Test
+    public void 같은_키의_재시도는_저장된_결과를_돌려준다() {
+        // 준비
+        AtomicInteger calls = new AtomicInteger();
+        UserPoint charged = new UserPoint(1L, 1000L, 1L);
+
+        // 실행
+        UserPoint first = pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L, () -> {
+            calls.incrementAndGet();
+            return charged;
+        });
+        clock.set(1000L);
+        UserPoint retried = pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L, () -> {
+            calls.incrementAndGet();
+            return new UserPoint(1L, 2000L, 2L);
+        });
+
+        // 검증
+        assertSame(first, retried);
+        assertEquals(1, calls.get());
+        assertEquals(1, pointIdempotencyCache.replayCount());
+    }
+
+    @Test
+    public void 처리_중인_키로_동시에_들어온_요청은_결과를_함께_기다린다() throws InterruptedException {
+        // 준비
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key-1", TransactionType.USE, 300L, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 700L, 1L);
+                }));
+        started.await();
+
+        // 실행
+        CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key-1", TransactionType.USE, 300L, () -> {
+                    calls.incrementAndGet();
+                    return new UserPoint(1L, 400L, 2L);
+                }));
+        release.countDown();
+
+        // 검증
+        assertSame(first.join(), duplicate.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void 실패한_요청은_보관하지_않고_다른_요청은_거절한다() {
+        // 준비
+        assertThrows(CustomException.class, () -> pointIdempotencyCache.execute(1L, "key-1", TransactionType.USE, 300L, () -> {
+            throw new CustomException(ErrorCode.POINT_INSUFFICIENT);
+        }));
+
+        // 실행
+        UserPoint retried = pointIdempotencyCache.execute(1L, "key-1", TransactionType.USE, 300L, () -> new UserPoint(1L, 700L, 1L));
+        CustomException reused = assertThrows(CustomException.class, () ->
+                pointIdempotencyCache.execute(1L, "key-1", TransactionType.USE, 500L, () -> new UserPoint(1L, 200L, 2L)));
+
+        // 검증
+        assertEquals(700L, retried.point());
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, reused.getErrorCode());
+    }
+
+    @Test
+    public void 만료된_키는_다시_처리한다() {
+        // 준비
+        pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 1L));
+
+        // 실행
+        clock.set(Duration.ofMinutes(1).toMillis());
+        UserPoint afterTtl = pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L,
+                () -> new UserPoint(1L, 2000L, 2L));
+
+        // 검증
+        assertEquals(2000L, afterTtl.point());
+        assertEquals(1, pointIdempotencyCache.size());
+    }
+
+    @Test
+    public void 처리_중인_키는_만료시키지_않고_ttl_은_결과가_나온_뒤부터_잰다() throws InterruptedException {
+        // 준비 : 처리가 ttl 보다 오래 걸리는 요청
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> slow = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 1000L, 1L);
+                }));
+        started.await();
+
+        // 실행 : ttl 이 지난 뒤 같은 키로 재시도하고, 결과가 나온 직후 한 번 더 재시도한다.
+        clock.set(Duration.ofMinutes(2).toMillis());
+        CompletableFuture<UserPoint> retried = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L, () -> {
+                    calls.incrementAndGet();
+                    return new UserPoint(1L, 2000L, 2L);
+                }));
+        release.countDown();
+        slow.join();
+        clock.set(Duration.ofMinutes(2).toMillis() + Duration.ofSeconds(59).toMillis());
+        UserPoint afterCompletion = pointIdempotencyCache.execute(1L, "key-1", TransactionType.CHARGE, 1000L,
+                () -> new UserPoint(1L, 3000L, 3L));
+
+        // 검증 : 충전은 한 번만 반영된다.
+        assertEquals(1000L, retried.join().point());
+        assertEquals(1000L, afterCompletion.point());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void 처리_중인_키는_남기고_maxSize_를_넘은_결과는_먼저_끝난_키부터_제거한다() throws InterruptedException {
+        // 준비 : 처리 중인 키 하나
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> slow = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "slow", TransactionType.CHARGE, 1000L, () -> {
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 1000L, 1L);
+                }));
+        started.await();
+
+        // 실행 : maxSize(100) 보다 많은 키의 결과가 나온다.
+        for (int i = 0; i < 150; i++) {
+            pointIdempotencyCache.execute(2L, "key-" + i, TransactionType.CHARGE, 1L, () -> new UserPoint(2L, 1L, 1L));
+        }
+        release.countDown();
+        slow.join();
+
+        // 검증 : 결과가 나온 키는 maxSize 까지만 남고, 처리 중이던 키는 결과가 보관된다.
+        assertEquals(101, pointIdempotencyCache.size());
+        UserPoint replayed = pointIdempotencyCache.execute(1L, "slow", TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 2000L, 2L));
+        assertEquals(1000L, replayed.point());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PointLotLedgerTest {
+
+    private static final long TTL = 10_000L;
+
+    private final PointLotLedger ledger = new PointLotLedger(
+            new PointExpirationProperties(true, Duration.ofMillis(TTL), Duration.ofMillis(100), 64),
+            new PointWriteProperties(PointWriteMode.LOCK, new PointWriteProperties.Optimistic(10, 50)),
+            0L
+    );
+
+    @Test
+    public void 사용은_먼저_들어온_충전분부터_차감() {
+        // 준비 : 장부 없이 쌓인 잔액 200 위에 1000, 500 을 차례로 충전
+        ledger.charged(1L, 1000L, 1_000L);
+        ledger.charged(1L, 500L, 2_000L);
+
+        // 실행 : 잔액 1700 에서 1000 사용 (장부에 없는 200 → 첫 충전분 800)
+        ledger.consumed(1L, 1000L, 1700L);
+
+        // 검증
+        assertEquals(List.of(200L, 500L), ledger.remaining(1L));
+        assertEquals(2L, ledger.lotCount());
+    }
+
+    @Test
+    public void 만료된_충전분의_남은_포인트만_소멸() {
+        // 준비
+        ledger.charged(1L, 1000L, 1_000L);
+        ledger.charged(1L, 500L, 5_000L);
+        ledger.consumed(1L, 300L, 1500L);
+
+        // 실행 & 검증 : 첫 충전분만 만료 시각(11_000)이 지났다.
+        assertEquals(Set.of(), ledger.due(10_999L));
+        assertEquals(Set.of(1L), ledger.due(11_000L));
+        assertEquals(700L, ledger.expire(1L, 11_000L));
+        assertEquals(List.of(500L), ledger.remaining(1L));
+        assertEquals(500L, ledger.expire(1L, 15_000L));
+        assertEquals(List.of(), ledger.remaining(1L));
+        assertEquals(1200L, ledger.expiredAmount());
+    }
+
+    @Test
+    public void 다_사용한_충전분은_만료_대상에서_제외() {
+        // 준비
+        ledger.charged(1L, 1000L, 1_000L);
+        ledger.charged(2L, 1000L, 1_000L);
+        ledger.consumed(1L, 1000L, 1000L);
+
+        // 실행 & 검증 : 사용자 1 은 다 썼으므로 락을 잡으러 가지 않는다.
+        assertEquals(Set.of(2L), ledger.due(11_000L));
+        assertEquals(0L, ledger.expire(1L, 11_000L));
+        assertEquals(1L, ledger.lotCount());
+    }
+}
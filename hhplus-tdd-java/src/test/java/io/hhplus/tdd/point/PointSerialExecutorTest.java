@@ -0,0 +1,163 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointSerialExecutorTest {
+
+    private static final int THREADS = 4;
+
+    private final PointSerialExecutor pointSerialExecutor = new PointSerialExecutor(Executors.newFixedThreadPool(THREADS), 100_000);
+
+    @AfterEach
+    public void tearDown() {
+        pointSerialExecutor.shutdown();
+    }
+
+    @Test
+    public void 같은_사용자의_작업은_순서대로_하나씩_실행된다() {
+        // 준비
+        int userCount = 100;
+        int taskCount = 1000;
+        long[] counter = new long[userCount];       // 동기화 없이 증가시킨다.
+        List<List<Integer>> orders = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            orders.add(new ArrayList<>());
+        }
+
+        // 실행
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int task = 0; task < taskCount; task++) {
+            for (int id = 0; id < userCount; id++) {
+                int userId = id;
+                int order = task;
+                futures.add(pointSerialExecutor.submit(userId, () -> {
+                    orders.get(userId).add(order);
+                    return ++counter[userId];
+                }));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // 검증 : 갱신이 유실되지 않고, 들어온 순서대로 실행되며, 끝난 사용자의 큐는 남지 않는다.
+        for (int id = 0; id < userCount; id++) {
+            assertEquals(taskCount, counter[id]);
+            for (int task = 0; task < taskCount; task++) {
+                assertEquals(task, (int) orders.get(id).get(task));
+            }
+        }
+        assertEquals(0, pointSerialExecutor.activeUsers());
+    }
+
+    @Test
+    public void 차례를_기다리는_작업은_스레드를_점유하지_않는다() throws InterruptedException {
+        // 준비 : 한 사용자의 작업이 끝나지 않는 동안 같은 사용자에게 작업을 계속 넣는다.
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocking = pointSerialExecutor.submit(1L, () -> {
+            await(release);
+            return null;
+        });
+        List<CompletableFuture<Long>> waiting = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            waiting.add(pointSerialExecutor.submit(1L, () -> 1L));
+        }
+
+        // 실행 : 그동안 다른 사용자의 작업은 남은 스레드에서 실행된다.
+        List<CompletableFuture<Long>> others = new ArrayList<>();
+        for (long id = 2; id <= 1000; id++) {
+            long userId = id;
+            others.add(pointSerialExecutor.submit(userId, () -> userId));
+        }
+        CompletableFuture.allOf(others.toArray(CompletableFuture[]::new)).orTimeout(10, TimeUnit.SECONDS).join();
+
+        // 검증
+        assertEquals(0, waiting.stream().filter(CompletableFuture::isDone).count());
+        release.countDown();
+        blocking.join();
+        CompletableFuture.allOf(waiting.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Test
+    public void 대기_작업_수_초과와_실패는_future_로_전달된다() {
+        // 준비
+        PointSerialExecutor bounded = new PointSerialExecutor(Executors.newSingleThreadExecutor(), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> running = bounded.submit(1L, () -> {
+            await(release);
+            throw new CustomException(ErrorCode.POINT_INSUFFICIENT);
+        });
+        CompletableFuture<Long> queued = bounded.submit(1L, () -> 2L);
+
+        // 실행
+        CompletableFuture<Long> rejected = bounded.submit(1L, () -> 3L);
+        release.countDown();
+
+        // 검증 : 실패한 작업 뒤의 작업도 실행된다.
+        assertEquals(ErrorCode.USER_REQUEST_OVERLOADED, errorCodeOf(rejected));
+        assertEquals(ErrorCode.POINT_INSUFFICIENT, errorCodeOf(running));
+        assertEquals(2L, (long) queued.join());
+        bounded.shutdown();
+    }
+
+    @Test
+    public void 스레드를_배정받지_못한_사용자의_작업은_실패시키고_큐를_남기지_않는다() {
+        // 준비 : 한 사용자에게 DRAIN_BUDGET(16) 보다 많은 작업을 넣고, 첫 작업이 끝나기 전에 executor 를 종료한다.
+        PointSerialExecutor closing = new PointSerialExecutor(Executors.newSingleThreadExecutor(), 100);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        futures.add(closing.submit(1L, () -> {
+            await(release);
+            return 0L;
+        }));
+        for (long i = 1; i < 20; i++) {
+            long order = i;
+            futures.add(closing.submit(1L, () -> order));
+        }
+        closing.shutdown();
+
+        // 실행 : 이미 배정받은 스레드에서 16개까지 실행하고, 다시 배정받지 못한 나머지는 실패한다.
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        CompletableFuture<Long> afterShutdown = closing.submit(2L, () -> 2L);
+
+        // 검증
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, (long) futures.get(i).join());
+        }
+        for (int i = 16; i < 20; i++) {
+            CompletionException exception = assertThrows(CompletionException.class, futures.get(i)::join);
+            assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        }
+        CompletionException exception = assertThrows(CompletionException.class, afterShutdown::join);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(0, closing.activeUsers());
+    }
+
+    private static ErrorCode errorCodeOf(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(CustomException.class, exception.getCause()).getErrorCode();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.hhplus.tdd.database.UserPointTable;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -13,7 +14,8 @@ import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest // 통합테스트 시 사용
-public class PointServiceIntegrationTest {     // 다수의 스레드를 생성하여 통합 테스트를 진행한다.
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD) // 두 테스트가 같은 사용자를 쓰므로 테스트마다 테이블을 새로 만든다.
+public class PointServiceIntegrationTest {     // 다수의 스레드를 생성하여 통합 테스트를 진행한다. (지연 측정은 load.PointLoadTest)
 
     @Autowired
     private PointService pointService;
@@ -37,8 +39,6 @@ public class PointServiceIntegrationTest {     // 다수의 스레드를 생성
         ExecutorService executorService = Executors.newFixedThreadPool(threadCount * ids.length); // 고정된 개수의 스레드 풀 생성
         CountDownLatch countDownLatch = new CountDownLatch(threadCount * ids.length); // 여러개의 스레드가 특정 조건 만족할 때까지 기다림
 
-        long startTime = System.currentTimeMillis();
-
         // 실행
         for (long id : ids) { // 각 ID에 대해 작업 수행
             for (int i = 0; i < threadCount; i++) {
@@ -58,15 +58,11 @@ public class PointServiceIntegrationTest {     // 다수의 스레드를 생성
         executorService.shutdown(); // 스레드 풀 종료 및 자원 해제
         executorService.awaitTermination(1, TimeUnit.MINUTES); // 특정 시간 동안 스레드 풀 종료되기를 기다림
 
-        long endTime = System.currentTimeMillis(); // 종료 시간 기록
-
         // 검증
         for (long id : ids) {
             UserPoint userPoint = userPointTable.selectById(id);
             assertEquals(userPoint.point(), 30000L); // 20000L + 1000L * 10
         }
-
-        System.out.println("Test completed in " + (endTime - startTime) + " ms");
     }
 
     @Test
@@ -81,10 +77,8 @@ public class PointServiceIntegrationTest {     // 다수의 스레드를 생성
         int threadCount = 10;
         long useAmountPerThread = 1000L;
 
-        ExecutorService executorService = Executors.newFixedThreadPool(threadCount); // 고정된 개수의 스레드 풀 생성
-        CountDownLatch countDownLatch = new CountDownLatch(threadCount); // 여러개의 스레드가 특정 조건 만족할 때까지 기다림
-
-        long startTime = System.currentTimeMillis();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount * ids.length); // 고정된 개수의 스레드 풀 생성
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount * ids.length); // 여러개의 스레드가 특정 조건 만족할 때까지 기다림
 
         // 실행
         for (long id : ids) {
@@ -104,16 +98,12 @@ public class PointServiceIntegrationTest {     // 다수의 스레드를 생성
         executorService.shutdown(); // 스레드 풀 종료 및 자원 해제
         executorService.awaitTermination(1, TimeUnit.MINUTES); // 특정 시간동안 스레드 풀 종료되기를 기다림
 
-        long endTime = System.currentTimeMillis(); // 종료 시간 기록
-
         // 검증
         for (long id : ids) {
             UserPoint userPoint = userPointTable.selectById(id);
             assertEquals(userPoint.point(), 40000L); // 50000L - 1000L * 10
         }
 
-        System.out.println("Test completed in " + (endTime - startTime) + " ms");
-
     }
 
 }
@@ -3,17 +3,39 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.CustomException;
 import io.hhplus.tdd.ErrorCode;
+import io.hhplus.tdd.database.PointHistoryQuery;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryRepository;
+import io.hhplus.tdd.database.TableUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.PerUserLockRegistry;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.MockitoAnnotations;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -30,11 +52,67 @@ public class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
+    private PointHistoryRepository pointHistoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PointMetrics pointMetrics;
+
+    private PointCommandCombiner pointCommandCombiner;
+
+    private PointWriteProperties pointWriteProperties;
+
+    private PointSummaryAggregator pointSummaryAggregator;
+
+    private UserLockRegistry userLockRegistry;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        pointService = new PointService(userPointTable, pointHistoryTable);
+        AtomicLong historyId = new AtomicLong();
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> new PointHistory(
+                historyId.incrementAndGet(),
+                invocation.getArgument(0),
+                invocation.getArgument(1),
+                invocation.getArgument(2),
+                invocation.getArgument(3)
+        ));
+        meterRegistry = new SimpleMeterRegistry();
+        pointMetrics = new PointMetrics(meterRegistry, new PointMetricsProperties(true));
+        pointHistoryRepository = new TablePointHistoryRepository(pointHistoryTable, pointMetrics);
+        pointSummaryAggregator = new PointSummaryAggregator(new PointSummaryProperties(24, 30, 100), pointHistoryRepository);
+        pointService = newPointService(PointWriteMode.LOCK);
+    }
+
+    private PointService newPointService(PointWriteMode writeMode) {
+        return newPointService(writeMode, Duration.ofSeconds(10));
+    }
+
+    private PointService newPointService(PointWriteMode writeMode, Duration maxLockWait) {
+        UserPointCache userPointCache = new UserPointCache(new PointCacheProperties(true, 100));
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryRepository, pointSummaryAggregator, new PointOutboxProperties(false, 1, 5, Duration.ofMillis(50)));
+        userLockRegistry = new PerUserLockRegistry();
+        pointWriteProperties = new PointWriteProperties(writeMode, new PointWriteProperties.Optimistic(100, 10));
+        PointLotLedger pointLotLedger = new PointLotLedger(new PointExpirationProperties(false, Duration.ofDays(365), Duration.ofSeconds(1), 64), pointWriteProperties);
+        UserPointRepository userPointRepository = new TableUserPointRepository(userPointTable);
+        UserPointSnapshots userPointSnapshots = new UserPointSnapshots(new PointCacheProperties(true, 100));
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(true, 100, maxLockWait));
+        pointCommandCombiner = new PointCommandCombiner(userPointRepository, pointHistoryOutbox, userPointCache, userLockRegistry, pointMetrics, userPointSnapshots, pointLotLedger, pointAdmission);
+        return new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                pointCommandCombiner,
+                pointWriteProperties,
+                userPointCache,
+                pointHistoryOutbox,
+                userLockRegistry,
+                pointMetrics,
+                new OptimisticPointWriter(userPointRepository, new VersionedUserPointStore(new PointCacheProperties(true, 100)), pointHistoryOutbox, pointWriteProperties, pointMetrics),
+                pointSummaryAggregator,
+                pointAdmission,
+                userPointSnapshots,
+                pointLotLedger
+        );
     }
 
     @Test
@@ -201,4 +279,517 @@ public class PointServiceTest {
         verify(pointHistoryTable, times(1))
                 .insert(eq(id), eq(useAmount), eq(TransactionType.USE), anyLong());
     }
+
+    @Test
+    public void 그룹커밋_모드_순서대로_검증() throws InterruptedException {
+        // 준비
+        long id = 1L;
+        newPointService(PointWriteMode.GROUP_COMMIT);  // pointCommandCombiner 를 GROUP_COMMIT 용으로 새로 만든다.
+
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 10000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+        List<PointCommand> commands = List.of(
+                new PointCommand(id, TransactionType.USE, 4000L),
+                new PointCommand(id, TransactionType.USE, 7000L),   // 앞 요청이 반영된 잔액(6000) 기준으로 거절
+                new PointCommand(id, TransactionType.CHARGE, 2000L),
+                new PointCommand(id, TransactionType.USE, 8000L)
+        );
+
+        // 실행 : 사용자 락을 잡아 둔 동안 요청을 큐에 쌓고, 락을 풀어 한 번에 처리되게 한다.
+        UserLock held = userLockRegistry.lock(id);
+        CompletableFuture<List<CompletableFuture<UserPoint>>> submitted =
+                CompletableFuture.supplyAsync(() -> pointCommandCombiner.submitAll(id, commands));
+        while (userLockRegistry.stats().contended() == 0) {
+            Thread.sleep(1);  // 큐에 넣은 뒤 락을 기다리기 시작할 때까지
+        }
+        held.unlock();
+        List<CompletableFuture<UserPoint>> results = submitted.join();
+
+        // 검증 : 요청 순서대로 검증되고, 요청마다 그 시점의 잔액 또는 거절 사유를 받는다.
+        assertEquals(6000L, results.get(0).join().point());
+        CustomException rejected = assertThrows(CustomException.class, () -> PointFutures.await(results.get(1)));
+        assertEquals(ErrorCode.POINT_INSUFFICIENT, rejected.getErrorCode());
+        assertEquals(8000L, results.get(2).join().point());
+        assertEquals(0L, results.get(3).join().point());
+
+        verify(userPointTable, times(1)).selectById(id);
+        verify(userPointTable, times(1)).insertOrUpdate(id, 0L);
+        InOrder inOrder = inOrder(pointHistoryTable);
+        inOrder.verify(pointHistoryTable).insert(eq(id), eq(4000L), eq(TransactionType.USE), anyLong());
+        inOrder.verify(pointHistoryTable).insert(eq(id), eq(2000L), eq(TransactionType.CHARGE), anyLong());
+        inOrder.verify(pointHistoryTable).insert(eq(id), eq(8000L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, never()).insert(eq(id), eq(7000L), any(), anyLong());
+    }
+
+    @Test
+    public void 그룹커밋_모드_이력_추가가_실패해도_앞서_반영된_요청은_성공으로_남는다() {
+        // 준비 : 두 번째 이력 추가에서 실패한다.
+        long id = 1L;
+        PointService groupCommitService = newPointService(PointWriteMode.GROUP_COMMIT);
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 10000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+        given(pointHistoryTable.insert(eq(id), eq(2000L), any(), anyLong())).willThrow(new IllegalStateException("이력 저장 실패"));
+
+        // 실행
+        List<CompletableFuture<UserPoint>> results = pointCommandCombiner.submitAll(id, List.of(
+                new PointCommand(id, TransactionType.USE, 1000L),
+                new PointCommand(id, TransactionType.USE, 2000L),
+                new PointCommand(id, TransactionType.CHARGE, 500L)
+        ));
+
+        // 검증 : 이력까지 추가된 첫 요청은 성공, 실패 지점부터는 실패로 돌려준다.
+        assertEquals(9000L, results.get(0).join().point());
+        assertThrows(IllegalStateException.class, () -> PointFutures.await(results.get(1)));
+        assertThrows(IllegalStateException.class, () -> PointFutures.await(results.get(2)));
+        // 실패한 요청의 금액은 잔액에 남지 않는다. (배치 잔액 7500 을 저장한 뒤 첫 요청까지만 반영한 9000 으로 되돌린다)
+        InOrder inOrder = inOrder(userPointTable);
+        inOrder.verify(userPointTable).insertOrUpdate(id, 7500L);
+        inOrder.verify(userPointTable).insertOrUpdate(id, 9000L);
+        assertEquals(9000L, groupCommitService.getPointByUser(id).point());
+    }
+
+    @Test
+    public void 그룹커밋_모드_락_대기_한도를_넘으면_큐에서_빼고_거절한다() {
+        // 준비
+        long id = 1L;
+        PointService groupCommitService = newPointService(PointWriteMode.GROUP_COMMIT, Duration.ofMillis(50));
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 10000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+
+        // 실행 : 다른 요청이 락을 오래 잡고 있는 동안 들어온 요청
+        UserLock held = userLockRegistry.lock(id);
+        try {
+            CompletableFuture<UserPoint> timedOut = CompletableFuture.supplyAsync(() -> groupCommitService.usePoints(id, 1000L));
+            CompletionException e = assertThrows(CompletionException.class, timedOut::join);
+            assertEquals(ErrorCode.LOCK_WAIT_TIMEOUT, ((CustomException) e.getCause()).getErrorCode());
+        } finally {
+            held.unlock();
+        }
+        groupCommitService.usePoints(id, 500L);
+
+        // 검증 : 거절된 요청은 큐에서 빠져 나중에 반영되지 않는다.
+        verify(userPointTable, times(1)).insertOrUpdate(id, 9500L);
+        verify(pointHistoryTable, never()).insert(eq(id), eq(1000L), any(), anyLong());
+    }
+
+    @Test
+    public void 그룹커밋_모드_잔고_초과_사용() {
+        // 준비
+        long id = 1L;
+        PointService groupCommitService = newPointService(PointWriteMode.GROUP_COMMIT);
+
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 10000L, System.currentTimeMillis()));
+
+        // 실행 & 검증
+        CustomException e = assertThrows(
+                CustomException.class,
+                () -> groupCommitService.usePoints(id, 50000L)
+        );
+
+        assertEquals(ErrorCode.POINT_INSUFFICIENT.getCode(), e.getErrorCode().getCode());
+
+        // 거절된 요청만 있는 배치는 저장하지 않는다.
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    public void 충전_후_조회는_캐시에서_응답() {
+        // 준비
+        long id = 1L;
+        UserPoint charged = new UserPoint(id, 10000L, System.currentTimeMillis());
+        given(userPointTable.selectById(id)).willReturn(UserPoint.empty(id));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong())).willReturn(charged);
+
+        // 실행
+        pointService.chargePoints(id, 10000L);
+        UserPoint result = pointService.getPointByUser(id);
+
+        // 검증 : 충전 시 1회 조회 이후에는 테이블을 다시 조회하지 않는다.
+        assertEquals(charged, result);
+        verify(userPointTable, times(1)).selectById(id);
+    }
+
+    @Test
+    public void 버전은_쓰기마다_바뀌고_테이블을_다시_읽지_않는다() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(UserPoint.empty(id));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        // 실행
+        VersionedUserPoint before = pointService.getVersionedPointByUser(id);
+        VersionedUserPoint unchanged = pointService.getVersionedPointByUser(id);
+        pointService.chargePoints(id, 10000L);
+        VersionedUserPoint after = pointService.getVersionedPointByUser(id);
+
+        // 검증 : 쓰기가 없으면 버전이 그대로이고, 처음 1회 이후에는 잔액/이력 테이블을 조회하지 않는다.
+        assertEquals(before.version(), unchanged.version());
+        assertTrue(after.version() > before.version());
+        assertEquals(10000L, after.userPoint().point());
+        verify(userPointTable, times(1)).selectById(id);
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+        assertThrows(CustomException.class, () -> pointService.getVersionedPointByUser(0L));
+    }
+
+    @Test
+    public void 이력_커서_페이지_조회() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+        for (int i = 0; i < 5; i++) {
+            pointService.chargePoints(id, 1000L);
+        }
+
+        // 실행
+        List<PointHistory> firstPage = pointService.getPointHistoriesByUser(id, 0L, 2);
+        List<PointHistory> secondPage = pointService.getPointHistoriesByUser(id, firstPage.get(1).id(), 2);
+        List<PointHistory> lastPage = pointService.getPointHistoriesByUser(id, secondPage.get(1).id(), 2);
+
+        // 검증
+        assertEquals(List.of(1L, 2L), firstPage.stream().map(PointHistory::id).toList());
+        assertEquals(List.of(3L, 4L), secondPage.stream().map(PointHistory::id).toList());
+        assertEquals(List.of(5L), lastPage.stream().map(PointHistory::id).toList());
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong()); // 전체 테이블을 훑지 않는다.
+    }
+
+    @Test
+    public void 이력_스트리밍_페이지_단위_조회() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+        for (int i = 0; i < 1200; i++) {
+            pointHistoryRepository.save(id, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+
+        // 실행
+        List<List<PointHistory>> pages = pointService.streamPointHistoriesByUser(id).toList();
+
+        // 검증 : 페이지 크기(500)를 넘지 않고, 모든 이력이 id 순서대로 한 번씩 나온다.
+        assertEquals(List.of(500, 500, 200), pages.stream().map(List::size).toList());
+        List<Long> ids = pages.stream().flatMap(List::stream).map(PointHistory::id).toList();
+        assertEquals(LongStream.rangeClosed(1, 1200).boxed().toList(), ids);
+    }
+
+    @Test
+    public void 이력_기간_거래종류_조회() {
+        // 준비 : 1시간 간격으로 충전/사용 이력을 번갈아 쌓는다.
+        long id = 1L;
+        long hour = 60 * 60 * 1000L;
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+        for (int i = 0; i < 48; i++) {
+            pointHistoryRepository.save(id, 100L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i * hour);
+        }
+
+        // 실행
+        List<PointHistory> lastDay = pointService.getPointHistoriesByUser(id, new PointHistoryQuery(0L, 24 * hour, 48 * hour, null, 100));
+        List<PointHistory> usedInRange = pointService.getPointHistoriesByUser(id, new PointHistoryQuery(0L, 10 * hour, 20 * hour, TransactionType.USE, 100));
+        List<PointHistory> nextPage = pointService.getPointHistoriesByUser(id, new PointHistoryQuery(usedInRange.get(1).id(), 10 * hour, 20 * hour, TransactionType.USE, 2));
+
+        // 검증
+        assertEquals(24, lastDay.size());
+        assertEquals(24 * hour, lastDay.get(0).updateMillis());
+        assertEquals(List.of(11L, 13L, 15L, 17L, 19L), usedInRange.stream().map(h -> h.updateMillis() / hour).toList());
+        assertEquals(List.of(15L, 17L), nextPage.stream().map(h -> h.updateMillis() / hour).toList());
+    }
+
+    @Test
+    public void 유효하지_않은_조회_기간() {
+        // 준비
+        long id = 1L;
+
+        // 실행
+        CustomException e = assertThrows(
+                CustomException.class,
+                () -> pointService.getPointHistoriesByUser(id, new PointHistoryQuery(0L, 2000L, 1000L, null, 10))
+        );
+
+        // 검증
+        assertEquals(ErrorCode.INVALID_TIME_RANGE.getCode(), e.getErrorCode().getCode());
+    }
+
+    @Test
+    public void 마지막_이력_id_는_이력이_추가될_때만_바뀐다() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(UserPoint.empty(id));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+
+        // 실행
+        long before = pointService.getLastHistoryIdByUser(id);
+        pointService.chargePoints(id, 1000L);
+        long afterCharge = pointService.getLastHistoryIdByUser(id);
+        assertThrows(CustomException.class, () -> pointService.usePoints(id, 5000L));
+        long afterRejected = pointService.getLastHistoryIdByUser(id);
+
+        // 검증 : 이력 테이블을 조회하지 않고, 거절된 요청은 id 를 바꾸지 않는다. 잘못된 조건은 조회 전에 거절한다.
+        assertEquals(0L, before);
+        assertEquals(1L, afterCharge);
+        assertEquals(afterCharge, afterRejected);
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+        CustomException e = assertThrows(CustomException.class,
+                () -> pointService.validatePointHistoryQuery(id, new PointHistoryQuery(0L, 2000L, 1000L, null, 10)));
+        assertEquals(ErrorCode.INVALID_TIME_RANGE, e.getErrorCode());
+    }
+
+    @Test
+    public void 충전_사용_요약_조회() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+        pointService.chargePoints(id, 1000L);
+        pointService.chargePoints(id, 500L);
+        pointService.usePoints(id, 300L);
+
+        // 실행
+        PointSummary summary = pointService.getPointSummary(id);
+
+        // 검증 : 누적값과 현재 시간/일 구간에 모두 반영되고, 이력은 조회하지 않는다.
+        assertEquals(1500L, summary.totalCharged());
+        assertEquals(300L, summary.totalUsed());
+        assertEquals(2L, summary.chargeCount());
+        assertEquals(1L, summary.useCount());
+        assertEquals(24, summary.hourly().size());
+        assertEquals(30, summary.daily().size());
+        PointSummary.Bucket currentHour = summary.hourly().get(23);
+        assertEquals(1500L, currentHour.charged());
+        assertEquals(1, currentHour.useCount());
+        assertEquals(300L, summary.daily().get(29).used());
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    public void 유효하지_않은_페이지_요청() {
+        CustomException e = assertThrows(
+                CustomException.class,
+                () -> pointService.getPointHistoriesByUser(1L, 0L, 0)
+        );
+
+        assertEquals(ErrorCode.INVALID_PAGE_REQUEST.getCode(), e.getErrorCode().getCode());
+    }
+
+    @Test
+    public void 거절_및_락_지표_기록() {
+        // 준비
+        long id = 1L;
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 10000L, System.currentTimeMillis()));
+
+        // 실행
+        assertThrows(CustomException.class, () -> pointService.usePoints(id, 50000L));
+
+        // 검증
+        assertEquals(1.0, meterRegistry.get("point.rejections")
+                .tag("operation", "use")
+                .tag("code", ErrorCode.POINT_INSUFFICIENT.getCode())
+                .counter().count());
+        assertEquals(1L, meterRegistry.get("point.lock.wait").tag("operation", "use").timer().count());
+        assertEquals(1L, meterRegistry.get("point.lock.hold").tag("operation", "use").timer().count());
+        assertEquals(1L, meterRegistry.get("point.table.call").tag("table", PointMetrics.TABLE_USER_POINT).tag("call", "select").timer().count());
+    }
+
+    @Test
+    public void 낙관적_모드_동시_충전() throws InterruptedException {
+        // 준비
+        long id = 1L;
+        PointService optimisticService = newPointService(PointWriteMode.OPTIMISTIC);
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+
+        int threadCount = 10;
+        int chargeCountPerThread = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // 실행
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < chargeCountPerThread; j++) {
+                        optimisticService.chargePoints(id, 100L);
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+
+        // 검증 : 충돌이 나도 재시도로 모든 충전이 반영되고, 테이블에도 최종 잔액이 저장된다.
+        long expected = 100L * threadCount * chargeCountPerThread;
+        assertEquals(expected, optimisticService.getPointByUser(id).point());
+        ArgumentCaptor<Long> saved = ArgumentCaptor.forClass(Long.class);
+        verify(userPointTable, atLeastOnce()).insertOrUpdate(eq(id), saved.capture());
+        List<Long> balances = saved.getAllValues();
+        assertEquals(balances.stream().sorted().toList(), balances);  // 반영된 버전 순서대로(묶이면 마지막 값만) 저장된다.
+        assertEquals(expected, (long) balances.get(balances.size() - 1));
+        ArgumentCaptor<Long> updateMillis = ArgumentCaptor.forClass(Long.class);
+        verify(pointHistoryTable, times(threadCount * chargeCountPerThread))
+                .insert(eq(id), eq(100L), eq(TransactionType.CHARGE), updateMillis.capture());
+        List<Long> appended = updateMillis.getAllValues();
+        assertEquals(appended.stream().sorted().toList(), appended);  // 이력도 버전 순서대로 추가된다.
+    }
+
+    @Test
+    public void 낙관적_모드_이력_추가가_실패하면_잔액을_되돌리고_재시도해도_한_번만_반영된다() {
+        // 준비 : 두 번째 이력 추가만 실패한다.
+        long id = 1L;
+        PointService optimisticService = newPointService(PointWriteMode.OPTIMISTIC);
+        given(userPointTable.selectById(id)).willReturn(new UserPoint(id, 0L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(id, invocation.getArgument(1), System.currentTimeMillis()));
+        AtomicLong historyId = new AtomicLong();
+        given(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).willAnswer(invocation -> {
+            if (historyId.incrementAndGet() == 2) {
+                throw new IllegalStateException("history insert failed");
+            }
+            return new PointHistory(historyId.get(), id, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+        });
+
+        // 실행 : 실패한 충전을 클라이언트가 다시 보낸다.
+        optimisticService.chargePoints(id, 100L);
+        assertThrows(IllegalStateException.class, () -> optimisticService.chargePoints(id, 100L));
+        UserPoint retried = optimisticService.chargePoints(id, 100L);
+
+        // 검증 : 실패한 충전은 테이블에서도 되돌려지고, 재시도는 한 번만 반영된다.
+        assertEquals(200L, retried.point());
+        assertEquals(200L, optimisticService.getPointByUser(id).point());
+        InOrder inOrder = inOrder(userPointTable);
+        inOrder.verify(userPointTable).insertOrUpdate(id, 100L);
+        inOrder.verify(userPointTable).insertOrUpdate(id, 200L);
+        inOrder.verify(userPointTable).insertOrUpdate(id, 100L);  // 실패한 충전을 되돌린다.
+        inOrder.verify(userPointTable).insertOrUpdate(id, 200L);
+    }
+
+    @Test
+    public void 포인트_이체() {
+        // 준비
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), 1000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        // 실행
+        PointTransfer result = pointService.transferPoints(1L, 2L, 300L);
+
+        // 검증 : 두 잔액과 두 이력이 함께 반영된다.
+        assertEquals(700L, result.from().point());
+        assertEquals(1300L, result.to().point());
+        assertEquals(700L, pointService.getPointByUser(1L).point());
+        assertEquals(1300L, pointService.getPointByUser(2L).point());
+        verify(pointHistoryTable, times(1)).insert(eq(1L), eq(300L), eq(TransactionType.TRANSFER_OUT), anyLong());
+        verify(pointHistoryTable, times(1)).insert(eq(2L), eq(300L), eq(TransactionType.TRANSFER_IN), anyLong());
+
+        // 기간별 집계에서 보낸 쪽은 사용, 받은 쪽은 충전으로 잡힌다.
+        PointSummary from = pointSummaryAggregator.summary(1L, System.currentTimeMillis());
+        PointSummary to = pointSummaryAggregator.summary(2L, System.currentTimeMillis());
+        assertEquals(300L, from.totalUsed());
+        assertEquals(0L, from.totalCharged());
+        assertEquals(300L, to.totalCharged());
+        assertEquals(0L, to.totalUsed());
+    }
+
+    @Test
+    public void 잔고_초과_이체_및_자기_자신_이체() {
+        // 준비
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), 1000L, System.currentTimeMillis()));
+
+        // 실행 & 검증
+        CustomException insufficient = assertThrows(CustomException.class, () -> pointService.transferPoints(1L, 2L, 5000L));
+        CustomException self = assertThrows(CustomException.class, () -> pointService.transferPoints(1L, 1L, 100L));
+
+        assertEquals(ErrorCode.POINT_INSUFFICIENT.getCode(), insufficient.getErrorCode().getCode());
+        assertEquals(ErrorCode.SELF_TRANSFER.getCode(), self.getErrorCode().getCode());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    public void 반대_방향_동시_이체() throws InterruptedException {
+        // 준비
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), 10000L, System.currentTimeMillis()));
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+
+        int threadCount = 10;
+        int transferCountPerThread = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // 실행 : 절반은 1 → 2, 절반은 2 → 1 로 동시에 이체한다.
+        for (int i = 0; i < threadCount; i++) {
+            long from = i % 2 == 0 ? 1L : 2L;
+            long to = 3L - from;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < transferCountPerThread; j++) {
+                        pointService.transferPoints(from, to, 10L);
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 검증 : 서로 기다리며 멈추지 않고, 양쪽 이체 수가 같으므로 잔액은 그대로다.
+        assertTrue(countDownLatch.await(1, TimeUnit.MINUTES));
+        executorService.shutdown();
+        assertEquals(10000L, pointService.getPointByUser(1L).point());
+        assertEquals(10000L, pointService.getPointByUser(2L).point());
+        verify(pointHistoryTable, times(threadCount * transferCountPerThread))
+                .insert(anyLong(), eq(10L), eq(TransactionType.TRANSFER_OUT), anyLong());
+    }
+
+    @Test
+    public void 일괄_충전_사용_항목별_결과() {
+        // 준비
+        given(userPointTable.selectById(anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), 1000L, System.currentTimeMillis()));
+        given(userPointTable.selectById(3L)).willThrow(new IllegalStateException("조회 실패"));  // 예상하지 못한 오류
+        given(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis()));
+        ExecutorService pointBatchExecutor = Executors.newFixedThreadPool(4);
+        PointBatchProcessor pointBatchProcessor = new PointBatchProcessor(
+                pointService, pointMetrics, new PointBatchProperties(4, 100), pointBatchExecutor);
+
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 500L),
+                new PointCommand(2L, TransactionType.USE, 300L),
+                new PointCommand(1L, TransactionType.USE, 2000L), // 잔액 부족 (1000 + 500 < 2000)
+                new PointCommand(1L, TransactionType.USE, 1500L),
+                new PointCommand(-1L, TransactionType.CHARGE, 100L),
+                new PointCommand(3L, TransactionType.CHARGE, 100L)
+        );
+
+        // 실행
+        List<PointCommandResult> results = pointBatchProcessor.process(commands);
+        pointBatchExecutor.shutdown();
+
+        // 검증 : 같은 사용자의 요청은 순서대로 검증되고, 결과는 요청 순서대로 돌아온다.
+        assertEquals(1500L, results.get(0).userPoint().point());
+        assertEquals(700L, results.get(1).userPoint().point());
+        assertEquals(ErrorCode.POINT_INSUFFICIENT.getCode(), results.get(2).error().code());
+        assertEquals(0L, results.get(3).userPoint().point());
+        assertEquals(ErrorCode.INVALID_USER_ID.getCode(), results.get(4).error().code());
+        assertEquals("500", results.get(5).error().code());  // 예상하지 못한 오류도 항목 실패로 돌려준다.
+
+        // 같은 사용자의 요청은 한 번의 조회/저장으로 묶이고, 성공한 항목만 기간별 집계에 기록된다.
+        verify(userPointTable, times(1)).selectById(1L);
+        verify(userPointTable, times(1)).insertOrUpdate(1L, 0L);
+        PointSummary summary = pointSummaryAggregator.summary(1L, System.currentTimeMillis());
+        assertEquals(500L, summary.totalCharged());
+        assertEquals(1500L, summary.totalUsed());
+        assertEquals(0L, pointSummaryAggregator.summary(3L, System.currentTimeMillis()).chargeCount());
+    }
 }
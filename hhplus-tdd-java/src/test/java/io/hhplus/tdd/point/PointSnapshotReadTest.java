@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.CustomException;
+import io.hhplus.tdd.database.JournalFsyncMode;
+import io.hhplus.tdd.database.JournalPointHistoryRepository;
+import io.hhplus.tdd.database.JournalUserPointRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointJournal;
+import io.hhplus.tdd.database.PointJournalProperties;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.lock.PerUserLockRegistry;
+import io.hhplus.tdd.lock.UserLockRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 잔액 스냅샷 조회 동시성 테스트
+ * - 충전/사용과 조회를 동시에 돌리면서, 조회한 잔액이 그 직후 조회한 이력의 어떤 앞부분 합계와 같은지 확인한다.
+ * - 이력이 추가되기 전에 잔액이 보이면 어느 앞부분 합계와도 맞지 않는다.
+ * - 스냅샷 최대 수를 사용자 수보다 작게 두어, 제거와 재게시가 계속 일어나는 중에도 맞는지 확인한다.
+ * - OPTIMISTIC 모드는 버전 저장소의 최대 수를 같이 작게 두어, 제거 중에도 이력 순서와 잔액이 맞는지 확인한다.
+ */
+public class PointSnapshotReadTest {
+
+    private static final long USER_COUNT = 4;
+    private static final int WRITER_COUNT = 8;
+    private static final int READER_COUNT = 4;
+    private static final int WRITES_PER_WRITER = 500;
+    private static final int SNAPSHOT_MAX_SIZE = 2;
+
+    @TempDir
+    Path directory;
+
+    private PointJournal pointJournal;
+    private UserPointSnapshots userPointSnapshots;
+    private VersionedUserPointStore versionedUserPointStore;
+
+    @AfterEach
+    void tearDown() {
+        pointJournal.close();
+    }
+
+    @Test
+    public void LOCK_모드_조회는_이력보다_앞선_잔액을_보지_않는다() throws Exception {
+        assertReadsNeverLeadHistories(newPointService(PointWriteMode.LOCK));
+    }
+
+    @Test
+    public void GROUP_COMMIT_모드_조회는_이력보다_앞선_잔액을_보지_않는다() throws Exception {
+        assertReadsNeverLeadHistories(newPointService(PointWriteMode.GROUP_COMMIT));
+    }
+
+    @Test
+    public void 조회만_한_사용자는_스냅샷에_남지_않는다() {
+        // 준비
+        PointService pointService = newPointService(PointWriteMode.LOCK);
+
+        // 실행 : 없는 사용자를 포함해 조회만 한다.
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(0L, pointService.getPointByUser(id).point());
+        }
+        for (long id = 1; id <= 10; id++) {
+            pointService.chargePoints(id, 100L);
+        }
+
+        // 검증 : 스냅샷은 쓰기가 있었던 사용자만, 최대 수 이하로 남는다.
+        assertEquals(0L, pointService.getPointByUser(500L).point());
+        assertTrue(userPointSnapshots.size() <= SNAPSHOT_MAX_SIZE);
+        assertTrue(userPointSnapshots.evictionCount() > 0);
+        for (long id = 1; id <= 10; id++) {
+            assertEquals(100L, pointService.getPointByUser(id).point());
+        }
+    }
+
+    @Test
+    public void OPTIMISTIC_모드_이력은_버전_순서대로_쌓이고_제거돼도_잔액을_잃지_않는다() throws Exception {
+        // 준비
+        PointService pointService = newPointService(PointWriteMode.OPTIMISTIC);
+        ExecutorService executorService = Executors.newFixedThreadPool(WRITER_COUNT);
+
+        // 실행
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            writers.add(executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < WRITES_PER_WRITER; n++) {
+                    long id = random.nextLong(USER_COUNT) + 1;
+                    try {
+                        if (random.nextBoolean()) {
+                            pointService.chargePoints(id, 100L);
+                        } else {
+                            pointService.usePoints(id, 70L);
+                        }
+                    } catch (CustomException ignored) {
+                        // 잔액 부족, 재시도 초과는 이 테스트의 관심사가 아니다.
+                    }
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executorService.shutdown();
+
+        // 검증 : 이력은 시각 순서로 쌓이고, 저장소에서 제거됐다가 다시 읽힌 사용자도 잔액이 이력 합계와 같다.
+        assertTrue(versionedUserPointStore.evictionCount() > 0);
+        for (long id = 1; id <= USER_COUNT; id++) {
+            List<PointHistory> histories = pointService.getPointHistoriesByUser(id);
+            for (int i = 1; i < histories.size(); i++) {
+                assertTrue(histories.get(i - 1).updateMillis() <= histories.get(i).updateMillis());
+            }
+            assertEquals(signedSum(histories), pointService.getPointByUser(id).point());
+        }
+    }
+
+    private void assertReadsNeverLeadHistories(PointService pointService) throws Exception {
+        // 준비
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        ExecutorService executorService = Executors.newFixedThreadPool(WRITER_COUNT + READER_COUNT);
+
+        // 실행
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            writers.add(executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < WRITES_PER_WRITER; n++) {
+                    long id = random.nextLong(USER_COUNT) + 1;
+                    try {
+                        if (random.nextBoolean()) {
+                            pointService.chargePoints(id, 100L);
+                        } else {
+                            pointService.usePoints(id, 70L);
+                        }
+                    } catch (CustomException ignored) {
+                        // 잔액 부족은 이 테스트의 관심사가 아니다.
+                    }
+                }
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < READER_COUNT; i++) {
+            readers.add(executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (writing.get()) {
+                    long id = random.nextLong(USER_COUNT) + 1;
+                    long balance = pointService.getPointByUser(id).point();
+                    if (!isPrefixSum(balance, pointService.getPointHistoriesByUser(id))) {
+                        violations.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executorService.shutdown();
+
+        // 검증
+        assertTrue(reads.get() > 0);
+        assertEquals(0L, violations.get());
+        for (long id = 1; id <= USER_COUNT; id++) {
+            long historySum = signedSum(pointService.getPointHistoriesByUser(id));
+            assertEquals(historySum, pointService.getPointByUser(id).point());
+            VersionedUserPoint snapshot = userPointSnapshots.get(id);
+            if (snapshot != null) {
+                assertEquals(historySum, snapshot.userPoint().point());
+            }
+        }
+    }
+
+    private PointService newPointService(PointWriteMode writeMode) {
+        pointJournal = new PointJournal(new PointJournalProperties(directory.toString(), DataSize.ofMegabytes(8), JournalFsyncMode.ASYNC, Duration.ofMillis(10), 0));
+        userPointSnapshots = new UserPointSnapshots(new PointCacheProperties(true, SNAPSHOT_MAX_SIZE));
+        versionedUserPointStore = new VersionedUserPointStore(new PointCacheProperties(true, SNAPSHOT_MAX_SIZE));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry(), new PointMetricsProperties(false));
+        UserPointRepository userPointRepository = new JournalUserPointRepository(pointJournal);
+        PointHistoryRepository pointHistoryRepository = new JournalPointHistoryRepository(pointJournal, pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(new PointCacheProperties(true, 100));
+        PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(new PointSummaryProperties(24, 30, 100), pointHistoryRepository);
+        PointHistoryOutbox pointHistoryOutbox = new PointHistoryOutbox(pointHistoryRepository, pointSummaryAggregator, new PointOutboxProperties(false, 1, 5, Duration.ofMillis(50)));
+        UserLockRegistry userLockRegistry = new PerUserLockRegistry();
+        PointWriteProperties pointWriteProperties = new PointWriteProperties(writeMode, new PointWriteProperties.Optimistic(100, 10));
+        PointLotLedger pointLotLedger = new PointLotLedger(new PointExpirationProperties(false, Duration.ofDays(365), Duration.ofSeconds(1), 64), pointWriteProperties);
+        PointAdmission pointAdmission = new PointAdmission(new PointAdmissionProperties(false, 0, Duration.ZERO));
+        return new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                new PointCommandCombiner(userPointRepository, pointHistoryOutbox, userPointCache, userLockRegistry, pointMetrics, userPointSnapshots, pointLotLedger, pointAdmission),
+                pointWriteProperties,
+                userPointCache,
+                pointHistoryOutbox,
+                userLockRegistry,
+                pointMetrics,
+                new OptimisticPointWriter(userPointRepository, versionedUserPointStore, pointHistoryOutbox, pointWriteProperties, pointMetrics),
+                pointSummaryAggregator,
+                pointAdmission,
+                userPointSnapshots,
+                pointLotLedger
+        );
+    }
+
+    /**
+     * balance 가 이력 앞부분(0개 ~ 전체)의 합계 중 하나와 같은지
+     */
+    private static boolean isPrefixSum(long balance, List<PointHistory> histories) {
+        long sum = 0;
+        if (sum == balance) {
+            return true;
+        }
+        for (PointHistory history : histories) {
+            sum += history.type().isCredit() ? history.amount() : -history.amount();
+            if (sum == balance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long signedSum(List<PointHistory> histories) {
+        return histories.stream()
+                .mapToLong(history -> history.type().isCredit() ? history.amount() : -history.amount())
+                .sum();
+    }
+}
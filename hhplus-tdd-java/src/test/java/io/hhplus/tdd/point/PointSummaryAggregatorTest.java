@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.MemoryPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PointSummaryAggregatorTest {
+
+    private final PointHistoryRepository pointHistoryRepository = new MemoryPointHistoryRepository();
+    private final PointSummaryAggregator aggregator = new PointSummaryAggregator(new PointSummaryProperties(24, 30, 10), pointHistoryRepository);
+
+    @Test
+    public void 요약이_없는_사용자는_이력에서_만들고_이후_이력은_한_번씩만_반영한다() {
+        // 준비 : 요약이 만들어지기 전에 저장된 이력
+        long now = System.currentTimeMillis();
+        save(1L, 1000L, TransactionType.CHARGE, now);
+        save(1L, 300L, TransactionType.USE, now);
+
+        // 실행
+        PointSummary loaded = aggregator.summary(1L, now);
+        PointHistory charged = save(1L, 500L, TransactionType.CHARGE, now);
+        aggregator.record(charged);  // 이미 반영한 이력은 건너뛴다.
+
+        // 검증
+        assertEquals(1000L, loaded.totalCharged());
+        assertEquals(300L, loaded.totalUsed());
+        PointSummary summary = aggregator.summary(1L, now);
+        assertEquals(1500L, summary.totalCharged());
+        assertEquals(2L, summary.chargeCount());
+    }
+
+    @Test
+    public void 보관_사용자_수를_넘으면_제거하고_다시_조회하면_이력에서_만든다() {
+        // 준비
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 11; id++) {
+            save(id, id * 100, TransactionType.CHARGE, now);
+            aggregator.summary(id, now);
+        }
+
+        // 검증 : 제거된 사용자의 요약도 이력에서 다시 만들어 같은 값을 돌려준다.
+        assertTrue(aggregator.size() <= 10);
+        assertTrue(aggregator.evictionCount() > 0);
+        for (long id = 1; id <= 11; id++) {
+            assertEquals(id * 100, aggregator.summary(id, now).totalCharged());
+        }
+    }
+
+    /**
+     * PointHistoryOutbox 와 같이 저장한 뒤 집계에 반영한다.
+     */
+    private PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = pointHistoryRepository.save(userId, amount, type, updateMillis);
+        aggregator.record(pointHistory);
+        return pointHistory;
+    }
+}
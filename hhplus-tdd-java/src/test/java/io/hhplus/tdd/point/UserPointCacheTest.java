@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserPointCacheTest {
+
+    @Test
+    public void 조회_중에_쓰기가_캐시를_갱신하고_제거됐다면_조회한_값을_넣지_않는다() {
+        // 준비 : 크기 1 인 캐시
+        UserPointCache cache = new UserPointCache(new PointCacheProperties(true, 1));
+        long id = 1L;
+        UserPoint stale = new UserPoint(id, 100L, 1L);
+        UserPoint written = new UserPoint(id, 200L, 2L);
+
+        // 실행 : 락 없이 읽는 동안 쓰기가 V1 을 넣고, 다른 사용자의 쓰기로 V1 이 제거된다.
+        cache.getOrLoad(id, key -> {
+            cache.put(written);
+            cache.put(new UserPoint(2L, 0L, 3L));
+            return stale;
+        });
+
+        // 검증 : 오래된 V0 은 캐시에 들어가지 않으므로, 다음 조회는 V1 을 본다. (캐시에 남았거나 저장소에서 다시 읽는다)
+        assertEquals(written, cache.getOrLoad(id, key -> written));
+    }
+
+    @Test
+    public void 크기가_maxSize_를_넘으면_최근_조회되지_않은_사용자부터_제거한다() {
+        // 준비
+        UserPointCache cache = new UserPointCache(new PointCacheProperties(true, 10));
+        for (long id = 1; id <= 10; id++) {
+            cache.put(new UserPoint(id, id, id));
+        }
+        cache.getOrLoad(1L, key -> null);  // 1번 사용자는 최근에 조회됨
+
+        // 실행
+        cache.put(new UserPoint(11L, 11L, 11L));
+
+        // 검증
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.evictionCount() > 0);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad(1L, key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        assertEquals(0, loads.get());
+    }
+}
@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 가상 스레드 모드 부하 테스트 (./gradlew loadTest 로 실행)
+ * - 서로 다른 사용자의 충전 요청을 수만 건 동시에 보낸다. 충전은 UserPointTable / PointHistoryTable 의 sleep 에서 블로킹된다.
+ * - 같은 설정(커넥션 한도 포함)으로 플랫폼 스레드 모드를 기준선으로 먼저 돌리고, 가상 스레드 모드와 동시 처리 수/처리량을 비교한다.
+ * - 플랫폼 스레드 모드는 Tomcat 작업 스레드 수(200)에서 동시 처리 수가 막히고, 가상 스레드 모드는 그 한도를 넘어야 한다.
+ * - 클라이언트와 서버가 한 JVM 에서 커넥션을 양쪽으로 여므로 열린 파일 수 한도(ulimit -n)가 요청 수의 2배 이상이어야 한다.
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int PLATFORM_THREAD_LIMIT = 200;  // server.tomcat.threads.max 기본값
+    private static final int REQUEST_COUNT = 20000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Test
+    public void 블로킹_쓰기를_가상_스레드가_플랫폼_스레드보다_많이_동시에_처리한다() throws Exception {
+        // 실행
+        LoadResult platform = run(false);
+        tearDown();
+        LoadResult virtual = run(true);
+
+        // 검증
+        System.out.printf("platform threads : peak in-flight = %d, %.0f req/s%n", platform.peakInFlight(), platform.throughput());
+        System.out.printf("virtual threads  : peak in-flight = %d, %.0f req/s%n", virtual.peakInFlight(), virtual.throughput());
+        assertTrue(platform.peakInFlight() <= PLATFORM_THREAD_LIMIT);
+        assertTrue(virtual.peakInFlight() > PLATFORM_THREAD_LIMIT);
+        assertTrue(virtual.throughput() > platform.throughput());
+    }
+
+    /**
+     * 사용자마다 한 번씩 충전 요청을 동시에 보내고, 서버의 최대 동시 처리 수와 초당 처리 수를 잰다.
+     */
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        context = new SpringApplicationBuilder(TddApplication.class, LoadTestConfig.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=" + (REQUEST_COUNT + 1000),
+                "--server.tomcat.accept-count=1000",
+                "--point.store.type=TABLE",
+                "--point.metrics.enabled=false",
+                "--point.snapshot.export-on-shutdown=false");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        long start = System.nanoTime();
+        List<Future<Integer>> responses = new ArrayList<>(REQUEST_COUNT);
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= REQUEST_COUNT; id++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/point/" + id + "/charge"))
+                        .timeout(Duration.ofMinutes(5))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+                        .build();
+                responses.add(executorService.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (Future<Integer> response : responses) {
+            assertEquals(200, response.get());
+        }
+        return new LoadResult(context.getBean(InFlightFilter.class).peak(), REQUEST_COUNT / seconds);
+    }
+
+    private record LoadResult(
+            int peakInFlight,
+            double throughput
+    ) {
+    }
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+    }
+
+    /**
+     * 처리 중인 요청 수와 그 최댓값을 센다.
+     */
+    static class InFlightFilter extends OncePerRequestFilter {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        int peak() {
+            return peak.get();
+        }
+    }
+}
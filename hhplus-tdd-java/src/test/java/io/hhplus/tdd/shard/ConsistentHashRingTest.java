@@ -0,0 +1,66 @@
+package io.hhplus.tdd.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsistentHashRingTest {
+
+    private static final int USER_COUNT = 100_000;
+
+    @Test
+    public void 사용자가_노드에_고르게_나뉜다() {
+        // 준비
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 160);
+
+        // 실행
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= USER_COUNT; id++) {
+            counts.merge(ring.ownerOf(id), 1, Integer::sum);
+        }
+
+        // 검증 : 노드마다 평균(25%)에서 크게 벗어나지 않는다.
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - USER_COUNT / 4) < USER_COUNT / 4 * 0.2, "count = " + count);
+        }
+    }
+
+    @Test
+    public void 노드_추가_시_새_노드_몫의_사용자만_옮겨진다() {
+        // 준비
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"), 160);
+
+        // 실행
+        int moved = 0;
+        for (long id = 1; id <= USER_COUNT; id++) {
+            if (!before.ownerOf(id).equals(after.ownerOf(id))) {
+                moved++;
+                assertEquals("node-4", after.ownerOf(id));  // 기존 노드끼리는 사용자를 주고받지 않는다.
+            }
+        }
+
+        // 검증 : 약 1/4 만 옮겨진다.
+        assertTrue(moved > USER_COUNT / 4 * 0.8 && moved < USER_COUNT / 4 * 1.2, "moved = " + moved);
+    }
+
+    @Test
+    public void 노드_제거_시_제거된_노드의_사용자만_옮겨진다() {
+        // 준비
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-3", "node-1"), 160);  // 순서와 관계없이 같은 ring
+
+        // 실행 & 검증
+        for (long id = 1; id <= USER_COUNT; id++) {
+            if (!before.ownerOf(id).equals("node-2")) {
+                assertEquals(before.ownerOf(id), after.ownerOf(id));
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 JVM 안에 노드 여러 개를 띄워 샤딩을 확인한다.
+ * - 노드마다 별도 스프링 컨텍스트와 포트를 가지며, 모두 같은 ring 구성을 사용한다.
+ */
+public class ShardClusterTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<String> urls = new ArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    public void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+        urls.clear();
+    }
+
+    @Test
+    public void 어느_노드로_요청해도_담당_노드에서_처리된다() throws Exception {
+        // 준비
+        startCluster(3);
+        int userCount = 30;
+
+        // 실행 : 사용자마다 서로 다른 노드로 충전하고, 또 다른 노드로 조회한다.
+        List<Future<Integer>> charges = new ArrayList<>();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= userCount; id++) {
+                long userId = id;
+                charges.add(executorService.submit(() -> send("PATCH", node(userId) + "/point/" + userId + "/charge", "1000").statusCode()));
+            }
+        }
+        for (Future<Integer> charge : charges) {
+            assertEquals(200, charge.get());
+        }
+
+        // 검증 : 조회는 어느 노드에서든 같고, 잔액은 담당 노드에만 저장된다.
+        for (long id = 1; id <= userCount; id++) {
+            UserPoint userPoint = objectMapper.readValue(send("GET", node(id + 1) + "/point/" + id, null).body(), UserPoint.class);
+            assertEquals(1000L, userPoint.point());
+
+            String owner = nodes.get(0).getBean(ShardRouter.class).ownerOf(id);
+            for (ConfigurableApplicationContext node : nodes) {
+                long stored = node.getBean(UserPointRepository.class).selectById(id).point();
+                assertEquals(node.getBean(ShardRouter.class).self().equals(owner) ? 1000L : 0L, stored);
+            }
+        }
+
+        // 검증 : 일괄 요청은 담당 노드별로 나뉘어 처리되고, 요청 순서대로 합쳐진다.
+        String commands = "[" + String.join(",", List.of(
+                "{\"userId\":1,\"type\":\"USE\",\"amount\":100}",
+                "{\"userId\":2,\"type\":\"USE\",\"amount\":200}",
+                "{\"userId\":3,\"type\":\"USE\",\"amount\":300}",
+                "{\"userId\":1,\"type\":\"USE\",\"amount\":100}"
+        )) + "]";
+        List<PointCommandResult> results = objectMapper.readValue(send("POST", urls.get(0) + "/point/batch", commands).body(),
+                new TypeReference<>() {
+                });
+        assertEquals(List.of(900L, 800L, 700L, 800L), results.stream().map(result -> result.userPoint().point()).toList());
+    }
+
+    @Test
+    public void 인증되지_않았거나_담당이_아닌_요청은_처리하지_않는다() throws Exception {
+        // 준비 : 0번 노드가 담당하지 않는 사용자
+        startCluster(2);
+        ShardRouter router = nodes.get(0).getBean(ShardRouter.class);
+        long userId = 1;
+        while (router.isLocal(userId)) {
+            userId++;
+        }
+        String chargeUrl = urls.get(0) + "/point/" + userId + "/charge";
+
+        // 실행 & 검증 : 전달 헤더만 붙인 외부 요청은 403, 비밀값이 맞아도 담당이 아니면 503 이고 다시 전달하지 않는다.
+        assertEquals(403, send("PATCH", chargeUrl, "1000", ShardRoutingFilter.FORWARDED_HEADER, "node-1").statusCode());
+        HttpResponse<String> mismatch = send("PATCH", chargeUrl, "1000",
+                ShardRoutingFilter.FORWARDED_HEADER, "node-1", ShardRouter.TOKEN_HEADER, SECRET);
+        assertEquals(503, mismatch.statusCode());
+        assertTrue(mismatch.body().contains("SHARD05"));
+        for (ConfigurableApplicationContext node : nodes) {
+            assertEquals(0L, node.getBean(UserPointRepository.class).selectById(userId).point());
+        }
+
+        // 실행 & 검증 : ring 구성 변경은 비밀값이 있어야 한다.
+        String nodesBody = objectMapper.writeValueAsString(router.nodes());
+        assertEquals(403, send("PUT", urls.get(0) + "/shard/nodes", nodesBody).statusCode());
+        assertEquals(200, send("PUT", urls.get(0) + "/shard/nodes", nodesBody, ShardRouter.TOKEN_HEADER, SECRET).statusCode());
+
+        // 실행 & 검증 : 필터에서 거절한 일괄 요청도 같은 오류 형식으로 응답한다.
+        HttpResponse<String> invalid = send("POST", urls.get(0) + "/point/batch", "{not json");
+        assertEquals(400, invalid.statusCode());
+        assertEquals("BATCH02", objectMapper.readTree(invalid.body()).get("code").asText());
+    }
+
+    @Tag("load")
+    @Test
+    public void 노드_수에_따른_처리량() throws Exception {
+        double single = throughput(1, 3000);
+        tearDown();
+        double triple = throughput(3, 3000);
+
+        System.out.printf("throughput : 1 node = %.0f req/s, 3 nodes = %.0f req/s%n", single, triple);
+        assertTrue(triple > single);
+    }
+
+    /**
+     * 서로 다른 사용자의 충전 요청을 노드에 고르게 보내고 초당 처리 수를 잰다.
+     */
+    private double throughput(int nodeCount, int requestCount) throws Exception {
+        startCluster(nodeCount);
+        long start = System.nanoTime();
+        List<Future<Integer>> responses = new ArrayList<>(requestCount);
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= requestCount; id++) {
+                long userId = id;
+                responses.add(executorService.submit(() -> send("PATCH", node(userId) + "/point/" + userId + "/charge", "1000").statusCode()));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        for (Future<Integer> response : responses) {
+            assertEquals(200, response.get());
+        }
+        return requestCount / seconds;
+    }
+
+    private void startCluster(int nodeCount) throws IOException {
+        List<String> args = new ArrayList<>(List.of("--point.shard.enabled=true", "--point.shard.secret=" + SECRET, "--point.metrics.enabled=false"));
+        for (int i = 0; i < nodeCount; i++) {
+            urls.add("http://localhost:" + freePort());
+            args.add("--point.shard.nodes[" + i + "].id=node-" + i);
+            args.add("--point.shard.nodes[" + i + "].url=" + urls.get(i));
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            List<String> nodeArgs = new ArrayList<>(args);
+            nodeArgs.add("--server.port=" + URI.create(urls.get(i)).getPort());
+            nodeArgs.add("--point.shard.self=node-" + i);
+            nodes.add(new SpringApplicationBuilder(TddApplication.class).run(nodeArgs.toArray(String[]::new)));
+        }
+    }
+
+    private String node(long index) {
+        return urls.get((int) (index % urls.size()));
+    }
+
+    private HttpResponse<String> send(String method, String url, String body, String... headers) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (headers.length > 0) {
+            builder.headers(headers);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}